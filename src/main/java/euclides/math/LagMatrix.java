@@ -0,0 +1,377 @@
+/*
+ * Fraunhofer Austria & CGV - Java Repository
+ * 
+ *   Maintained by
+ *      Torsten Ullrich
+ *      torsten.ullrich@fraunhofer.at
+ * 
+ *   Copyright
+ *      Fraunhofer Austria Research GmbH,
+ *      Geschaeftsbereich Visual Computing Graz, Austria.
+ * 
+ *      Institut f. ComputerGraphik und WissensVisualisierung
+ *      Technische Universitaet Graz, Austria.
+ * 
+ *   This program is free software; you can redistribute it and/or
+ *   modify it under the terms of the GNU General Public License
+ *   as published by the Free Software Foundation; version 2
+ *   of the License.
+ * 
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ * 
+ */
+package euclides.math;
+
+import static euclides.math.LinAlgArrays.NO_CHECKPOINT;
+import static euclides.math.LinAlgArrays.matrix;
+import static euclides.math.LinAlgArrays.vector;
+
+/**
+ * A lag matrix is a structured (Hankel) view of a time series. The element in
+ * row <code>r</code> and column <code>c</code> is
+ * <code>data[offset + r + c] - center</code>; i.e. each row contains
+ * <code>cols</code> consecutive, centered values of the series. The matrix is
+ * never materialized; all products are evaluated directly on the backing
+ * array, which is neither copied nor modified.
+ * <p>
+ * The regression target of a lag matrix is its successor column; i.e. the
+ * vector with elements <code>data[offset + r + cols] - center</code>. This is
+ * the right-hand side of the autoregressive least squares problem; methods
+ * using it require one more element in the backing array.
+ * <p>
+ * The products of effort <code>O(rows * cols)</code> accept an optional
+ * checkpoint, which is run once per column; it may abort a long computation
+ * by throwing a runtime exception.
+ *
+ * @author Torsten Ullrich
+ * @version 4.1
+ */
+public final class LagMatrix {
+
+    /**
+     * The backing time series and the view parameters.
+     */
+    private final double[] data;
+    private final int offset;
+    private final int rows;
+    private final int cols;
+    private final double center;
+
+    /**
+     * The constructor takes the backing array and the view parameters.
+     *
+     * @param data The backing time series.
+     * @param offset The index of the top-left element within
+     *        <code>data</code>.
+     * @param rows The number of rows.
+     * @param cols The number of columns.
+     * @param center The value subtracted from each element.
+     */
+    public LagMatrix(double[] data, int offset, int rows, int cols,
+            double center) {
+        //
+        // check input
+        //
+        if (data == null) {
+            throw new IllegalArgumentException(ERROR_1D_ARRAY);
+        }
+        if ((rows < 1) || (cols < 1) || (offset < 0)) {
+            throw new IllegalArgumentException(ERROR_POSITIVE);
+        }
+        if ((long) offset + rows + cols - 1 > data.length) {
+            throw new IllegalArgumentException(ERROR_INCOMPATIBLE);
+        }
+        //
+        this.data = data;
+        this.offset = offset;
+        this.rows = rows;
+        this.cols = cols;
+        this.center = center;
+    }
+
+    /**
+     * The number of rows.
+     *
+     * @return The number of rows.
+     */
+    public int rows() {
+        return this.rows;
+    }
+
+    /**
+     * The number of columns.
+     *
+     * @return The number of columns.
+     */
+    public int cols() {
+        return this.cols;
+    }
+
+    /**
+     * Element access.
+     *
+     * @param r The row index.
+     * @param c The column index.
+     * @return The element <code>data[offset + r + c] - center</code>.
+     */
+    public double get(int r, int c) {
+        return this.data[this.offset + r + c] - this.center;
+    }
+
+    /**
+     * Element access to the regression target.
+     *
+     * @param r The row index.
+     * @return The element <code>data[offset + r + cols] - center</code>.
+     */
+    public double target(int r) {
+        return this.data[this.offset + r + this.cols] - this.center;
+    }
+
+    // (* \newpage *)
+    /**
+     * Multiplication A x.
+     *
+     * @param vector Factor of size <code>cols</code>.
+     * @return Product of size <code>rows</code>.
+     */
+    public double[] mul(double[] vector) {
+        //
+        // check input
+        //
+        if ((vector == null) || (vector.length != this.cols)) {
+            throw new IllegalArgumentException(ERROR_INCOMPATIBLE);
+        }
+        //
+        // multiply
+        //
+        double[] result = vector(this.rows);
+        for (int r = 0; r < this.rows; r++) {
+            final int base = this.offset + r;
+            double sum = 0.0;
+            for (int c = 0; c < this.cols; c++) {
+                sum = sum + (this.data[base + c] - this.center) * vector[c];
+            }
+            result[r] = sum;
+        }
+        //
+        return result;
+    }
+
+    /**
+     * Multiplication At v.
+     *
+     * @param vector Factor of size <code>rows</code>.
+     * @return Product of size <code>cols</code>.
+     */
+    public double[] mulTranspose(double[] vector) {
+        //
+        // check input
+        //
+        if ((vector == null) || (vector.length != this.rows)) {
+            throw new IllegalArgumentException(ERROR_INCOMPATIBLE);
+        }
+        //
+        // multiply
+        //
+        double[] result = vector(this.cols);
+        for (int c = 0; c < this.cols; c++) {
+            final int base = this.offset + c;
+            double sum = 0.0;
+            for (int r = 0; r < this.rows; r++) {
+                sum = sum + (this.data[base + r] - this.center) * vector[r];
+            }
+            result[c] = sum;
+        }
+        //
+        return result;
+    }
+
+    /**
+     * Multiplication At b with the regression target <code>b</code>.
+     *
+     * @return Product of size <code>cols</code>.
+     */
+    public double[] mulTransposeTarget() {
+        return mulTransposeTarget(NO_CHECKPOINT);
+    }
+
+    /**
+     * Multiplication At b with the regression target <code>b</code>.
+     *
+     * @param checkpoint The callback run between two columns.
+     * @return Product of size <code>cols</code>.
+     */
+    public double[] mulTransposeTarget(Runnable checkpoint) {
+        checkCheckpoint(checkpoint);
+        checkTarget();
+        double[] result = vector(this.cols);
+        final int base = this.offset + this.cols;
+        for (int c = 0; c < this.cols; c++) {
+            checkpoint.run();
+            double sum = 0.0;
+            for (int r = 0; r < this.rows; r++) {
+                sum = sum + (this.data[this.offset + c + r] - this.center)
+                        * (this.data[base + r] - this.center);
+            }
+            result[c] = sum;
+        }
+        return result;
+    }
+
+    // (* \newpage *)
+    /**
+     * The Gram matrix At A. Due to the Hankel structure, only the first row
+     * has to be summed up explicitly; all further elements are derived by
+     * sliding the lag products:
+     * <code>G[i+1][j+1] = G[i][j] - s[i] s[j] + s[rows+i] s[rows+j]</code>
+     * with the centered series <code>s</code>. The overall effort is
+     * <code>O(rows * cols + cols * cols)</code>.
+     *
+     * @return The symmetric matrix product At A.
+     */
+    public double[][] gram() {
+        return gram(NO_CHECKPOINT);
+    }
+
+    /**
+     * The Gram matrix At A (see <code>gram()</code>).
+     *
+     * @param checkpoint The callback run between two columns.
+     * @return The symmetric matrix product At A.
+     */
+    public double[][] gram(Runnable checkpoint) {
+        checkCheckpoint(checkpoint);
+        double[][] result = matrix(this.cols, this.cols);
+        //
+        // first row by explicit summation
+        //
+        for (int j = 0; j < this.cols; j++) {
+            checkpoint.run();
+            double sum = 0.0;
+            for (int r = 0; r < this.rows; r++) {
+                sum = sum + (this.data[this.offset + r] - this.center)
+                        * (this.data[this.offset + r + j] - this.center);
+            }
+            result[0][j] = sum;
+        }
+        //
+        // remaining upper triangle by sliding lag products
+        //
+        for (int i = 1; i < this.cols; i++) {
+            checkpoint.run();
+            for (int j = i; j < this.cols; j++) {
+                final double head = (this.data[this.offset + i - 1]
+                        - this.center)
+                        * (this.data[this.offset + j - 1] - this.center);
+                final double tail = (this.data[this.offset + this.rows + i
+                        - 1] - this.center)
+                        * (this.data[this.offset + this.rows + j - 1]
+                                - this.center);
+                result[i][j] = result[i - 1][j - 1] - head + tail;
+            }
+        }
+        //
+        // mirror lower triangle
+        //
+        for (int i = 1; i < this.cols; i++) {
+            for (int j = 0; j < i; j++) {
+                result[i][j] = result[j][i];
+            }
+        }
+        return result;
+    }
+
+    /**
+     * The cross product At B of two lag matrices with the same number of
+     * rows.
+     *
+     * @param other The second factor B.
+     * @return The matrix product At B of size <code>cols</code> times
+     *         <code>other.cols</code>.
+     */
+    public double[][] crossProduct(LagMatrix other) {
+        return crossProduct(other, NO_CHECKPOINT);
+    }
+
+    /**
+     * The cross product At B of two lag matrices with the same number of
+     * rows.
+     *
+     * @param other The second factor B.
+     * @param checkpoint The callback run between two columns.
+     * @return The matrix product At B of size <code>cols</code> times
+     *         <code>other.cols</code>.
+     */
+    public double[][] crossProduct(LagMatrix other, Runnable checkpoint) {
+        //
+        // check input
+        //
+        if ((other == null) || (other.rows != this.rows)) {
+            throw new IllegalArgumentException(ERROR_INCOMPATIBLE);
+        }
+        checkCheckpoint(checkpoint);
+        //
+        // multiply
+        //
+        double[][] result = matrix(this.cols, other.cols);
+        for (int i = 0; i < this.cols; i++) {
+            checkpoint.run();
+            for (int j = 0; j < other.cols; j++) {
+                double sum = 0.0;
+                for (int r = 0; r < this.rows; r++) {
+                    sum = sum + (this.data[this.offset + r + i] - this.center)
+                            * (other.data[other.offset + r + j]
+                                    - other.center);
+                }
+                result[i][j] = sum;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * The residuals A x - b with respect to the regression target
+     * <code>b</code>.
+     *
+     * @param vector The solution candidate x of size <code>cols</code>.
+     * @return The residual vector of size <code>rows</code>.
+     */
+    public double[] residuals(double[] vector) {
+        checkTarget();
+        double[] result = mul(vector);
+        for (int r = 0; r < this.rows; r++) {
+            result[r] = result[r] - target(r);
+        }
+        return result;
+    }
+
+    private static void checkCheckpoint(Runnable checkpoint) {
+        if (checkpoint == null) {
+            throw new IllegalArgumentException(ERROR_NULL);
+        }
+    }
+
+    private void checkTarget() {
+        if ((long) this.offset + this.rows + this.cols > this.data.length) {
+            throw new IllegalArgumentException(ERROR_INCOMPATIBLE);
+        }
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    //
+    private static final String ERROR_1D_ARRAY;
+    private static final String ERROR_POSITIVE;
+    private static final String ERROR_INCOMPATIBLE;
+    private static final String ERROR_NULL;
+    //
+    static {
+        ERROR_1D_ARRAY = "The parameter has to be an array.";
+        ERROR_POSITIVE = "The parameter has to positive.";
+        ERROR_INCOMPATIBLE = "The parameters are size incompatible.";
+        ERROR_NULL = "The parameter has to be non-null.";
+    }
+}
@@ -651,9 +651,29 @@ public final class LinAlgArrays {
      *         not-a-number elements), if requirements are not met.
      */
     public static double[] cholesky(double[][] ATA, double[] ATb) {
+        return cholesky(ATA, ATb, NO_CHECKPOINT);
+    }
+
+    /**
+     * Least Squares Solution using the Cholesky algorithm (see
+     * <code>cholesky(double[][], double[])</code>). The checkpoint is run once
+     * per row of the decomposition; it may abort the computation by throwing
+     * a runtime exception.
+     *
+     * @param ATA The matrix product At A.
+     * @param ATb The vector product At b.
+     * @param checkpoint The callback run between two rows.
+     * @return A least squares solution; or undefined (containing infinite or
+     *         not-a-number elements), if requirements are not met.
+     */
+    public static double[] cholesky(double[][] ATA, double[] ATb,
+            Runnable checkpoint) {
         //
         // check input
         //
+        if (checkpoint == null) {
+            throw new IllegalArgumentException(ERROR_NULL);
+        }
         final long intint = check(ATA);
         final int rows = (int) (intint >> 32);
         final int cols = (int) intint;
@@ -673,6 +693,7 @@ public final class LinAlgArrays {
         double[][] L = matrix(dim, dim);
         //
         for (int i = 0; i < dim; i++) {
+            checkpoint.run();
             double sum = 0;
             for (int j = 0; j < i; j++) {
                 sum += L[i][j] * L[i][j];
@@ -995,6 +1016,9 @@ public final class LinAlgArrays {
     private static final String ERROR_POSITIVE;
     private static final String ERROR_INCOMPATIBLE;
     private static final String ERROR_NON_FINITE;
+    private static final String ERROR_NULL;
+    //
+    static final Runnable NO_CHECKPOINT;
     //
     static {
         ERROR_1D_ARRAY = "The parameter has to be an array.";
@@ -1003,6 +1027,13 @@ public final class LinAlgArrays {
         ERROR_POSITIVE = "The parameter has to positive.";
         ERROR_INCOMPATIBLE = "The parameters are size incompatible.";
         ERROR_NON_FINITE = "The parameter elements contain non-finite values.";
+        ERROR_NULL = "The parameter has to be non-null.";
+        //
+        NO_CHECKPOINT = () -> {
+            //
+            // nothing to check
+            //
+        };
     }
 
     private LinAlgArrays() {
@@ -0,0 +1,371 @@
+/*
+ * Fraunhofer Austria & CGV - Java Repository
+ * 
+ *   Maintained by
+ *      Torsten Ullrich
+ *      torsten.ullrich@fraunhofer.at
+ * 
+ *   Copyright
+ *      Fraunhofer Austria Research GmbH,
+ *      Geschaeftsbereich Visual Computing Graz, Austria.
+ * 
+ *      Institut f. ComputerGraphik und WissensVisualisierung
+ *      Technische Universitaet Graz, Austria.
+ * 
+ *   This program is free software; you can redistribute it and/or
+ *   modify it under the terms of the GNU General Public License
+ *   as published by the Free Software Foundation; version 2
+ *   of the License.
+ * 
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ * 
+ */
+package euclides.math;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * This class implements a double-valued vector stored outside of the Java
+ * heap. The elements are held in direct or memory-mapped buffers; i.e. they
+ * are not scanned by the garbage collector and a file-backed vector can be
+ * shared by several processes mapping the same file. The byte order is
+ * little-endian for direct and mapped vectors alike. As a single buffer is
+ * limited to 2 GB, the elements are split into chunks of
+ * <code>2^27</code> values each.
+ * <p>
+ * The class is intended for server-side use only; it is not reachable from
+ * the TeaVM client.
+ *
+ * @author Torsten Ullrich
+ * @version 4.1
+ */
+public final class OffHeapVector {
+
+    /**
+     * The element storage.
+     */
+    private final DoubleBuffer[] chunks;
+    private final int size;
+
+    private OffHeapVector(DoubleBuffer[] chunks, int size) {
+        this.chunks = chunks;
+        this.size = size;
+    }
+
+    //////////////////////////////////////////////////////////////////////////
+    //
+    // Constructor-like methods.
+    //
+    //////////////////////////////////////////////////////////////////////////
+    /**
+     * This method allocates an off-heap vector.
+     *
+     * @param rows The number of elements.
+     * @return A direct vector of size <code>rows</code> with elements
+     *         initialized to <code>0.0</code>.
+     */
+    public static OffHeapVector allocate(int rows) {
+        //
+        // check input
+        //
+        if (rows < 1) {
+            throw new IllegalArgumentException(ERROR_POSITIVE);
+        }
+        //
+        // allocate chunks
+        //
+        DoubleBuffer[] chunks = new DoubleBuffer[chunkCount(rows)];
+        for (int k = 0; k < chunks.length; k++) {
+            ByteBuffer bytes = ByteBuffer
+                    .allocateDirect(chunkLength(rows, k) * Double.BYTES);
+            chunks[k] = bytes.order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer();
+        }
+        return new OffHeapVector(chunks, rows);
+    }
+
+    /**
+     * This method copies an on-heap vector into an off-heap vector.
+     *
+     * @param vector The vector to copy.
+     * @return A direct copy.
+     */
+    public static OffHeapVector of(double[] vector) {
+        final int rows = LinAlgArrays.check(vector);
+        OffHeapVector result = allocate(rows);
+        result.set(0, vector, 0, rows);
+        return result;
+    }
+
+    /**
+     * This method maps an existing file of little-endian doubles.
+     *
+     * @param file The file to map.
+     * @param writable Whether changes shall be written back to the file.
+     * @return A file-backed vector; its size is determined by the file size.
+     */
+    public static OffHeapVector map(Path file, boolean writable) {
+        try (FileChannel channel = writable
+                ? FileChannel.open(file, StandardOpenOption.READ,
+                        StandardOpenOption.WRITE)
+                : FileChannel.open(file, StandardOpenOption.READ)) {
+            final long rows = channel.size() / Double.BYTES;
+            if ((rows < 1) || (rows > Integer.MAX_VALUE)) {
+                throw new IllegalArgumentException(ERROR_SIZE);
+            }
+            return map(channel, writable, 0L, (int) rows);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * This method creates (or truncates) a file and maps it as a vector.
+     *
+     * @param file The file to create.
+     * @param rows The number of elements.
+     * @return A file-backed vector with elements initialized to
+     *         <code>0.0</code>.
+     */
+    public static OffHeapVector create(Path file, int rows) {
+        //
+        // check input
+        //
+        if (rows < 1) {
+            throw new IllegalArgumentException(ERROR_POSITIVE);
+        }
+        //
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            return map(channel, true, 0L, rows);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * This method maps a region of an existing file of little-endian doubles
+     * read-only; e.g. the data block of a file with a header.
+     *
+     * @param file The file to map.
+     * @param position The byte position of the first element.
+     * @param rows The number of elements.
+     * @return A file-backed vector of size <code>rows</code>.
+     */
+    public static OffHeapVector map(Path file, long position, int rows) {
+        //
+        // check input
+        //
+        if (rows < 1) {
+            throw new IllegalArgumentException(ERROR_POSITIVE);
+        }
+        //
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.READ)) {
+            if ((position < 0) || (position
+                    + (long) rows * Double.BYTES > channel.size())) {
+                throw new IllegalArgumentException(ERROR_SIZE);
+            }
+            return map(channel, false, position, rows);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static OffHeapVector map(FileChannel channel, boolean writable,
+            long position, int rows) throws IOException {
+        final FileChannel.MapMode mode = writable
+                ? FileChannel.MapMode.READ_WRITE
+                : FileChannel.MapMode.READ_ONLY;
+        DoubleBuffer[] chunks = new DoubleBuffer[chunkCount(rows)];
+        for (int k = 0; k < chunks.length; k++) {
+            ByteBuffer bytes = channel.map(mode,
+                    position + ((long) k << CHUNK_BITS) * Double.BYTES,
+                    (long) chunkLength(rows, k) * Double.BYTES);
+            chunks[k] = bytes.order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer();
+        }
+        return new OffHeapVector(chunks, rows);
+    }
+
+    private static int chunkCount(int rows) {
+        return (int) ((rows + (long) CHUNK_SIZE - 1) >>> CHUNK_BITS);
+    }
+
+    private static int chunkLength(int rows, int chunk) {
+        return (int) Math.min(CHUNK_SIZE, rows - ((long) chunk << CHUNK_BITS));
+    }
+
+    // (* \newpage *)
+    //////////////////////////////////////////////////////////////////////////
+    //
+    // Access methods.
+    //
+    //////////////////////////////////////////////////////////////////////////
+    /**
+     * The number of elements.
+     *
+     * @return The size / dimension of the vector.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Element access.
+     *
+     * @param index The element index.
+     * @return The element value.
+     */
+    public double get(int index) {
+        return this.chunks[index >>> CHUNK_BITS].get(index & CHUNK_MASK);
+    }
+
+    /**
+     * Element modification.
+     *
+     * @param index The element index.
+     * @param value The new element value.
+     */
+    public void set(int index, double value) {
+        this.chunks[index >>> CHUNK_BITS].put(index & CHUNK_MASK, value);
+    }
+
+    /**
+     * Bulk read of a contiguous range into an on-heap array.
+     *
+     * @param index The first element to read.
+     * @param destination The target array.
+     * @param offset The first position within <code>destination</code>.
+     * @param length The number of elements to read.
+     */
+    public void get(int index, double[] destination, int offset, int length) {
+        //
+        // check input
+        //
+        if ((index < 0) || (length < 0) || (index > this.size - length)) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        //
+        // copy chunk by chunk
+        //
+        while (length > 0) {
+            final int pos = index & CHUNK_MASK;
+            final int n = Math.min(length, CHUNK_SIZE - pos);
+            this.chunks[index >>> CHUNK_BITS].get(pos, destination, offset,
+                    n);
+            index += n;
+            offset += n;
+            length -= n;
+        }
+    }
+
+    /**
+     * Bulk write of a contiguous range from an on-heap array.
+     *
+     * @param index The first element to write.
+     * @param source The source array.
+     * @param offset The first position within <code>source</code>.
+     * @param length The number of elements to write.
+     */
+    public void set(int index, double[] source, int offset, int length) {
+        //
+        // check input
+        //
+        if ((index < 0) || (length < 0) || (index > this.size - length)) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        //
+        // copy chunk by chunk
+        //
+        while (length > 0) {
+            final int pos = index & CHUNK_MASK;
+            final int n = Math.min(length, CHUNK_SIZE - pos);
+            this.chunks[index >>> CHUNK_BITS].put(pos, source, offset, n);
+            index += n;
+            offset += n;
+            length -= n;
+        }
+    }
+
+    /**
+     * Sequential read access, which does not copy the vector onto the heap.
+     *
+     * @return An iterator over all elements in index order.
+     */
+    public PrimitiveIterator.OfDouble valueIterator() {
+        return new PrimitiveIterator.OfDouble() {
+            private int index = 0;
+
+            @Override
+            public boolean hasNext() {
+                return this.index < OffHeapVector.this.size;
+            }
+
+            @Override
+            public double nextDouble() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return get(this.index++);
+            }
+        };
+    }
+
+    /**
+     * This method copies the vector onto the heap.
+     *
+     * @return An on-heap copy.
+     */
+    public double[] toArray() {
+        double[] result = new double[this.size];
+        get(0, result, 0, this.size);
+        return result;
+    }
+
+    /**
+     * This routine checks whether the vector is valid in the sense of
+     * <code>LinAlgArrays.check(double[])</code>; i.e. all elements must be
+     * finite values.
+     *
+     * @return The size / dimension of the vector.
+     */
+    public int check() {
+        for (DoubleBuffer chunk : this.chunks) {
+            for (int i = 0; i < chunk.capacity(); i++) {
+                if (!Double.isFinite(chunk.get(i))) {
+                    throw new IllegalArgumentException(ERROR_NON_FINITE);
+                }
+            }
+        }
+        return this.size;
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    //
+    private static final int CHUNK_BITS = 27;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+    //
+    private static final String ERROR_SIZE;
+    private static final String ERROR_POSITIVE;
+    private static final String ERROR_NON_FINITE;
+    //
+    static {
+        ERROR_SIZE = "The parameter has to have a positive size.";
+        ERROR_POSITIVE = "The parameter has to positive.";
+        ERROR_NON_FINITE = "The parameter elements contain non-finite values.";
+    }
+}
@@ -27,12 +27,20 @@ package euclides.math.timeseries;
 
 import static euclides.math.LinAlgArrays.copy;
 import static euclides.math.LinAlgArrays.cholesky;
-import static euclides.math.LinAlgArrays.matrix;
-import static euclides.math.LinAlgArrays.mul;
 import static euclides.math.LinAlgArrays.toStringMaple;
-import static euclides.math.LinAlgArrays.transpose;
 import static euclides.math.LinAlgArrays.vector;
 import static euclides.math.LinAlgArrays.check;
+import static euclides.math.LinAlgArrays.matrix;
+
+import euclides.math.LagMatrix;
+import euclides.math.OffHeapVector;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.util.PrimitiveIterator;
+import java.util.function.Supplier;
 
 /**
  * Autoregressive model.
@@ -49,6 +57,7 @@ public class AutoRegression implements Model {
     private double mu;
     private double[] phi;
     private double[] yi;
+    private volatile int level;
 
     /**
      * The constructor takes the degree of the auto-regression.
@@ -67,6 +76,7 @@ public class AutoRegression implements Model {
         this.mu = Double.NaN;
         this.phi = null;
         this.yi = null;
+        this.level = 0;
     }
 
     @Override
@@ -79,8 +89,49 @@ public class AutoRegression implements Model {
         return 2 * this.p + 1;
     }
 
+    @Override
+    public int trainingLevel() {
+        return this.level;
+    }
+
     @Override
     public double init(double[] yi) {
+        return init(yi, mean(yi));
+    }
+
+    public double init(double[] yi, double center) {
+        final double coefficient = fit(yi, center, Cancellation.NONE);
+        this.level = 100;
+        return coefficient;
+    }
+
+    @Override
+    public FitResult init(double[] yi, Cancellation cancellation) {
+        //
+        // check input
+        //
+        if (cancellation == null) {
+            throw new IllegalArgumentException("argument has to be non-null");
+        }
+        final double center = mean(yi);
+        //
+        try {
+            final double coefficient = fit(yi, center, cancellation);
+            this.level = 100;
+            return FitResult.completed(coefficient);
+        } catch (Cancellation.Interruption e) {
+            this.phi = null;
+            return FitResult.interrupted(cancellation, this.level);
+        }
+    }
+
+    /**
+     * Check the input data and estimate the model parameter mu by average.
+     *
+     * @param yi The input data.
+     * @return The mean of the input data.
+     */
+    private double mean(double[] yi) {
         //
         // check input
         //
@@ -89,17 +140,26 @@ public class AutoRegression implements Model {
             throw new IllegalArgumentException("not enough initial values");
         }
         //
-        // estimate model parameter mu by average
-        //
         double sum = 0.0;
         for (double y : yi) {
             sum += y;
         }
-        //
-        return init(yi, sum / datasize);
+        return sum / datasize;
     }
 
-    public double init(double[] yi, double center) {
+    /**
+     * Report the training level of a fit and abandon it, if it has been
+     * cancelled.
+     *
+     * @param cancellation The cancellation token.
+     * @param level The training level reached.
+     */
+    private void progress(Cancellation cancellation, int level) {
+        this.level = level;
+        cancellation.check();
+    }
+
+    private double fit(double[] yi, double center, Cancellation cancellation) {
         //
         // check input
         //
@@ -110,6 +170,7 @@ public class AutoRegression implements Model {
         //
         // set first model parameter and copy history
         //
+        progress(cancellation, 0);
         this.mu = center;
         this.yi = vector(this.p);
         for (int i = 0; i < this.p; i++) {
@@ -118,19 +179,17 @@ public class AutoRegression implements Model {
         //
         // estimate phi by linear regression and ordinary least squares
         //
-        double[][] A = matrix(datasize - this.p, this.p);
-        double[] b = vector(datasize - this.p);
+        // the design matrix A[r][c] = yi[r + c] - mu is a lag matrix view
+        // of the input; its target b[r] = yi[p + r] - mu is the next lag
         //
-        for (int r = 0; r < datasize - this.p; r++) {
-            for (int c = 0; c < this.p; c++) {
-                A[r][c] = yi[r + c] - this.mu;
-            }
-            b[r] = yi[this.p + r] - this.mu;
-        }
-        double[][] AT = transpose(A);
-        double[][] ATA = mul(AT, A);
-        double[] ATb = mul(AT, b);
-        this.phi = cholesky(ATA, ATb);
+        LagMatrix A = new LagMatrix(yi, 0, datasize - this.p, this.p,
+                this.mu);
+        progress(cancellation, 25);
+        double[][] ATA = A.gram(cancellation::check);
+        double[] ATb = A.mulTransposeTarget(cancellation::check);
+        progress(cancellation, 50);
+        this.phi = cholesky(ATA, ATb, cancellation::check);
+        progress(cancellation, 75);
         //
         // in case of a failure, return nan
         //
@@ -152,6 +211,9 @@ public class AutoRegression implements Model {
         // estimate future values
         //
         for (int i = this.p; i < datasize; i++) {
+            if (i % Cancellation.CHECK_INTERVAL == 0) {
+                cancellation.check();
+            }
             double f = 0;
             for (int j = 0; j < this.p; j++) {
                 f += this.phi[j] * (fi[i - this.p + j] - this.mu);
@@ -171,6 +233,300 @@ public class AutoRegression implements Model {
         return Model.coefficientOfDetermination(yiTail, fiTail);
     }
 
+    /**
+     * The streaming initialization consumes the data in a single pass using
+     * memory of size <code>O(p^2)</code>. It accumulates the lag products
+     * <code>L[d] = sum z[s] z[s+d]</code> of the shifted values
+     * <code>z = y - y0</code> in <code>O(p)</code> per value and keeps the
+     * first <code>p+1</code> and the last <code>p+1</code> values to correct
+     * the boundary terms of the normal equations; their centering by the
+     * overall mean is applied afterwards.
+     * <p>
+     * The coefficient of determination of <code>init(double[])</code>
+     * simulates the whole history starting from the first <code>p</code>
+     * values with the final parameters; i.e. it needs a second pass over the
+     * data, which a stream does not offer. Therefore, this method returns
+     * not-a-number instead of a score, which would not be comparable. Use
+     * <code>init(CompressedSeries)</code>, <code>init(OffHeapVector)</code>
+     * or <code>init(ReadableByteChannel)</code> with a seekable channel to
+     * get the score of a series, which can be read twice.
+     *
+     * @param yi The input data with the implicit indices
+     *        <code>-k, ... ,-2, -1, 0</code>.
+     * @return Not-a-number; the model parameters are determined nevertheless.
+     */
+    @Override
+    public double init(PrimitiveIterator.OfDouble yi) {
+        //
+        // check input
+        //
+        if (yi == null) {
+            throw new IllegalArgumentException("argument has to be non-null");
+        }
+        //
+        // accumulate lag products, head values and a ring buffer of the
+        // most recent values
+        //
+        final int dim = this.p + 1;
+        double[] lag = vector(dim);
+        double[] head = vector(dim);
+        double[] ring = vector(dim);
+        double shift = 0.0;
+        double total = 0.0;
+        long datasize = 0;
+        while (yi.hasNext()) {
+            final double y = yi.nextDouble();
+            if (!Double.isFinite(y)) {
+                throw new IllegalArgumentException("non-finite initial value");
+            }
+            if (datasize == 0) {
+                shift = y;
+            }
+            final double z = y - shift;
+            total += z;
+            if (datasize < dim) {
+                head[(int) datasize] = z;
+            }
+            final int pos = (int) (datasize % dim);
+            ring[pos] = z;
+            final int lags = (int) Math.min(this.p, datasize);
+            for (int d = 0; d <= lags; d++) {
+                final int index = (pos - d < 0) ? pos - d + dim : pos - d;
+                lag[d] += z * ring[index];
+            }
+            datasize++;
+        }
+        if (datasize < modelRequirements()) {
+            throw new IllegalArgumentException("not enough initial values");
+        }
+        //
+        // set first model parameter and copy history
+        //
+        final long rows = datasize - this.p;
+        final double m = total / datasize;
+        this.mu = m + shift;
+        this.yi = vector(this.p);
+        for (int i = 0; i < this.p; i++) {
+            this.yi[i] = value(head, ring, datasize - this.p + i)
+                    + shift;
+        }
+        //
+        // lag sums S[i] and lag products P[i][j] of the rows of the design
+        // matrix, derived from the overall sums by removing boundary terms
+        //
+        double[] S = vector(dim);
+        double[][] P = matrix(dim, dim);
+        for (int i = 0; i < dim; i++) {
+            S[i] = total;
+            for (long s = 0; s < i; s++) {
+                S[i] -= value(head, ring, s);
+            }
+            for (long s = datasize - this.p + i; s < datasize; s++) {
+                S[i] -= value(head, ring, s);
+            }
+            for (int j = i; j < dim; j++) {
+                final int d = j - i;
+                double sum = lag[d];
+                for (long s = 0; s < i; s++) {
+                    sum -= value(head, ring, s)
+                            * value(head, ring, s + d);
+                }
+                for (long s = datasize - this.p + i; s < datasize - d; s++) {
+                    sum -= value(head, ring, s)
+                            * value(head, ring, s + d);
+                }
+                P[i][j] = sum;
+                P[j][i] = sum;
+            }
+        }
+        //
+        // center by the mean and estimate phi by ordinary least squares
+        //
+        double[][] ATA = matrix(this.p, this.p);
+        double[] ATb = vector(this.p);
+        for (int i = 0; i < this.p; i++) {
+            for (int j = 0; j < this.p; j++) {
+                ATA[i][j] = P[i][j] - m * S[i] - m * S[j] + rows * m * m;
+            }
+            ATb[i] = P[i][this.p] - m * S[i] - m * S[this.p] + rows * m * m;
+        }
+        this.phi = cholesky(ATA, ATb);
+        this.level = 100;
+        //
+        // the free-running score needs a second pass
+        //
+        return Double.NaN;
+    }
+
+    /**
+     * A compressed series can be decoded twice. The first pass determines
+     * the model parameters as <code>init(PrimitiveIterator.OfDouble)</code>
+     * does; the second pass simulates the whole history starting from the
+     * first <code>p</code> values, so that the coefficient of determination
+     * is the same as the one of <code>init(double[])</code>.
+     *
+     * @param series The input data with the implicit indices
+     *        <code>-k, ... ,-2, -1, 0</code>.
+     * @return Coefficient of determination.
+     */
+    @Override
+    public double init(CompressedSeries series) {
+        //
+        // check input
+        //
+        if (series == null) {
+            throw new IllegalArgumentException("argument has to be non-null");
+        }
+        //
+        return init(series::valueIterator);
+    }
+
+    /**
+     * An off-heap vector can be read twice without copying it onto the heap.
+     * The model is determined in two passes in memory of size
+     * <code>O(p^2)</code> as <code>init(CompressedSeries)</code> does; i.e.
+     * the coefficient of determination is the same as the one of
+     * <code>init(double[])</code>.
+     *
+     * @param yi The input data with the implicit indices
+     *        <code>-k, ... ,-2, -1, 0</code>.
+     * @return Coefficient of determination.
+     */
+    @Override
+    public double init(OffHeapVector yi) {
+        //
+        // check input
+        //
+        if (yi == null) {
+            throw new IllegalArgumentException("argument has to be non-null");
+        }
+        //
+        return init(yi::valueIterator);
+    }
+
+    /**
+     * A seekable channel, e.g. a file channel, can be read twice from its
+     * current position on. The model is determined in two passes as
+     * <code>init(CompressedSeries)</code> does; i.e. the coefficient of
+     * determination is the same as the one of <code>init(double[])</code>.
+     * Other channels are streamed once by
+     * <code>init(PrimitiveIterator.OfDouble)</code>, which returns
+     * not-a-number.
+     *
+     * @param channel The input data with the implicit indices
+     *        <code>-k, ... ,-2, -1, 0</code>.
+     * @return Coefficient of determination.
+     */
+    @Override
+    public double init(ReadableByteChannel channel) {
+        //
+        // check input
+        //
+        if (channel == null) {
+            throw new IllegalArgumentException("argument has to be non-null");
+        }
+        //
+        if (!(channel instanceof SeekableByteChannel)) {
+            return init(new ChannelIterator(channel));
+        }
+        final SeekableByteChannel seekable = (SeekableByteChannel) channel;
+        try {
+            final long start = seekable.position();
+            return init(() -> {
+                try {
+                    seekable.position(start);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return new ChannelIterator(seekable);
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * The values of a time series are read in place by two passes as
+     * <code>init(CompressedSeries)</code> does.
+     *
+     * @param series The input data with the implicit indices
+     *        <code>-k, ... ,-2, -1, 0</code>.
+     * @return Coefficient of determination.
+     */
+    @Override
+    public double init(TimeSeries series) {
+        //
+        // check input
+        //
+        if (series == null) {
+            throw new IllegalArgumentException("argument has to be non-null");
+        }
+        //
+        return init(series::valueIterator);
+    }
+
+    /**
+     * The two-pass initialization of a series, which can be read twice.
+     *
+     * @param series The source of the sequential reads.
+     * @return Coefficient of determination.
+     */
+    private double init(Supplier<PrimitiveIterator.OfDouble> series) {
+        //
+        // first pass: model parameters
+        //
+        init(series.get());
+        for (double d : this.phi) {
+            if (!Double.isFinite(d)) {
+                return Double.NaN;
+            }
+        }
+        //
+        // second pass: simulate the history and accumulate the residual and
+        // the total sum of squares (Welford) of the values following the
+        // first p values
+        //
+        PrimitiveIterator.OfDouble yi = series.get();
+        double[] fi = vector(this.p);
+        for (int i = 0; i < this.p; i++) {
+            fi[i] = yi.nextDouble();
+        }
+        double mean = 0.0;
+        double tot = 0.0;
+        double res = 0.0;
+        long n = 0;
+        for (long i = this.p; yi.hasNext(); i++) {
+            final double y = yi.nextDouble();
+            double f = 0;
+            for (int j = 0; j < this.p; j++) {
+                f += this.phi[j] * (fi[(int) ((i + j) % this.p)] - this.mu);
+            }
+            f = f + this.mu;
+            fi[(int) (i % this.p)] = f;
+            //
+            n++;
+            final double delta = y - mean;
+            mean += delta / n;
+            tot += delta * (y - mean);
+            res += (y - f) * (y - f);
+        }
+        if (tot == 0) {
+            return Double.NaN;
+        }
+        return 1 - res / tot;
+    }
+
+    /**
+     * Access to a streamed value, which is either one of the first or one of
+     * the most recent <code>p+1</code> values.
+     */
+    private static double value(double[] head, double[] ring, long s) {
+        if (s < head.length) {
+            return head[(int) s];
+        }
+        return ring[(int) (s % ring.length)];
+    }
+
     @Override
     public double eval(double x) {
         //
@@ -108,6 +108,38 @@ public class AutoRegressiveIntegratedMovingAverage implements Model {
         return this.arma.init(delta);
     }
 
+    @Override
+    public FitResult init(double[] yi, Cancellation cancellation) {
+        //
+        // check input
+        //
+        if (cancellation == null) {
+            throw new IllegalArgumentException("argument has to be non-null");
+        }
+        final int datasize = check(yi);
+        if (datasize < modelRequirements()) {
+            throw new IllegalArgumentException("not enough initial values");
+        }
+        if (cancellation.isCancelled()) {
+            return FitResult.interrupted(cancellation, 0);
+        }
+        this.yi = copy(yi);
+        this.di = vector(this.d);
+        //
+        double[] delta = yi;
+        for (int i = 0; i < this.d; i++) {
+            this.di[i] = delta[datasize - 1 - i];
+            delta = difference(delta);
+        }
+        //
+        return this.arma.init(delta, cancellation);
+    }
+
+    @Override
+    public int trainingLevel() {
+        return this.arma.trainingLevel();
+    }
+
     @Override
     public double eval(double x) {
         //
@@ -25,16 +25,15 @@
  */
 package euclides.math.timeseries;
 
-import static euclides.math.LinAlgArrays.sub;
 import static euclides.math.LinAlgArrays.check;
 import static euclides.math.LinAlgArrays.cholesky;
 import static euclides.math.LinAlgArrays.copy;
 import static euclides.math.LinAlgArrays.matrix;
-import static euclides.math.LinAlgArrays.mul;
 import static euclides.math.LinAlgArrays.toStringMaple;
-import static euclides.math.LinAlgArrays.transpose;
 import static euclides.math.LinAlgArrays.vector;
 
+import euclides.math.LagMatrix;
+
 /**
  * Autoregressive moving average model.
  *
@@ -53,6 +52,7 @@ public class AutoRegressiveMovingAverage implements Model {
     private double[] psi;
     private double[] eps;
     private double[] yi;
+    private volatile int level;
 
     /**
      * The constructor takes the degree of the auto-regression and of the moving
@@ -83,6 +83,7 @@ public class AutoRegressiveMovingAverage implements Model {
         this.psi = null;
         this.eps = null;
         this.yi = null;
+        this.level = 0;
     }
 
     @Override
@@ -96,8 +97,50 @@ public class AutoRegressiveMovingAverage implements Model {
         return 2 * this.p + 1;
     }
 
+    @Override
+    public int trainingLevel() {
+        return this.level;
+    }
+
     @Override
     public double init(double[] yi) {
+        return init(yi, mean(yi));
+    }
+
+    public double init(double[] yi, double center) {
+        final double coefficient = fit(yi, center, Cancellation.NONE);
+        this.level = 100;
+        return coefficient;
+    }
+
+    @Override
+    public FitResult init(double[] yi, Cancellation cancellation) {
+        //
+        // check input
+        //
+        if (cancellation == null) {
+            throw new IllegalArgumentException("argument has to be non-null");
+        }
+        final double center = mean(yi);
+        //
+        try {
+            final double coefficient = fit(yi, center, cancellation);
+            this.level = 100;
+            return FitResult.completed(coefficient);
+        } catch (Cancellation.Interruption e) {
+            this.phi = null;
+            this.psi = null;
+            return FitResult.interrupted(cancellation, this.level);
+        }
+    }
+
+    /**
+     * Check the input data and estimate the model parameter mu by average.
+     *
+     * @param yi The input data.
+     * @return The mean of the input data.
+     */
+    private double mean(double[] yi) {
         //
         // check input
         //
@@ -106,17 +149,26 @@ public class AutoRegressiveMovingAverage implements Model {
             throw new IllegalArgumentException("not enough initial values");
         }
         //
-        // estimate model parameter mu by average
-        //
         double sum = 0.0;
         for (double y : yi) {
             sum += y;
         }
-        //
-        return init(yi, sum / datasize);
+        return sum / datasize;
     }
 
-    public double init(double[] yi, double center) {
+    /**
+     * Report the training level of a fit and abandon it, if it has been
+     * cancelled.
+     *
+     * @param cancellation The cancellation token.
+     * @param level The training level reached.
+     */
+    private void progress(Cancellation cancellation, int level) {
+        this.level = level;
+        cancellation.check();
+    }
+
+    private double fit(double[] yi, double center, Cancellation cancellation) {
         //
         // check input
         //
@@ -127,6 +179,7 @@ public class AutoRegressiveMovingAverage implements Model {
         //
         // set first model parameter and copy history
         //
+        progress(cancellation, 0);
         this.mu = center;
         this.yi = vector(this.p);
         for (int i = 0; i < this.p; i++) {
@@ -135,20 +188,14 @@ public class AutoRegressiveMovingAverage implements Model {
         //
         // step #1: estimate intermediate residuum by linear regression
         //
-        double[][] A_1 = matrix(datasize - this.p, this.p);
-        double[] b_1 = vector(datasize - this.p);
-        //
-        for (int r = 0; r < datasize - this.p; r++) {
-            for (int c = 0; c < this.p; c++) {
-                A_1[r][c] = yi[r + c] - this.mu;
-            }
-            b_1[r] = yi[this.p + r] - this.mu;
-        }
-        //
-        double[][] AT_1 = transpose(A_1);
-        double[][] ATA_1 = mul(AT_1, A_1);
-        double[] ATb_1 = mul(AT_1, b_1);
-        double[] phi_1 = cholesky(ATA_1, ATb_1);
+        LagMatrix A_1 = new LagMatrix(yi, 0, datasize - this.p, this.p,
+                this.mu);
+        progress(cancellation, 10);
+        double[][] ATA_1 = A_1.gram(cancellation::check);
+        double[] ATb_1 = A_1.mulTransposeTarget(cancellation::check);
+        progress(cancellation, 20);
+        double[] phi_1 = cholesky(ATA_1, ATb_1, cancellation::check);
+        progress(cancellation, 30);
         //
         // in case of a failure, return nan
         //
@@ -160,7 +207,8 @@ public class AutoRegressiveMovingAverage implements Model {
         //
         // estimate residuals and copy history
         //
-        double[] res = sub(mul(A_1, phi_1), b_1);
+        double[] res = A_1.residuals(phi_1);
+        progress(cancellation, 40);
         this.eps = vector(this.p);
         for (int i = 0; i < this.p; i++) {
             this.eps[i] = res[datasize - 2 * this.p + i];
@@ -168,22 +216,44 @@ public class AutoRegressiveMovingAverage implements Model {
         //
         // step #2: estimate model parameters by linear regression
         //
-        double[][] A_2 = matrix(datasize - this.p - this.q, this.p + this.q);
-        double[] b_2 = vector(datasize - this.p - this.q);
+        // the design matrix A_2 = [ Y | R ] consists of two lag matrices;
+        // the lagged values Y[r][c] = yi[q + r + c] - mu and the lagged
+        // residuals R[r][c] = res[r + c]
         //
-        for (int r = 0; r < datasize - this.p - this.q; r++) {
-            for (int c = 0; c < this.p; c++) {
-                A_2[r][c] = yi[this.q + r + c] - this.mu;
-            }
-            for (int c = 0; c < this.q; c++) {
-                A_2[r][this.p + c] = res[r + c];
-            }
+        final int rows_2 = datasize - this.p - this.q;
+        LagMatrix Y_2 = new LagMatrix(yi, this.q, rows_2, this.p, this.mu);
+        LagMatrix R_2 = new LagMatrix(res, 0, rows_2, this.q, 0.0);
+        double[] b_2 = vector(rows_2);
+        for (int r = 0; r < rows_2; r++) {
             b_2[r] = yi[this.p + this.q + r] - res[this.q + r] - this.mu;
         }
-        double[][] AT_2 = transpose(A_2);
-        double[][] ATA_2 = mul(AT_2, A_2);
-        double[] ATb_2 = mul(AT_2, b_2);
-        double[] phipsi = cholesky(ATA_2, ATb_2);
+        //
+        // assemble the normal equations blockwise
+        //
+        progress(cancellation, 45);
+        double[][] YTY_2 = Y_2.gram(cancellation::check);
+        double[][] YTR_2 = Y_2.crossProduct(R_2, cancellation::check);
+        double[][] RTR_2 = R_2.gram(cancellation::check);
+        double[] YTb_2 = Y_2.mulTranspose(b_2);
+        double[] RTb_2 = R_2.mulTranspose(b_2);
+        //
+        double[][] ATA_2 = matrix(this.p + this.q, this.p + this.q);
+        double[] ATb_2 = vector(this.p + this.q);
+        for (int i = 0; i < this.p; i++) {
+            System.arraycopy(YTY_2[i], 0, ATA_2[i], 0, this.p);
+            System.arraycopy(YTR_2[i], 0, ATA_2[i], this.p, this.q);
+            ATb_2[i] = YTb_2[i];
+        }
+        for (int i = 0; i < this.q; i++) {
+            for (int j = 0; j < this.p; j++) {
+                ATA_2[this.p + i][j] = YTR_2[j][i];
+            }
+            System.arraycopy(RTR_2[i], 0, ATA_2[this.p + i], this.p, this.q);
+            ATb_2[this.p + i] = RTb_2[i];
+        }
+        progress(cancellation, 60);
+        double[] phipsi = cholesky(ATA_2, ATb_2, cancellation::check);
+        progress(cancellation, 75);
         //
         // in case of a failure, return nan
         //
@@ -216,6 +286,9 @@ public class AutoRegressiveMovingAverage implements Model {
         // estimate future values
         //
         for (int i = this.p; i < datasize - this.p; i++) {
+            if (i % Cancellation.CHECK_INTERVAL == 0) {
+                cancellation.check();
+            }
             double f = 0;
             for (int j = 0; j < this.p; j++) {
                 f += this.phi[j] * (fi[i - this.p + j] - this.mu);
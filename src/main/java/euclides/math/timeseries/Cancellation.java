@@ -0,0 +1,159 @@
+/*
+ * Fraunhofer Austria & CGV - Java Repository
+ * 
+ *   Maintained by
+ *      Torsten Ullrich
+ *      torsten.ullrich@fraunhofer.at
+ * 
+ *   Copyright
+ *      Fraunhofer Austria Research GmbH,
+ *      Geschaeftsbereich Visual Computing Graz, Austria.
+ * 
+ *      Institut f. ComputerGraphik und WissensVisualisierung
+ *      Technische Universitaet Graz, Austria.
+ * 
+ *   This program is free software; you can redistribute it and/or
+ *   modify it under the terms of the GNU General Public License
+ *   as published by the Free Software Foundation; version 2
+ *   of the License.
+ * 
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ * 
+ */
+package euclides.math.timeseries;
+
+/**
+ * A cancellation token for model fitting. A token is cancelled explicitly
+ * or implicitly by passing its deadline; fitting algorithms check the token
+ * between their phases and in long loops, and abandon the fit cooperatively.
+ *
+ * @author Torsten Ullrich
+ * @version 4.1
+ */
+public final class Cancellation {
+
+    /**
+     * The token which is never cancelled.
+     */
+    public static final Cancellation NONE = new Cancellation(false, 0L);
+
+    /**
+     * The number of loop iterations between two checks.
+     */
+    static final int CHECK_INTERVAL = 1 << 14;
+
+    private final boolean timed;
+    private final long deadline;
+    private volatile boolean cancelled;
+    private int checks;
+
+    private Cancellation(boolean timed, long deadline) {
+        this.timed = timed;
+        this.deadline = deadline;
+        this.cancelled = false;
+        this.checks = 0;
+    }
+
+    /**
+     * A token, which is cancelled by <code>cancel()</code> only.
+     *
+     * @return A new token.
+     */
+    public static Cancellation token() {
+        return new Cancellation(false, 0L);
+    }
+
+    /**
+     * A token, which is cancelled at the given point in time.
+     *
+     * @param deadline The deadline in terms of <code>System.nanoTime()</code>.
+     * @return A new token.
+     */
+    public static Cancellation deadline(long deadline) {
+        return new Cancellation(true, deadline);
+    }
+
+    /**
+     * A token, which is cancelled after the given time span.
+     *
+     * @param millis The time span in milliseconds.
+     * @return A new token.
+     */
+    public static Cancellation timeout(long millis) {
+        return deadline(System.nanoTime() + millis * 1_000_000L);
+    }
+
+    /**
+     * A token, which cancels itself at its n-th check. It stops a single fit
+     * at a reproducible checkpoint.
+     *
+     * @param checks The number of checks; it has to be positive.
+     * @return A new token.
+     */
+    static Cancellation afterChecks(int checks) {
+        if (checks <= 0) {
+            throw new IllegalArgumentException("number of checks has to be positive");
+        }
+        Cancellation cancellation = new Cancellation(false, 0L);
+        cancellation.checks = checks;
+        return cancellation;
+    }
+
+    /**
+     * Cancel all fits using this token.
+     */
+    public void cancel() {
+        if (this == NONE) {
+            throw new UnsupportedOperationException("NONE cannot be cancelled");
+        }
+        this.cancelled = true;
+    }
+
+    /**
+     * The state of the token.
+     *
+     * @return True, if the token has been cancelled or its deadline has
+     *         passed.
+     */
+    public boolean isCancelled() {
+        return this.cancelled
+                || (this.timed && (System.nanoTime() - this.deadline >= 0));
+    }
+
+    /**
+     * The cause of a cancellation.
+     *
+     * @return True, if the deadline has passed.
+     */
+    public boolean isExpired() {
+        return this.timed && (System.nanoTime() - this.deadline >= 0);
+    }
+
+    /**
+     * Abandon the current fit, if the token has been cancelled.
+     */
+    void check() {
+        if (this.checks > 0 && --this.checks == 0) {
+            this.cancelled = true;
+        }
+        if (isCancelled()) {
+            throw new Interruption();
+        }
+    }
+
+    /**
+     * The internal signal to unwind a cancelled fit; it is converted into a
+     * <code>FitResult</code> by the cancellable <code>init</code> methods.
+     */
+    static final class Interruption extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        Interruption() {
+            super("fit has been cancelled");
+        }
+    }
+}
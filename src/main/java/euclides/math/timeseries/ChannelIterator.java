@@ -0,0 +1,108 @@
+/*
+ * Fraunhofer Austria & CGV - Java Repository
+ * 
+ *   Maintained by
+ *      Torsten Ullrich
+ *      torsten.ullrich@fraunhofer.at
+ * 
+ *   Copyright
+ *      Fraunhofer Austria Research GmbH,
+ *      Geschaeftsbereich Visual Computing Graz, Austria.
+ * 
+ *      Institut f. ComputerGraphik und WissensVisualisierung
+ *      Technische Universitaet Graz, Austria.
+ * 
+ *   This program is free software; you can redistribute it and/or
+ *   modify it under the terms of the GNU General Public License
+ *   as published by the Free Software Foundation; version 2
+ *   of the License.
+ * 
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ * 
+ */
+package euclides.math.timeseries;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.ReadableByteChannel;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * An iterator over the little-endian doubles of a byte channel. The channel
+ * is read in chunks of fixed size, so that arbitrarily long series can be
+ * streamed in bounded memory.
+ *
+ * @author Torsten Ullrich
+ * @version 4.1
+ */
+final class ChannelIterator implements PrimitiveIterator.OfDouble {
+
+    /**
+     * The chunk size in bytes.
+     */
+    private static final int CHUNK = 1 << 16;
+
+    private final ReadableByteChannel channel;
+    private final ByteBuffer buffer;
+    private boolean endOfStream;
+
+    /**
+     * The constructor takes the channel to read.
+     *
+     * @param channel The source of the little-endian doubles.
+     */
+    ChannelIterator(ReadableByteChannel channel) {
+        //
+        // check input
+        //
+        if (channel == null) {
+            throw new IllegalArgumentException("argument has to be non-null");
+        }
+        //
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocateDirect(CHUNK)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        this.buffer.flip();
+        this.endOfStream = false;
+    }
+
+    @Override
+    public boolean hasNext() {
+        //
+        // refill the buffer until it contains a complete value
+        //
+        while ((this.buffer.remaining() < Double.BYTES) && !this.endOfStream) {
+            this.buffer.compact();
+            try {
+                if (this.channel.read(this.buffer) < 0) {
+                    this.endOfStream = true;
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } finally {
+                this.buffer.flip();
+            }
+        }
+        //
+        if (this.endOfStream && (this.buffer.remaining() > 0)
+                && (this.buffer.remaining() < Double.BYTES)) {
+            throw new IllegalArgumentException(
+                    "channel ends with an incomplete value");
+        }
+        return this.buffer.remaining() >= Double.BYTES;
+    }
+
+    @Override
+    public double nextDouble() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return this.buffer.getDouble();
+    }
+}
@@ -0,0 +1,376 @@
+/*
+ * Fraunhofer Austria & CGV - Java Repository
+ * 
+ *   Maintained by
+ *      Torsten Ullrich
+ *      torsten.ullrich@fraunhofer.at
+ * 
+ *   Copyright
+ *      Fraunhofer Austria Research GmbH,
+ *      Geschaeftsbereich Visual Computing Graz, Austria.
+ * 
+ *      Institut f. ComputerGraphik und WissensVisualisierung
+ *      Technische Universitaet Graz, Austria.
+ * 
+ *   This program is free software; you can redistribute it and/or
+ *   modify it under the terms of the GNU General Public License
+ *   as published by the Free Software Foundation; version 2
+ *   of the License.
+ * 
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ * 
+ */
+package euclides.math.timeseries;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * A time series compressed in the manner of Facebook's Gorilla time series
+ * database. Time stamps are stored as delta-of-deltas and values as the XOR
+ * of consecutive bit patterns; both are bit-packed into separate streams.
+ * Regular time stamps cost one bit per sample and slowly changing values
+ * a few bits per sample. The series is append-only; it is decoded
+ * sequentially, so that models with streaming initialization consume the
+ * values without decompressing the series as a whole.
+ *
+ * @author Torsten Ullrich
+ * @version 4.1
+ */
+public final class CompressedSeries {
+
+    /**
+     * The bit streams of time stamps and values.
+     */
+    private final BitBuffer times;
+    private final BitBuffer values;
+    private int size;
+
+    /**
+     * The encoder state.
+     */
+    private long lastTime;
+    private long lastDelta;
+    private long lastBits;
+    private int lastLeading;
+    private int lastTrailing;
+
+    /**
+     * The constructor creates an empty series.
+     */
+    public CompressedSeries() {
+        this.times = new BitBuffer();
+        this.values = new BitBuffer();
+        this.size = 0;
+        this.lastLeading = -1;
+    }
+
+    /**
+     * This method compresses a time series.
+     *
+     * @param series The series to compress.
+     * @return A compressed copy.
+     */
+    public static CompressedSeries of(TimeSeries series) {
+        CompressedSeries result = new CompressedSeries();
+        for (int i = 0; i < series.size(); i++) {
+            result.add(series.time(i), series.value(i));
+        }
+        return result;
+    }
+
+    /**
+     * This method compresses values with the implicit time stamps
+     * <code>0, 1, 2, ...</code>.
+     *
+     * @param values The values to compress.
+     * @return A compressed copy.
+     */
+    public static CompressedSeries of(double[] values) {
+        CompressedSeries result = new CompressedSeries();
+        for (int i = 0; i < values.length; i++) {
+            result.add(i, values[i]);
+        }
+        return result;
+    }
+
+    // (* \newpage *)
+    /**
+     * Appends a sample.
+     *
+     * @param time The time stamp in milliseconds since the epoch.
+     * @param value The value.
+     */
+    public void add(long time, double value) {
+        final long bits = Double.doubleToRawLongBits(value);
+        if (this.size == 0) {
+            this.times.write(time, 64);
+            this.values.write(bits, 64);
+        } else {
+            addTime(time);
+            addValue(bits);
+        }
+        this.lastTime = time;
+        this.lastBits = bits;
+        this.size++;
+    }
+
+    private void addTime(long time) {
+        final long delta = time - this.lastTime;
+        final long deltaOfDelta = delta - this.lastDelta;
+        //
+        // variable-length buckets
+        //
+        if (deltaOfDelta == 0) {
+            this.times.write(0b0, 1);
+        } else if ((deltaOfDelta >= -64) && (deltaOfDelta < 64)) {
+            this.times.write(0b10, 2);
+            this.times.write(deltaOfDelta, 7);
+        } else if ((deltaOfDelta >= -256) && (deltaOfDelta < 256)) {
+            this.times.write(0b110, 3);
+            this.times.write(deltaOfDelta, 9);
+        } else if ((deltaOfDelta >= -2048) && (deltaOfDelta < 2048)) {
+            this.times.write(0b1110, 4);
+            this.times.write(deltaOfDelta, 12);
+        } else {
+            this.times.write(0b1111, 4);
+            this.times.write(deltaOfDelta, 64);
+        }
+        this.lastDelta = delta;
+    }
+
+    private void addValue(long bits) {
+        final long xor = bits ^ this.lastBits;
+        if (xor == 0) {
+            this.values.write(0b0, 1);
+            return;
+        }
+        final int leading = Math.min(Long.numberOfLeadingZeros(xor), 31);
+        final int trailing = Long.numberOfTrailingZeros(xor);
+        //
+        // reuse the previous window of meaningful bits, if it fits
+        //
+        if ((this.lastLeading >= 0) && (leading >= this.lastLeading)
+                && (trailing >= this.lastTrailing)) {
+            this.values.write(0b10, 2);
+            this.values.write(xor >>> this.lastTrailing,
+                    64 - this.lastLeading - this.lastTrailing);
+        } else {
+            final int meaningful = 64 - leading - trailing;
+            this.values.write(0b11, 2);
+            this.values.write(leading, 5);
+            this.values.write(meaningful & 63, 6);
+            this.values.write(xor >>> trailing, meaningful);
+            this.lastLeading = leading;
+            this.lastTrailing = trailing;
+        }
+    }
+
+    // (* \newpage *)
+    /**
+     * The number of samples.
+     *
+     * @return The number of samples.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * The memory occupied by the compressed streams.
+     *
+     * @return The number of bytes used.
+     */
+    public long compressedBytes() {
+        return (this.times.bits + this.values.bits + 7) / 8;
+    }
+
+    /**
+     * A sequential decoder of the values; e.g. to be passed to
+     * <code>Model.init(PrimitiveIterator.OfDouble)</code>. The iterator
+     * covers the samples appended before its creation.
+     *
+     * @return An iterator over the values.
+     */
+    public PrimitiveIterator.OfDouble valueIterator() {
+        final int count = this.size;
+        return new PrimitiveIterator.OfDouble() {
+            private final BitReader reader = new BitReader(
+                    CompressedSeries.this.values);
+            private int index = 0;
+            private long bits;
+            private int leading;
+            private int trailing;
+
+            @Override
+            public boolean hasNext() {
+                return this.index < count;
+            }
+
+            @Override
+            public double nextDouble() {
+                if (this.index >= count) {
+                    throw new NoSuchElementException();
+                }
+                if (this.index == 0) {
+                    this.bits = this.reader.read(64);
+                } else if (this.reader.read(1) != 0) {
+                    if (this.reader.read(1) != 0) {
+                        this.leading = (int) this.reader.read(5);
+                        int meaningful = (int) this.reader.read(6);
+                        if (meaningful == 0) {
+                            meaningful = 64;
+                        }
+                        this.trailing = 64 - this.leading - meaningful;
+                    }
+                    final int meaningful = 64 - this.leading - this.trailing;
+                    this.bits ^= this.reader.read(meaningful) << this.trailing;
+                }
+                this.index++;
+                return Double.longBitsToDouble(this.bits);
+            }
+        };
+    }
+
+    /**
+     * A sequential decoder of the time stamps. The iterator covers the
+     * samples appended before its creation.
+     *
+     * @return An iterator over the time stamps.
+     */
+    public PrimitiveIterator.OfLong timeIterator() {
+        final int count = this.size;
+        return new PrimitiveIterator.OfLong() {
+            private final BitReader reader = new BitReader(
+                    CompressedSeries.this.times);
+            private int index = 0;
+            private long time;
+            private long delta;
+
+            @Override
+            public boolean hasNext() {
+                return this.index < count;
+            }
+
+            @Override
+            public long nextLong() {
+                if (this.index >= count) {
+                    throw new NoSuchElementException();
+                }
+                if (this.index == 0) {
+                    this.time = this.reader.read(64);
+                } else {
+                    this.delta += readDeltaOfDelta();
+                    this.time += this.delta;
+                }
+                this.index++;
+                return this.time;
+            }
+
+            private long readDeltaOfDelta() {
+                if (this.reader.read(1) == 0) {
+                    return 0;
+                }
+                if (this.reader.read(1) == 0) {
+                    return this.reader.readSigned(7);
+                }
+                if (this.reader.read(1) == 0) {
+                    return this.reader.readSigned(9);
+                }
+                if (this.reader.read(1) == 0) {
+                    return this.reader.readSigned(12);
+                }
+                return this.reader.read(64);
+            }
+        };
+    }
+
+    /**
+     * This method decompresses the series.
+     *
+     * @return An uncompressed copy.
+     */
+    public TimeSeries toTimeSeries() {
+        TimeSeries result = new TimeSeries(Math.max(1, this.size));
+        PrimitiveIterator.OfLong t = timeIterator();
+        PrimitiveIterator.OfDouble v = valueIterator();
+        while (t.hasNext()) {
+            result.add(t.nextLong(), v.nextDouble());
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "compressed time series { size=" + this.size + ", bytes="
+                + compressedBytes() + " }";
+    }
+
+    // (* \newpage *)
+    /**
+     * A growable stream of bits, written most significant bit first.
+     */
+    private static final class BitBuffer {
+        private long[] words = new long[16];
+        private long bits = 0;
+
+        void write(long value, int count) {
+            if (count == 0) {
+                return;
+            }
+            final int word = (int) (this.bits >>> 6);
+            final int free = 64 - (int) (this.bits & 63);
+            if (word + 1 >= this.words.length) {
+                this.words = Arrays.copyOf(this.words, 2 * this.words.length);
+            }
+            final long masked = value & mask(count);
+            if (count <= free) {
+                this.words[word] |= masked << (free - count);
+            } else {
+                this.words[word] |= masked >>> (count - free);
+                this.words[word + 1] |= masked << (64 - (count - free));
+            }
+            this.bits += count;
+        }
+    }
+
+    /**
+     * A sequential reader of a bit stream.
+     */
+    private static final class BitReader {
+        private final BitBuffer buffer;
+        private long position = 0;
+
+        BitReader(BitBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        long read(int count) {
+            if (count == 0) {
+                return 0;
+            }
+            final long[] words = this.buffer.words;
+            final int word = (int) (this.position >>> 6);
+            final int free = 64 - (int) (this.position & 63);
+            this.position += count;
+            if (count <= free) {
+                return (words[word] >>> (free - count)) & mask(count);
+            }
+            final int rest = count - free;
+            return ((words[word] & mask(free)) << rest)
+                    | (words[word + 1] >>> (64 - rest));
+        }
+
+        long readSigned(int count) {
+            return (read(count) << (64 - count)) >> (64 - count);
+        }
+    }
+
+    private static long mask(int count) {
+        return (count == 64) ? -1L : ((1L << count) - 1);
+    }
+}
@@ -27,6 +27,10 @@ package euclides.math.timeseries;
 
 import static euclides.math.LinAlgArrays.check;
 
+import euclides.math.OffHeapVector;
+
+import java.util.PrimitiveIterator;
+
 /**
  * Constant regression.
  *
@@ -50,6 +54,16 @@ public final class ConstantRegression implements Model {
         return 1;
     }
 
+    /**
+     * Direct initialization by the model parameter; e.g. from a series
+     * index.
+     *
+     * @param average The mean of the initial values.
+     */
+    void setParameters(double average) {
+        this.average = average;
+    }
+
     @Override
     public double init(double[] yi) {
         //
@@ -73,6 +87,77 @@ public final class ConstantRegression implements Model {
         return 0.0;
     }
 
+    @Override
+    public double init(OffHeapVector yi) {
+        //
+        // check input
+        //
+        if (yi == null) {
+            throw new IllegalArgumentException("argument has to be non-null");
+        }
+        final int datasize = yi.check();
+        if (datasize < modelRequirements())
+            throw new IllegalArgumentException("not enough initial values");
+        //
+        // estimate model parameter without copying the data
+        //
+        double sum = 0.0;
+        for (int i = 0; i < datasize; i++) {
+            sum += yi.get(i);
+        }
+        this.average = sum / datasize;
+        //
+        return 0.0;
+    }
+
+    /**
+     * The values of a time series are read in place by
+     * <code>init(PrimitiveIterator.OfDouble)</code> without copying them.
+     *
+     * @param series The input data with the implicit indices
+     *        <code>-k, ... ,-2, -1, 0</code>.
+     * @return Coefficient of determination.
+     */
+    @Override
+    public double init(TimeSeries series) {
+        //
+        // check input
+        //
+        if (series == null) {
+            throw new IllegalArgumentException("argument has to be non-null");
+        }
+        //
+        return init(series.valueIterator());
+    }
+
+    @Override
+    public double init(PrimitiveIterator.OfDouble yi) {
+        //
+        // check input
+        //
+        if (yi == null) {
+            throw new IllegalArgumentException("argument has to be non-null");
+        }
+        //
+        // estimate model parameter by a running mean
+        //
+        long datasize = 0;
+        double mean = 0.0;
+        while (yi.hasNext()) {
+            final double y = yi.nextDouble();
+            if (!Double.isFinite(y)) {
+                throw new IllegalArgumentException("non-finite initial value");
+            }
+            datasize++;
+            mean += (y - mean) / datasize;
+        }
+        if (datasize < modelRequirements())
+            throw new IllegalArgumentException("not enough initial values");
+        this.average = mean;
+        //
+        return 0.0;
+    }
+
     @Override
     public double eval(double x) {
         return this.average;
@@ -0,0 +1,112 @@
+/*
+ * Fraunhofer Austria & CGV - Java Repository
+ * 
+ *   Maintained by
+ *      Torsten Ullrich
+ *      torsten.ullrich@fraunhofer.at
+ * 
+ *   Copyright
+ *      Fraunhofer Austria Research GmbH,
+ *      Geschaeftsbereich Visual Computing Graz, Austria.
+ * 
+ *      Institut f. ComputerGraphik und WissensVisualisierung
+ *      Technische Universitaet Graz, Austria.
+ * 
+ *   This program is free software; you can redistribute it and/or
+ *   modify it under the terms of the GNU General Public License
+ *   as published by the Free Software Foundation; version 2
+ *   of the License.
+ * 
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ * 
+ */
+package euclides.math.timeseries;
+
+/**
+ * The result of a cancellable model initialization; i.e. either the
+ * coefficient of determination of a completed fit, or the reason and the
+ * training level of an abandoned one.
+ *
+ * @author Torsten Ullrich
+ * @version 4.1
+ */
+public final class FitResult {
+
+    /**
+     * The outcome of a fit.
+     */
+    public enum Status {
+        COMPLETED, CANCELLED, TIMED_OUT
+    }
+
+    private final Status status;
+    private final double coefficient;
+    private final int trainingLevel;
+
+    private FitResult(Status status, double coefficient, int trainingLevel) {
+        this.status = status;
+        this.coefficient = coefficient;
+        this.trainingLevel = trainingLevel;
+    }
+
+    /**
+     * The result of a completed fit.
+     *
+     * @param coefficient The coefficient of determination.
+     * @return The result.
+     */
+    public static FitResult completed(double coefficient) {
+        return new FitResult(Status.COMPLETED, coefficient, 100);
+    }
+
+    /**
+     * The result of an abandoned fit.
+     *
+     * @param cancellation The token, which has stopped the fit.
+     * @param trainingLevel The training level reached before.
+     * @return The result.
+     */
+    public static FitResult interrupted(Cancellation cancellation,
+            int trainingLevel) {
+        return new FitResult(
+                cancellation.isExpired() ? Status.TIMED_OUT : Status.CANCELLED,
+                Double.NaN, trainingLevel);
+    }
+
+    public Status status() {
+        return this.status;
+    }
+
+    public boolean isCompleted() {
+        return this.status == Status.COMPLETED;
+    }
+
+    /**
+     * The coefficient of determination.
+     *
+     * @return The coefficient, or not-a-number if the fit has not been
+     *         completed.
+     */
+    public double coefficient() {
+        return this.coefficient;
+    }
+
+    /**
+     * The completeness of the model training in percent (see
+     * <code>Model.trainingLevel()</code>).
+     *
+     * @return The training level reached.
+     */
+    public int trainingLevel() {
+        return this.trainingLevel;
+    }
+
+    @Override
+    public String toString() {
+        return this.status + " { coefficient=" + this.coefficient
+                + ", training level=" + this.trainingLevel + " }";
+    }
+}
@@ -27,6 +27,12 @@ package euclides.math.timeseries;
 
 import static euclides.math.LinAlgArrays.vector;
 
+import euclides.math.OffHeapVector;
+
+import java.nio.channels.ReadableByteChannel;
+import java.util.Arrays;
+import java.util.PrimitiveIterator;
+
 /**
  * The time series model.
  *
@@ -83,6 +89,147 @@ public interface Model {
      */
     public double init(double[] yi);
 
+    /**
+     * Each model is initialized by previous, historic data; the fit is
+     * abandoned, as soon as the cancellation token is cancelled or its
+     * deadline has passed. Models with expensive fits check the token between
+     * their phases (design matrix, Gram matrix, solve and scoring) as well as
+     * in long loops, and report their progress by <code>trainingLevel()</code>.
+     * By default, the token is checked once before the uninterruptible
+     * <code>init(double[])</code>.
+     *
+     * @param yi The input data with the implicit indices
+     *        <code>-k, ... ,-2, -1, 0</code>.
+     * @param cancellation The cancellation token.
+     * @return The coefficient of determination of a completed fit, or the
+     *         reason of its abandonment.
+     */
+    public default FitResult init(double[] yi, Cancellation cancellation) {
+        //
+        // check input
+        //
+        if (cancellation == null) {
+            throw new IllegalArgumentException("argument has to be non-null");
+        }
+        //
+        if (cancellation.isCancelled()) {
+            return FitResult.interrupted(cancellation, 0);
+        }
+        return FitResult.completed(init(yi));
+    }
+
+    /**
+     * Each model is initialized by previous, historic data given as a time
+     * series. The models assume equidistant samples; i.e. the time stamps
+     * are not evaluated and irregular series have to be resampled first.
+     * By default, the values are copied; models with a streaming
+     * initialization of the same result read them in place by
+     * <code>TimeSeries.valueIterator()</code>.
+     *
+     * @param series The input data with the implicit indices
+     *        <code>-k, ... ,-2, -1, 0</code>.
+     * @return Coefficient of determination.
+     */
+    public default double init(TimeSeries series) {
+        //
+        // check input
+        //
+        if (series == null) {
+            throw new IllegalArgumentException("argument has to be non-null");
+        }
+        //
+        return init(series.values());
+    }
+
+    /**
+     * Each model is initialized by previous, historic data, which may be
+     * compressed. The values are decoded sequentially and passed to
+     * <code>init(PrimitiveIterator.OfDouble)</code>; i.e. models with a
+     * streaming initialization never decompress the series as a whole.
+     *
+     * @param series The input data with the implicit indices
+     *        <code>-k, ... ,-2, -1, 0</code>.
+     * @return Coefficient of determination.
+     */
+    public default double init(CompressedSeries series) {
+        //
+        // check input
+        //
+        if (series == null) {
+            throw new IllegalArgumentException("argument has to be non-null");
+        }
+        //
+        return init(series.valueIterator());
+    }
+
+    /**
+     * Each model is initialized by previous, historic data, which may be
+     * stored off-heap. By default, the data is copied onto the heap for the
+     * duration of the initialization. Models, which are determined by sums or
+     * sufficient statistics of the data, read the elements directly; models,
+     * which derive a full-length series anyway (e.g. the residuals of an ARMA
+     * model or the differences of an ARIMA model), use the default.
+     *
+     * @param yi The input data with the implicit indices
+     *        <code>-k, ... ,-2, -1, 0</code>.
+     * @return Coefficient of determination.
+     */
+    public default double init(OffHeapVector yi) {
+        //
+        // check input
+        //
+        if (yi == null) {
+            throw new IllegalArgumentException("argument has to be non-null");
+        }
+        //
+        return init(yi.toArray());
+    }
+
+    /**
+     * Each model is initialized by previous, historic data, which may be
+     * streamed; e.g. from an archive too large to be held in memory. By
+     * default, the stream is collected into an array. Models, which are
+     * determined by sufficient statistics, consume the stream in bounded
+     * memory instead.
+     *
+     * @param yi The input data with the implicit indices
+     *        <code>-k, ... ,-2, -1, 0</code>.
+     * @return Coefficient of determination.
+     */
+    public default double init(PrimitiveIterator.OfDouble yi) {
+        //
+        // check input
+        //
+        if (yi == null) {
+            throw new IllegalArgumentException("argument has to be non-null");
+        }
+        //
+        // collect the stream with amortized doubling
+        //
+        double[] buffer = new double[1024];
+        int size = 0;
+        while (yi.hasNext()) {
+            if (size == buffer.length) {
+                buffer = Arrays.copyOf(buffer, 2 * size);
+            }
+            buffer[size++] = yi.nextDouble();
+        }
+        return init(Arrays.copyOf(buffer, size));
+    }
+
+    /**
+     * Each model is initialized by previous, historic data, which may be
+     * read from a channel of little-endian doubles. The channel is read in
+     * chunks and passed to <code>init(PrimitiveIterator.OfDouble)</code>.
+     *
+     * @param channel The input data with the implicit indices
+     *        <code>-k, ... ,-2, -1, 0</code>.
+     * @return Coefficient of determination.
+     */
+    public default double init(ReadableByteChannel channel) {
+        return init(new ChannelIterator(channel));
+    }
+
     /**
      * Having initialized the model, an arbitrary input value <code>x</code> can
      * be evaluated.
@@ -33,6 +33,10 @@ import static euclides.math.LinAlgArrays.toStringMaple;
 import static euclides.math.LinAlgArrays.transpose;
 import static euclides.math.LinAlgArrays.vector;
 
+import euclides.math.OffHeapVector;
+
+import java.util.PrimitiveIterator;
+
 /**
  * The implementation of a polynomial (linear) regression.
  *
@@ -46,6 +50,7 @@ public final class PolynomialRegression implements Model {
      */
     private final int order;
     private double[] polynomial;
+    private volatile int level;
 
     /**
      * The constructor takes the order of the polynomial to fit.
@@ -62,6 +67,7 @@ public final class PolynomialRegression implements Model {
         //
         this.order = k;
         this.polynomial = null;
+        this.level = 0;
     }
 
     @Override
@@ -74,8 +80,38 @@ public final class PolynomialRegression implements Model {
         return this.order + 1;
     }
 
+    @Override
+    public int trainingLevel() {
+        return this.level;
+    }
+
     @Override
     public double init(double[] yi) {
+        final double coefficient = fit(yi, Cancellation.NONE);
+        this.level = 100;
+        return coefficient;
+    }
+
+    @Override
+    public FitResult init(double[] yi, Cancellation cancellation) {
+        //
+        // check input
+        //
+        if (cancellation == null) {
+            throw new IllegalArgumentException("argument has to be non-null");
+        }
+        //
+        try {
+            final double coefficient = fit(yi, cancellation);
+            this.level = 100;
+            return FitResult.completed(coefficient);
+        } catch (Cancellation.Interruption e) {
+            this.polynomial = null;
+            return FitResult.interrupted(cancellation, this.level);
+        }
+    }
+
+    private double fit(double[] yi, Cancellation cancellation) {
         //
         // check input
         //
@@ -86,22 +122,229 @@ public final class PolynomialRegression implements Model {
         //
         // estimate model parameter
         //
+        progress(cancellation, 0);
         double[] xi = Model.xi(datasize);
         double[][] X = vandermonde(xi, this.order);
         double[][] XT = transpose(X);
+        progress(cancellation, 25);
         double[][] XTX = mul(XT, X);
         double[] XTy = mul(XT, yi);
-        this.polynomial = cholesky(XTX, XTy);
+        progress(cancellation, 50);
+        this.polynomial = cholesky(XTX, XTy, cancellation::check);
+        progress(cancellation, 75);
         //
         // model approximations
         //
         double[] fi = vector(datasize);
         for (int i = 0; i < datasize; i++) {
+            if (i % Cancellation.CHECK_INTERVAL == 0) {
+                cancellation.check();
+            }
             fi[i] = eval(xi[i]);
         }
         return Model.coefficientOfDetermination(yi, fi);
     }
 
+    /**
+     * Report the training level of a fit and abandon it, if it has been
+     * cancelled.
+     *
+     * @param cancellation The cancellation token.
+     * @param level The training level reached.
+     */
+    private void progress(Cancellation cancellation, int level) {
+        this.level = level;
+        cancellation.check();
+    }
+
+    /**
+     * The streaming initialization consumes the data in a single pass using
+     * memory of size <code>O(k)</code>. It accumulates the power sums of the
+     * normalized stream position <code>u = (t - c) / h</code> and the moments
+     * of the values <code>z = y - y0</code> shifted by the first value. The
+     * frame <code>(c, h)</code> covers the positions <code>0, ..., n-1</code>
+     * of a preliminary length <code>n</code>, which is doubled, whenever the
+     * stream is longer; the sums are then rebased exactly to the new frame.
+     * As all positions satisfy <code>|u| &lt;= 1</code> and the stream
+     * occupies at least half of the frame, the normal equations remain well
+     * conditioned independent of the stream length.
+     *
+     * @param yi The input data with the implicit indices
+     *        <code>-k, ... ,-2, -1, 0</code>.
+     * @return Coefficient of determination.
+     */
+    @Override
+    public double init(PrimitiveIterator.OfDouble yi) {
+        //
+        // check input
+        //
+        if (yi == null) {
+            throw new IllegalArgumentException("argument has to be non-null");
+        }
+        //
+        // accumulate the sufficient statistics with respect to the normalized
+        // position u and the shifted values z
+        //
+        final int dim = this.order + 1;
+        double[] su = vector(2 * dim - 1);
+        double[] suz = vector(dim);
+        double szz = 0.0;
+        double shift = 0.0;
+        long datasize = 0;
+        long frame = Math.max(16, 2 * dim);
+        double center = (frame - 1) / 2.0;
+        double scale = (frame - 1) / 2.0;
+        while (yi.hasNext()) {
+            final double y = yi.nextDouble();
+            if (!Double.isFinite(y)) {
+                throw new IllegalArgumentException("non-finite initial value");
+            }
+            if (datasize == 0) {
+                shift = y;
+            }
+            if (datasize == frame) {
+                //
+                // double the frame and rebase u' = (h u + c - c') / h'
+                //
+                frame = 2 * frame;
+                final double nextCenter = (frame - 1) / 2.0;
+                final double nextScale = (frame - 1) / 2.0;
+                final double a = scale / nextScale;
+                final double b = (center - nextCenter) / nextScale;
+                rebase(su, a, b);
+                rebase(suz, a, b);
+                center = nextCenter;
+                scale = nextScale;
+            }
+            final double u = (datasize - center) / scale;
+            final double z = y - shift;
+            double power = 1.0;
+            for (int j = 0; j < su.length; j++) {
+                su[j] += power;
+                if (j < dim) {
+                    suz[j] += power * z;
+                }
+                power *= u;
+            }
+            szz += z * z;
+            datasize++;
+        }
+        if (datasize < modelRequirements()) {
+            throw new IllegalArgumentException("not enough initial values");
+        }
+        //
+        // estimate model parameter in the basis of u
+        //
+        double[][] XTX = matrix(dim, dim);
+        for (int i = 0; i < dim; i++) {
+            for (int j = 0; j < dim; j++) {
+                XTX[i][j] = su[i + j];
+            }
+        }
+        double[] c = cholesky(XTX, suz);
+        //
+        // coefficient of determination from the sufficient statistics
+        //
+        double res = szz;
+        for (int i = 0; i < dim; i++) {
+            res -= 2.0 * c[i] * suz[i];
+            for (int j = 0; j < dim; j++) {
+                res += c[i] * XTX[i][j] * c[j];
+            }
+        }
+        final double tot = szz - suz[0] * suz[0] / datasize;
+        //
+        // change the basis to the implicit indices x = t - (datasize - 1);
+        // i.e. u = (x + d) / h with d = datasize - 1 - c, and undo the value
+        // shift
+        //
+        final double d = datasize - 1 - center;
+        this.polynomial = vector(dim);
+        double inverse = 1.0;
+        for (int j = 0; j < dim; j++) {
+            final double cj = c[j] * inverse;
+            double binomial = 1.0;
+            double power = 1.0;
+            for (int k = j; k >= 0; k--) {
+                this.polynomial[k] += cj * binomial * power;
+                binomial = binomial * k / (j - k + 1);
+                power *= d;
+            }
+            inverse /= scale;
+        }
+        this.polynomial[0] += shift;
+        this.level = 100;
+        //
+        if (tot == 0) {
+            return Double.NaN;
+        }
+        return 1 - res / tot;
+    }
+
+    /**
+     * The values of a time series are read in place by
+     * <code>init(PrimitiveIterator.OfDouble)</code> without copying them.
+     *
+     * @param series The input data with the implicit indices
+     *        <code>-k, ... ,-2, -1, 0</code>.
+     * @return Coefficient of determination.
+     */
+    @Override
+    public double init(TimeSeries series) {
+        //
+        // check input
+        //
+        if (series == null) {
+            throw new IllegalArgumentException("argument has to be non-null");
+        }
+        //
+        return init(series.valueIterator());
+    }
+
+    /**
+     * The polynomial is determined by sufficient statistics; i.e. an off-heap
+     * vector is read sequentially by <code>init(PrimitiveIterator.OfDouble)
+     * </code> without copying it onto the heap.
+     *
+     * @param yi The input data with the implicit indices
+     *        <code>-k, ... ,-2, -1, 0</code>.
+     * @return Coefficient of determination.
+     */
+    @Override
+    public double init(OffHeapVector yi) {
+        //
+        // check input
+        //
+        if (yi == null) {
+            throw new IllegalArgumentException("argument has to be non-null");
+        }
+        //
+        return init(yi.valueIterator());
+    }
+
+    /**
+     * Rebase power sums <code>S[j] = sum w u^j</code> in place to the
+     * variable <code>u' = a u + b</code>; i.e.
+     * <code>S'[j] = sum_m binomial(j, m) a^m b^(j-m) S[m]</code>.
+     *
+     * @param sums The power sums.
+     * @param a The scale factor.
+     * @param b The offset.
+     */
+    private static void rebase(double[] sums, double a, double b) {
+        final double[] rebased = vector(sums.length);
+        for (int j = 0; j < sums.length; j++) {
+            double binomial = 1.0;
+            double powerA = 1.0;
+            for (int m = 0; m <= j; m++) {
+                rebased[j] += binomial * powerA * Math.pow(b, j - m) * sums[m];
+                binomial = binomial * (j - m) / (m + 1);
+                powerA *= a;
+            }
+        }
+        System.arraycopy(rebased, 0, sums, 0, sums.length);
+    }
+
     @Override
     public double eval(double x) {
         //
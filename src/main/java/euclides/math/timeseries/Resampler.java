@@ -0,0 +1,510 @@
+/*
+ * Fraunhofer Austria & CGV - Java Repository
+ * 
+ *   Maintained by
+ *      Torsten Ullrich
+ *      torsten.ullrich@fraunhofer.at
+ * 
+ *   Copyright
+ *      Fraunhofer Austria Research GmbH,
+ *      Geschaeftsbereich Visual Computing Graz, Austria.
+ * 
+ *      Institut f. ComputerGraphik und WissensVisualisierung
+ *      Technische Universitaet Graz, Austria.
+ * 
+ *   This program is free software; you can redistribute it and/or
+ *   modify it under the terms of the GNU General Public License
+ *   as published by the Free Software Foundation; version 2
+ *   of the License.
+ * 
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ * 
+ */
+package euclides.math.timeseries;
+
+import java.util.Arrays;
+
+/**
+ * The resampler maps irregular, time-stamped samples onto the equidistant
+ * grid <code>origin, origin + step, origin + 2 step, ...</code> assumed by
+ * the models. Each sample is assigned to the grid cell containing its time
+ * stamp in constant time, so that a series is resampled in a single linear
+ * pass. Samples within the same cell are aggregated; non-finite values are
+ * treated as missing. Empty cells are filled.
+ * <p>
+ * Without a sink, the samples may arrive in any order; as a late sample may
+ * still change any cell, the resampler keeps the accumulators of the whole
+ * grid up to the latest sample. With a sink, the samples have to be ordered
+ * by time; each cell is completed and passed to the sink, as soon as a
+ * sample of a later cell arrives, so that the resampler streams in constant
+ * memory. In both cases, the grid is bounded by a maximum number of cells,
+ * so that an outlying time stamp is rejected instead of allocating a grid
+ * of arbitrary size.
+ *
+ * @author Torsten Ullrich
+ * @version 4.1
+ */
+public final class Resampler {
+
+    /**
+     * The default maximum number of grid cells.
+     */
+    public static final int DEFAULT_MAX_CELLS = 1 << 24;
+
+    /**
+     * The aggregation of the samples within a grid cell.
+     */
+    public enum Aggregation {
+        /** The arithmetic mean. */
+        MEAN,
+        /** The sample with the latest time stamp. */
+        LAST,
+        /** The sum. */
+        SUM,
+        /** The minimum. */
+        MIN,
+        /** The maximum. */
+        MAX
+    }
+
+    /**
+     * The filling of empty grid cells. Cells before the first resp. after
+     * the last non-empty cell are filled with its value by the strategies
+     * <code>LINEAR</code> and <code>PREVIOUS</code>. The sum of an empty
+     * cell is zero; i.e. the aggregation <code>SUM</code> fills empty cells
+     * with zero unless they are marked by <code>NAN</code>.
+     */
+    public enum GapFill {
+        /** Linear interpolation of the neighbouring cells. */
+        LINEAR,
+        /** The value of the previous non-empty cell. */
+        PREVIOUS,
+        /** Empty cells are marked by <code>NaN</code>. */
+        NAN
+    }
+
+    /**
+     * The receiver of the completed grid cells of an ordered stream.
+     */
+    public interface Sink {
+
+        /**
+         * Receives the next grid cell; empty cells are filled.
+         *
+         * @param time The time stamp of the grid cell.
+         * @param value The value of the grid cell.
+         */
+        public void accept(long time, double value);
+    }
+
+    /**
+     * The grid definition.
+     */
+    private final long origin;
+    private final long step;
+    private final Aggregation aggregation;
+    private final GapFill gapFill;
+    private final int maxCells;
+
+    /**
+     * The accumulators per grid cell.
+     */
+    private double[] values;
+    private int[] counts;
+    private long[] latest;
+    private int cells;
+
+    /**
+     * The state of an ordered stream: the accumulator of the current cell,
+     * the last non-empty cell passed to the sink and the number of cells
+     * passed to the sink.
+     */
+    private final Sink sink;
+    private long lastTime;
+    private int current;
+    private double currentValue;
+    private int currentCount;
+    private int previous;
+    private double previousValue;
+    private int emitted;
+    private boolean flushed;
+
+    /**
+     * The constructor defines the grid with the default maximum number of
+     * cells.
+     *
+     * @param origin The time stamp of the first grid cell.
+     * @param step The grid spacing in milliseconds.
+     * @param aggregation The aggregation of the samples within a cell.
+     * @param gapFill The filling of empty cells.
+     */
+    public Resampler(long origin, long step, Aggregation aggregation,
+            GapFill gapFill) {
+        this(origin, step, aggregation, gapFill, DEFAULT_MAX_CELLS, null);
+    }
+
+    /**
+     * The constructor defines the grid and its maximum size. Samples
+     * beyond the maximum number of cells are rejected. With a sink, the
+     * samples have to be ordered by time and the completed cells are passed
+     * to the sink instead of being buffered.
+     *
+     * @param origin The time stamp of the first grid cell.
+     * @param step The grid spacing in milliseconds.
+     * @param aggregation The aggregation of the samples within a cell.
+     * @param gapFill The filling of empty cells.
+     * @param maxCells The maximum number of grid cells.
+     * @param sink The receiver of the completed cells of an ordered stream;
+     *        or <code>null</code> to buffer the grid.
+     */
+    public Resampler(long origin, long step, Aggregation aggregation,
+            GapFill gapFill, int maxCells, Sink sink) {
+        //
+        // check input
+        //
+        if (step < 1) {
+            throw new IllegalArgumentException(ERROR_STEP);
+        }
+        if ((aggregation == null) || (gapFill == null)) {
+            throw new IllegalArgumentException(ERROR_NULL);
+        }
+        if ((maxCells < 1) || (maxCells > Integer.MAX_VALUE - 8)) {
+            throw new IllegalArgumentException(ERROR_MAX_CELLS);
+        }
+        //
+        this.origin = origin;
+        this.step = step;
+        this.aggregation = aggregation;
+        this.gapFill = gapFill;
+        this.maxCells = maxCells;
+        this.sink = sink;
+        if (sink == null) {
+            this.values = new double[Math.min(16, maxCells)];
+            this.counts = new int[this.values.length];
+            this.latest = (aggregation == Aggregation.LAST)
+                    ? new long[this.values.length] : null;
+        }
+        this.cells = 0;
+        this.lastTime = Long.MIN_VALUE;
+        this.previous = -1;
+    }
+
+    /**
+     * This method resamples a series onto a grid starting at its earliest
+     * time stamp with the default maximum number of cells.
+     *
+     * @param series The irregular series.
+     * @param step The grid spacing in milliseconds.
+     * @param aggregation The aggregation of the samples within a cell.
+     * @param gapFill The filling of empty cells.
+     * @return The resampled, equidistant series.
+     */
+    public static TimeSeries resample(TimeSeries series, long step,
+            Aggregation aggregation, GapFill gapFill) {
+        return resample(series, step, aggregation, gapFill,
+                DEFAULT_MAX_CELLS);
+    }
+
+    /**
+     * This method resamples a series onto a grid starting at its earliest
+     * time stamp. The grid size is checked before any cell is allocated. A
+     * series ordered by time is streamed into the result; i.e. only an
+     * unordered series needs the accumulators of the whole grid.
+     *
+     * @param series The irregular series.
+     * @param step The grid spacing in milliseconds.
+     * @param aggregation The aggregation of the samples within a cell.
+     * @param gapFill The filling of empty cells.
+     * @param maxCells The maximum number of grid cells.
+     * @return The resampled, equidistant series.
+     */
+    public static TimeSeries resample(TimeSeries series, long step,
+            Aggregation aggregation, GapFill gapFill, int maxCells) {
+        //
+        // check input
+        //
+        if ((series == null) || (series.size() == 0)) {
+            throw new IllegalArgumentException(ERROR_EMPTY);
+        }
+        if (step < 1) {
+            throw new IllegalArgumentException(ERROR_STEP);
+        }
+        //
+        final boolean ordered = series.isOrdered();
+        long origin = series.time(0);
+        long end = series.time(series.size() - 1);
+        if (!ordered) {
+            for (int i = 1; i < series.size(); i++) {
+                origin = Math.min(origin, series.time(i));
+                end = Math.max(end, series.time(i));
+            }
+        }
+        if (Long.divideUnsigned(end - origin, step) >= maxCells) {
+            throw new IllegalArgumentException(ERROR_SIZE);
+        }
+        //
+        if (!ordered) {
+            Resampler resampler = new Resampler(origin, step, aggregation,
+                    gapFill, maxCells, null);
+            for (int i = 0; i < series.size(); i++) {
+                resampler.add(series.time(i), series.value(i));
+            }
+            return resampler.toTimeSeries();
+        }
+        TimeSeries result = new TimeSeries();
+        Resampler resampler = new Resampler(origin, step, aggregation,
+                gapFill, maxCells, result::add);
+        for (int i = 0; i < series.size(); i++) {
+            resampler.add(series.time(i), series.value(i));
+        }
+        resampler.flush();
+        return result;
+    }
+
+    // (* \newpage *)
+    /**
+     * Adds a sample.
+     *
+     * @param time The time stamp; it must not precede the grid origin, nor
+     *        exceed the maximum number of cells, nor - in case of a stream -
+     *        precede the previous time stamp.
+     * @param value The value; non-finite values are ignored.
+     */
+    public void add(long time, double value) {
+        //
+        // check input
+        //
+        if (time < this.origin) {
+            throw new IllegalArgumentException(ERROR_ORIGIN);
+        }
+        final long cell = Long.divideUnsigned(time - this.origin, this.step);
+        if (cell >= this.maxCells) {
+            throw new IllegalArgumentException(ERROR_SIZE);
+        }
+        if (this.sink != null) {
+            if (this.flushed) {
+                throw new IllegalStateException(ERROR_FLUSHED);
+            }
+            if (time < this.lastTime) {
+                throw new IllegalArgumentException(ERROR_ORDER);
+            }
+            this.lastTime = time;
+        }
+        if (!Double.isFinite(value)) {
+            return;
+        }
+        final int index = (int) cell;
+        this.cells = Math.max(this.cells, index + 1);
+        //
+        // an ordered stream completes its current cell, as soon as a sample
+        // of a later cell arrives
+        //
+        if (this.sink != null) {
+            if ((index != this.current) && (this.currentCount > 0)) {
+                complete();
+            }
+            this.current = index;
+            this.currentValue = (this.aggregation == Aggregation.LAST) ? value
+                    : aggregate(this.currentValue, this.currentCount, value);
+            this.currentCount++;
+            return;
+        }
+        //
+        // allocate the grid cell and aggregate
+        //
+        if (index >= this.values.length) {
+            grow(index + 1);
+        }
+        final int count = this.counts[index]++;
+        if (this.aggregation != Aggregation.LAST) {
+            this.values[index] = aggregate(this.values[index], count, value);
+        } else if ((count == 0) || (time >= this.latest[index])) {
+            this.values[index] = value;
+            this.latest[index] = time;
+        }
+    }
+
+    /**
+     * Aggregates a value; the sample with the latest time stamp is selected
+     * by the caller.
+     *
+     * @param accumulated The accumulated value of the cell.
+     * @param count The number of samples accumulated so far.
+     * @param value The new value.
+     * @return The new accumulated value.
+     */
+    private double aggregate(double accumulated, int count, double value) {
+        switch (this.aggregation) {
+        case MEAN:
+        case SUM:
+            return accumulated + value;
+        case MIN:
+            return (count == 0) ? value : Math.min(accumulated, value);
+        case MAX:
+            return (count == 0) ? value : Math.max(accumulated, value);
+        default:
+            throw new IllegalStateException();
+        }
+    }
+
+    /**
+     * Passes the current cell of an ordered stream and the empty cells
+     * before it to the sink.
+     */
+    private void complete() {
+        final double value = (this.aggregation == Aggregation.MEAN)
+                ? this.currentValue / this.currentCount : this.currentValue;
+        for (int i = this.emitted; i < this.current; i++) {
+            final double filled;
+            if (this.gapFill == GapFill.NAN) {
+                filled = Double.NaN;
+            } else if (this.aggregation == Aggregation.SUM) {
+                filled = 0.0;
+            } else if ((this.previous < 0)
+                    || (this.gapFill == GapFill.PREVIOUS)) {
+                filled = (this.previous < 0) ? value : this.previousValue;
+            } else {
+                filled = this.previousValue + (value - this.previousValue)
+                        * (i - this.previous) / (this.current - this.previous);
+            }
+            this.sink.accept(this.origin + i * this.step, filled);
+        }
+        this.sink.accept(this.origin + this.current * this.step, value);
+        this.previous = this.current;
+        this.previousValue = value;
+        this.emitted = this.current + 1;
+        this.currentValue = 0.0;
+        this.currentCount = 0;
+    }
+
+    /**
+     * Completes an ordered stream; i.e. its last cell is passed to the sink.
+     * No further samples may be added.
+     */
+    public void flush() {
+        if (this.sink == null) {
+            throw new IllegalStateException(ERROR_BUFFERED);
+        }
+        if (!this.flushed && (this.currentCount > 0)) {
+            complete();
+        }
+        this.flushed = true;
+    }
+
+    private void grow(int minimum) {
+        final int capacity = (int) Math.min(this.maxCells,
+                Math.max(minimum, 2L * this.values.length));
+        this.values = Arrays.copyOf(this.values, capacity);
+        this.counts = Arrays.copyOf(this.counts, capacity);
+        if (this.latest != null) {
+            this.latest = Arrays.copyOf(this.latest, capacity);
+        }
+    }
+
+    /**
+     * The number of grid cells up to the latest sample.
+     *
+     * @return The number of grid cells.
+     */
+    public int size() {
+        return this.cells;
+    }
+
+    // (* \newpage *)
+    /**
+     * This method returns the dense, equidistant values with filled gaps.
+     *
+     * @return The values of the grid cells.
+     */
+    public double[] toArray() {
+        if (this.sink != null) {
+            throw new IllegalStateException(ERROR_STREAM);
+        }
+        double[] result = Arrays.copyOf(this.values, this.cells);
+        int previous = -1;
+        for (int i = 0; i < this.cells; i++) {
+            if (this.counts[i] == 0) {
+                continue;
+            }
+            if (this.aggregation == Aggregation.MEAN) {
+                result[i] = result[i] / this.counts[i];
+            }
+            fill(result, previous, i);
+            previous = i;
+        }
+        fill(result, previous, this.cells);
+        return result;
+    }
+
+    /**
+     * Fills the empty cells between two non-empty cells; the indices -1 and
+     * <code>cells</code> denote the grid boundaries.
+     */
+    private void fill(double[] result, int from, int to) {
+        for (int i = from + 1; i < to; i++) {
+            if (this.gapFill == GapFill.NAN) {
+                result[i] = Double.NaN;
+            } else if (this.aggregation == Aggregation.SUM) {
+                result[i] = 0.0;
+            } else if (from < 0) {
+                result[i] = (to < this.cells) ? result[to] : Double.NaN;
+            } else if ((to == this.cells)
+                    || (this.gapFill == GapFill.PREVIOUS)) {
+                result[i] = result[from];
+            } else {
+                result[i] = result[from] + (result[to] - result[from])
+                        * (i - from) / (to - from);
+            }
+        }
+    }
+
+    /**
+     * This method returns the resampled series with filled gaps.
+     *
+     * @return The equidistant, read-only series of the grid cells.
+     */
+    public TimeSeries toTimeSeries() {
+        final double[] dense = toArray();
+        long[] times = new long[dense.length];
+        for (int i = 0; i < times.length; i++) {
+            times[i] = this.origin + i * this.step;
+        }
+        return TimeSeries.wrap(times, dense);
+    }
+
+    @Override
+    public String toString() {
+        return "resampler { origin=" + this.origin + ", step=" + this.step
+                + ", aggregation=" + this.aggregation + ", gap fill="
+                + this.gapFill + ", max cells=" + this.maxCells + " }";
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    //
+    private static final String ERROR_STEP;
+    private static final String ERROR_NULL;
+    private static final String ERROR_EMPTY;
+    private static final String ERROR_ORIGIN;
+    private static final String ERROR_SIZE;
+    private static final String ERROR_MAX_CELLS;
+    private static final String ERROR_ORDER;
+    private static final String ERROR_FLUSHED;
+    private static final String ERROR_STREAM;
+    private static final String ERROR_BUFFERED;
+    //
+    static {
+        ERROR_STEP = "The grid step has to be positive.";
+        ERROR_NULL = "The parameter has to be non-null.";
+        ERROR_EMPTY = "The series has to contain at least one sample.";
+        ERROR_ORIGIN = "The time stamp precedes the grid origin.";
+        ERROR_SIZE = "The time stamp exceeds the maximum number of grid cells.";
+        ERROR_MAX_CELLS = "The maximum number of grid cells has to be positive.";
+        ERROR_ORDER = "The time stamps of a stream have to be ordered.";
+        ERROR_FLUSHED = "The stream has been flushed.";
+        ERROR_STREAM = "The cells of a stream are passed to its sink.";
+        ERROR_BUFFERED = "Only a stream can be flushed.";
+    }
+}
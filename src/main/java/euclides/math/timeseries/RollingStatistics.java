@@ -0,0 +1,386 @@
+/*
+ * Fraunhofer Austria & CGV - Java Repository
+ * 
+ *   Maintained by
+ *      Torsten Ullrich
+ *      torsten.ullrich@fraunhofer.at
+ * 
+ *   Copyright
+ *      Fraunhofer Austria Research GmbH,
+ *      Geschaeftsbereich Visual Computing Graz, Austria.
+ * 
+ *      Institut f. ComputerGraphik und WissensVisualisierung
+ *      Technische Universitaet Graz, Austria.
+ * 
+ *   This program is free software; you can redistribute it and/or
+ *   modify it under the terms of the GNU General Public License
+ *   as published by the Free Software Foundation; version 2
+ *   of the License.
+ * 
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ * 
+ */
+package euclides.math.timeseries;
+
+import euclides.math.LinAlgArrays;
+
+import java.util.Arrays;
+
+/**
+ * This class computes statistics of a sliding window in a single pass; e.g.
+ * to smooth or detrend a series before fitting a model. The window of
+ * element <code>i</code> covers the elements <code>i-w+1, ..., i</code>;
+ * the first <code>w-1</code> windows are shorter. The results are written
+ * into buffers provided by the caller, which must not alias the input.
+ * <ul>
+ * <li>Mean and variance are updated by running sums in constant time; the
+ * sums are recomputed every <code>w</code> elements to stop the
+ * accumulation of rounding errors.</li>
+ * <li>Minimum and maximum are taken from monotonic deques in amortized
+ * constant time.</li>
+ * <li>The median is taken from two indexed heaps in logarithmic time.</li>
+ * </ul>
+ *
+ * @author Torsten Ullrich
+ * @version 4.1
+ */
+public final class RollingStatistics {
+
+    /**
+     * No instances.
+     */
+    private RollingStatistics() {
+    }
+
+    /**
+     * The rolling arithmetic mean.
+     *
+     * @param yi The input values.
+     * @param window The window size <code>w</code>.
+     * @param result The output buffer of at least the size of the input.
+     */
+    public static void mean(double[] yi, int window, double[] result) {
+        final int n = check(yi, window, result);
+        //
+        double sum = 0.0;
+        int resync = 2 * window;
+        for (int i = 0; i < n; i++) {
+            sum += yi[i];
+            if (i >= window) {
+                sum -= yi[i - window];
+                if (--resync == window) {
+                    resync = 2 * window;
+                    sum = 0.0;
+                    for (int j = i - window + 1; j <= i; j++) {
+                        sum += yi[j];
+                    }
+                }
+            }
+            result[i] = sum / Math.min(i + 1, window);
+        }
+    }
+
+    /**
+     * The rolling sample variance. The running sums are updated in the manner
+     * of Welford to avoid cancellation; windows of a single element have the
+     * variance <code>0.0</code>.
+     *
+     * @param yi The input values.
+     * @param window The window size <code>w</code>.
+     * @param result The output buffer of at least the size of the input.
+     */
+    public static void variance(double[] yi, int window, double[] result) {
+        final int n = check(yi, window, result);
+        //
+        double mean = 0.0;
+        double m2 = 0.0;
+        int resync = 2 * window;
+        for (int i = 0; i < n; i++) {
+            final double y = yi[i];
+            if (i < window) {
+                //
+                // growing window
+                //
+                final double delta = y - mean;
+                mean += delta / (i + 1);
+                m2 += delta * (y - mean);
+            } else {
+                //
+                // sliding window: replace the oldest element
+                //
+                final double old = yi[i - window];
+                final double oldMean = mean;
+                mean += (y - old) / window;
+                m2 += (y - old) * (y - mean + old - oldMean);
+                if (--resync == window) {
+                    //
+                    // resynchronize by the two-pass algorithm
+                    //
+                    resync = 2 * window;
+                    mean = 0.0;
+                    for (int j = i - window + 1; j <= i; j++) {
+                        mean += yi[j];
+                    }
+                    mean = mean / window;
+                    m2 = 0.0;
+                    for (int j = i - window + 1; j <= i; j++) {
+                        m2 += (yi[j] - mean) * (yi[j] - mean);
+                    }
+                }
+            }
+            final int count = Math.min(i + 1, window);
+            result[i] = (count > 1) ? Math.max(0.0, m2) / (count - 1) : 0.0;
+        }
+    }
+
+    // (* \newpage *)
+    /**
+     * The rolling minimum.
+     *
+     * @param yi The input values.
+     * @param window The window size <code>w</code>.
+     * @param result The output buffer of at least the size of the input.
+     */
+    public static void min(double[] yi, int window, double[] result) {
+        extremum(yi, window, result, false);
+    }
+
+    /**
+     * The rolling maximum.
+     *
+     * @param yi The input values.
+     * @param window The window size <code>w</code>.
+     * @param result The output buffer of at least the size of the input.
+     */
+    public static void max(double[] yi, int window, double[] result) {
+        extremum(yi, window, result, true);
+    }
+
+    private static void extremum(double[] yi, int window, double[] result,
+            boolean max) {
+        final int n = check(yi, window, result);
+        //
+        // the deque holds the indices of the candidates in a ring buffer; their
+        // values are monotonic, so that the front is the extremum
+        //
+        final int capacity = Math.min(window, n);
+        int[] deque = new int[capacity];
+        int head = 0;
+        int size = 0;
+        for (int i = 0; i < n; i++) {
+            final double y = yi[i];
+            //
+            // remove the front, if it left the window
+            //
+            if ((size > 0) && (deque[head] <= i - window)) {
+                head = (head + 1 == capacity) ? 0 : head + 1;
+                size--;
+            }
+            //
+            // remove the candidates dominated by the new value
+            //
+            while (size > 0) {
+                int tail = head + size - 1;
+                if (tail >= capacity) {
+                    tail -= capacity;
+                }
+                final double last = yi[deque[tail]];
+                if (max ? (last > y) : (last < y)) {
+                    break;
+                }
+                size--;
+            }
+            int tail = head + size;
+            if (tail >= capacity) {
+                tail -= capacity;
+            }
+            deque[tail] = i;
+            size++;
+            //
+            result[i] = yi[deque[head]];
+        }
+    }
+
+    // (* \newpage *)
+    /**
+     * The rolling median; windows of even size yield the mean of both middle
+     * elements.
+     *
+     * @param yi The input values.
+     * @param window The window size <code>w</code>.
+     * @param result The output buffer of at least the size of the input.
+     */
+    public static void median(double[] yi, int window, double[] result) {
+        final int n = check(yi, window, result);
+        //
+        // the lower half is kept in a max-heap, the upper half in a min-heap;
+        // the lower half has the same size or one element more. Both heaps
+        // refer to the slots of a ring buffer holding the window.
+        //
+        final int capacity = Math.min(window, n);
+        double[] ring = new double[capacity];
+        IndexedHeap lower = new IndexedHeap(ring, true);
+        IndexedHeap upper = new IndexedHeap(ring, false);
+        int slot = 0;
+        for (int i = 0; i < n; i++) {
+            //
+            // remove the element leaving the window
+            //
+            if (i >= window) {
+                if (!lower.remove(slot)) {
+                    upper.remove(slot);
+                }
+            }
+            //
+            // insert the new element
+            //
+            ring[slot] = yi[i];
+            if ((lower.size == 0) || (yi[i] <= lower.top())) {
+                lower.push(slot);
+            } else {
+                upper.push(slot);
+            }
+            slot = (slot + 1 == capacity) ? 0 : slot + 1;
+            //
+            // rebalance
+            //
+            if (lower.size > upper.size + 1) {
+                upper.push(lower.pop());
+            } else if (upper.size > lower.size) {
+                lower.push(upper.pop());
+            }
+            //
+            result[i] = (lower.size > upper.size) ? lower.top()
+                    : 0.5 * (lower.top() + upper.top());
+        }
+    }
+
+    private static int check(double[] yi, int window, double[] result) {
+        final int n = LinAlgArrays.check(yi);
+        if (window < 1) {
+            throw new IllegalArgumentException(ERROR_WINDOW);
+        }
+        if ((result == null) || (result.length < n)) {
+            throw new IllegalArgumentException(ERROR_RESULT);
+        }
+        if (result == yi) {
+            throw new IllegalArgumentException(ERROR_ALIAS);
+        }
+        return n;
+    }
+
+    // (* \newpage *)
+    /**
+     * A binary heap of ring buffer slots, ordered by their values. The heap
+     * position of each slot is tracked, so that any slot can be removed in
+     * logarithmic time.
+     */
+    private static final class IndexedHeap {
+        private final double[] values;
+        private final boolean max;
+        private final int[] heap;
+        private final int[] position;
+        private int size;
+
+        IndexedHeap(double[] values, boolean max) {
+            this.values = values;
+            this.max = max;
+            this.heap = new int[values.length];
+            this.position = new int[values.length];
+            Arrays.fill(this.position, -1);
+            this.size = 0;
+        }
+
+        double top() {
+            return this.values[this.heap[0]];
+        }
+
+        void push(int slot) {
+            this.heap[this.size] = slot;
+            this.position[slot] = this.size;
+            this.size++;
+            up(this.size - 1);
+        }
+
+        int pop() {
+            final int slot = this.heap[0];
+            removeAt(0);
+            return slot;
+        }
+
+        boolean remove(int slot) {
+            final int at = this.position[slot];
+            if (at < 0) {
+                return false;
+            }
+            removeAt(at);
+            return true;
+        }
+
+        private void removeAt(int at) {
+            this.position[this.heap[at]] = -1;
+            this.size--;
+            if (at == this.size) {
+                return;
+            }
+            this.heap[at] = this.heap[this.size];
+            this.position[this.heap[at]] = at;
+            down(at);
+            up(at);
+        }
+
+        private boolean before(int a, int b) {
+            final double va = this.values[this.heap[a]];
+            final double vb = this.values[this.heap[b]];
+            return this.max ? (va > vb) : (va < vb);
+        }
+
+        private void swap(int a, int b) {
+            final int t = this.heap[a];
+            this.heap[a] = this.heap[b];
+            this.heap[b] = t;
+            this.position[this.heap[a]] = a;
+            this.position[this.heap[b]] = b;
+        }
+
+        private void up(int at) {
+            while ((at > 0) && before(at, (at - 1) / 2)) {
+                swap(at, (at - 1) / 2);
+                at = (at - 1) / 2;
+            }
+        }
+
+        private void down(int at) {
+            while (true) {
+                final int left = 2 * at + 1;
+                if (left >= this.size) {
+                    return;
+                }
+                int child = left;
+                if ((left + 1 < this.size) && before(left + 1, left)) {
+                    child = left + 1;
+                }
+                if (!before(child, at)) {
+                    return;
+                }
+                swap(at, child);
+                at = child;
+            }
+        }
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    //
+    private static final String ERROR_WINDOW;
+    private static final String ERROR_RESULT;
+    private static final String ERROR_ALIAS;
+    //
+    static {
+        ERROR_WINDOW = "The window size has to be positive.";
+        ERROR_RESULT = "The result buffer is too small.";
+        ERROR_ALIAS = "The result buffer must not be the input.";
+    }
+}
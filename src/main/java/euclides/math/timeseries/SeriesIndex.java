@@ -0,0 +1,313 @@
+/*
+ * Fraunhofer Austria & CGV - Java Repository
+ * 
+ *   Maintained by
+ *      Torsten Ullrich
+ *      torsten.ullrich@fraunhofer.at
+ * 
+ *   Copyright
+ *      Fraunhofer Austria Research GmbH,
+ *      Geschaeftsbereich Visual Computing Graz, Austria.
+ * 
+ *      Institut f. ComputerGraphik und WissensVisualisierung
+ *      Technische Universitaet Graz, Austria.
+ * 
+ *   This program is free software; you can redistribute it and/or
+ *   modify it under the terms of the GNU General Public License
+ *   as published by the Free Software Foundation; version 2
+ *   of the License.
+ * 
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ * 
+ */
+package euclides.math.timeseries;
+
+import java.util.Arrays;
+
+/**
+ * The series index holds prefix sums of the values <code>y</code>, the
+ * products <code>i y</code> and the squares <code>y^2</code>, so that the
+ * constant and the linear regression of any range <code>[from, to)</code>
+ * are determined in constant time; e.g. to fit the visible window of a
+ * chart while panning and zooming. The prefix sums are kept in
+ * double-double precision and the values are shifted by the first value,
+ * which avoids the cancellation of large prefix sums. The index grows by
+ * appending values.
+ *
+ * @author Torsten Ullrich
+ * @version 4.1
+ */
+public final class SeriesIndex {
+
+    /**
+     * The prefix sums; element <code>k</code> holds the sum over the first
+     * <code>k</code> shifted values as unevaluated sum <code>hi + lo</code>.
+     */
+    private double[] sumHi;
+    private double[] sumLo;
+    private double[] productHi;
+    private double[] productLo;
+    private double[] squareHi;
+    private double[] squareLo;
+    private int size;
+    private double shift;
+
+    /**
+     * The constructor creates an empty index.
+     */
+    public SeriesIndex() {
+        this.sumHi = new double[17];
+        this.sumLo = new double[17];
+        this.productHi = new double[17];
+        this.productLo = new double[17];
+        this.squareHi = new double[17];
+        this.squareLo = new double[17];
+        this.size = 0;
+        this.shift = 0.0;
+    }
+
+    /**
+     * The constructor indexes the given values.
+     *
+     * @param yi The values with the indices <code>0, 1, 2, ...</code>.
+     */
+    public SeriesIndex(double[] yi) {
+        this();
+        for (double y : yi) {
+            add(y);
+        }
+    }
+
+    /**
+     * Appends a value.
+     *
+     * @param y The value with the index <code>size()</code>.
+     */
+    public void add(double y) {
+        //
+        // check input
+        //
+        if (!Double.isFinite(y)) {
+            throw new IllegalArgumentException(ERROR_NON_FINITE);
+        }
+        //
+        if (this.size == 0) {
+            this.shift = y;
+        }
+        if (this.size + 1 == this.sumHi.length) {
+            final int capacity = 2 * this.sumHi.length;
+            this.sumHi = Arrays.copyOf(this.sumHi, capacity);
+            this.sumLo = Arrays.copyOf(this.sumLo, capacity);
+            this.productHi = Arrays.copyOf(this.productHi, capacity);
+            this.productLo = Arrays.copyOf(this.productLo, capacity);
+            this.squareHi = Arrays.copyOf(this.squareHi, capacity);
+            this.squareLo = Arrays.copyOf(this.squareLo, capacity);
+        }
+        final double z = y - this.shift;
+        final int k = this.size;
+        final double product = k * z;
+        final double square = z * z;
+        accumulate(this.sumHi, this.sumLo, k, z, 0.0);
+        accumulate(this.productHi, this.productLo, k, product,
+                twoProductError(k, z, product));
+        accumulate(this.squareHi, this.squareLo, k, square,
+                twoProductError(z, z, square));
+        this.size++;
+    }
+
+    /**
+     * Error-free transformation (two-sum) of a prefix sum and a summand
+     * <code>value + error</code>.
+     */
+    private static void accumulate(double[] hi, double[] lo, int k,
+            double value, double error) {
+        final double a = hi[k];
+        final double s = a + value;
+        final double v = s - a;
+        hi[k + 1] = s;
+        lo[k + 1] = lo[k] + ((a - (s - v)) + (value - v)) + error;
+    }
+
+    /**
+     * The sum over a range of the shifted values, the products or the
+     * squares; the returned value is rounded to double precision.
+     */
+    private static double range(double[] hi, double[] lo, int from, int to) {
+        return (hi[to] - hi[from]) + (lo[to] - lo[from]);
+    }
+
+    /**
+     * The difference <code>A - c B</code> of the range sums <code>A</code>
+     * and <code>B</code>, evaluated in double-double arithmetic, as both
+     * terms may be orders of magnitude larger than their difference.
+     */
+    private static double difference(double[] aHi, double[] aLo,
+            double[] bHi, double[] bLo, int from, int to, double c) {
+        //
+        // B = bh + bl; its product with c as unevaluated sum p + e
+        //
+        final double bh = bHi[to] - bHi[from];
+        final double bl = (bLo[to] - bLo[from])
+                + twoDifferenceError(bHi[to], bHi[from], bh);
+        final double p = c * bh;
+        final double e = twoProductError(c, bh, p) + c * bl;
+        //
+        // A = ah + al
+        //
+        final double ah = aHi[to] - aHi[from];
+        final double al = (aLo[to] - aLo[from])
+                + twoDifferenceError(aHi[to], aHi[from], ah);
+        //
+        final double d = ah - p;
+        return d + (twoDifferenceError(ah, p, d) + al - e);
+    }
+
+    /**
+     * The rounding error of <code>d = a - b</code> (two-difference).
+     */
+    private static double twoDifferenceError(double a, double b, double d) {
+        final double v = a - d;
+        return (a - (d + v)) - (b - v);
+    }
+
+    /**
+     * The rounding error of <code>p = a b</code> (Dekker's product with
+     * Veltkamp's splitting).
+     */
+    private static double twoProductError(double a, double b, double p) {
+        double t = SPLITTER * a;
+        final double ah = t - (t - a);
+        final double al = a - ah;
+        t = SPLITTER * b;
+        final double bh = t - (t - b);
+        final double bl = b - bh;
+        return ((ah * bh - p) + ah * bl + al * bh) + al * bl;
+    }
+
+    /**
+     * The number of indexed values.
+     *
+     * @return The number of values.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    // (* \newpage *)
+    /**
+     * The arithmetic mean of a range.
+     *
+     * @param from The first index (inclusive).
+     * @param to The last index (exclusive).
+     * @return The mean of the values.
+     */
+    public double mean(int from, int to) {
+        final int n = check(from, to, 1);
+        return this.shift + range(this.sumHi, this.sumLo, from, to) / n;
+    }
+
+    /**
+     * The sample variance of a range.
+     *
+     * @param from The first index (inclusive).
+     * @param to The last index (exclusive).
+     * @return The variance of the values.
+     */
+    public double variance(int from, int to) {
+        final int n = check(from, to, 2);
+        final double mz = range(this.sumHi, this.sumLo, from, to) / n;
+        return Math.max(0.0, centered(from, to, mz)) / (n - 1);
+    }
+
+    /**
+     * The constant regression of a range.
+     *
+     * @param model The model to initialize.
+     * @param from The first index (inclusive).
+     * @param to The last index (exclusive).
+     * @return Coefficient of determination (see
+     *         <code>ConstantRegression.init</code>).
+     */
+    public double fit(ConstantRegression model, int from, int to) {
+        check(from, to, model.modelRequirements());
+        model.setParameters(mean(from, to));
+        return 0.0;
+    }
+
+    /**
+     * The simple linear regression of a range. The implicit indices of the
+     * range are <code>-k, ... ,-2, -1, 0</code> as for
+     * <code>SimpleLinearRegression.init</code>.
+     *
+     * @param model The model to initialize.
+     * @param from The first index (inclusive).
+     * @param to The last index (exclusive).
+     * @return Coefficient of determination.
+     */
+    public double fit(SimpleLinearRegression model, int from, int to) {
+        final int n = check(from, to, model.modelRequirements());
+        //
+        // sums with respect to the range position t = i - from
+        //
+        final double sz = range(this.sumHi, this.sumLo, from, to);
+        //
+        // co-moments; the positions 0, ..., n-1 have the mean (n-1)/2, i.e.
+        // the absolute index mean is from + (n-1)/2
+        //
+        final double mt = 0.5 * (n - 1);
+        final double ctt = n * ((double) n * n - 1) / 12.0;
+        final double ctz = difference(this.productHi, this.productLo,
+                this.sumHi, this.sumLo, from, to, from + mt);
+        final double czz = centered(from, to, sz / n);
+        //
+        // the last position t = n - 1 corresponds to the implicit index 0
+        //
+        final double beta = ctz / ctt;
+        final double alpha = this.shift + sz / n + beta * (n - 1 - mt);
+        model.setParameters(alpha, beta);
+        //
+        if (czz <= 0) {
+            return Double.NaN;
+        }
+        return Math.min(1.0, (ctz * ctz) / (ctt * czz));
+    }
+
+    /**
+     * The centered sum of squares <code>sum (z - m)^2 = Q - m S - m (S - n
+     * m)</code> with respect to an approximate mean <code>m</code>.
+     */
+    private double centered(int from, int to, double m) {
+        final double s = range(this.sumHi, this.sumLo, from, to);
+        return difference(this.squareHi, this.squareLo, this.sumHi,
+                this.sumLo, from, to, m) - m * (s - (to - from) * m);
+    }
+
+    private int check(int from, int to, int requirements) {
+        if ((from < 0) || (to > this.size) || (from > to)) {
+            throw new IndexOutOfBoundsException(
+                    "range [" + from + ", " + to + ") of " + this.size);
+        }
+        if (to - from < requirements) {
+            throw new IllegalArgumentException("not enough initial values");
+        }
+        return to - from;
+    }
+
+    @Override
+    public String toString() {
+        return "series index { size=" + this.size + " }";
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    //
+    private static final double SPLITTER = 134217729.0;
+    //
+    private static final String ERROR_NON_FINITE;
+    //
+    static {
+        ERROR_NON_FINITE = "The value has to be finite.";
+    }
+}
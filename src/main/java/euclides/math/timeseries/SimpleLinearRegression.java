@@ -28,6 +28,10 @@ package euclides.math.timeseries;
 import static euclides.math.LinAlgArrays.check;
 import static euclides.math.LinAlgArrays.vector;
 
+import euclides.math.OffHeapVector;
+
+import java.util.PrimitiveIterator;
+
 /**
  * Simple Linear Regression.
  *
@@ -52,6 +56,18 @@ public final class SimpleLinearRegression implements Model {
         return 2;
     }
 
+    /**
+     * Direct initialization by the model parameters; e.g. from a series
+     * index.
+     *
+     * @param alpha The value at the implicit index <code>0</code>.
+     * @param beta The slope.
+     */
+    void setParameters(double alpha, double beta) {
+        this.alpha = alpha;
+        this.beta = beta;
+    }
+
     @Override
     public double init(double[] yi) {
         //
@@ -87,6 +103,125 @@ public final class SimpleLinearRegression implements Model {
         return Model.coefficientOfDetermination(yi, fi);
     }
 
+    @Override
+    public double init(OffHeapVector yi) {
+        //
+        // check input
+        //
+        if (yi == null) {
+            throw new IllegalArgumentException("argument has to be non-null");
+        }
+        final int datasize = yi.check();
+        if (datasize < modelRequirements()) {
+            throw new IllegalArgumentException("not enough initial values");
+        }
+        //
+        // estimate model parameter without copying the data; the implicit
+        // indices are xi = i + 1 - datasize
+        //
+        double sx = 0.0;
+        double sy = 0.0;
+        double sxx = 0.0;
+        double sxy = 0.0;
+        for (int i = 0; i < datasize; i++) {
+            final double x = i + 1 - datasize;
+            final double y = yi.get(i);
+            sx += x;
+            sy += y;
+            sxx += x * x;
+            sxy += x * y;
+        }
+        this.beta = (datasize * sxy - sx * sy) / (datasize * sxx - sx * sx);
+        this.alpha = sy / datasize - this.beta * sx / datasize;
+        //
+        // coefficient of determination in a second pass
+        //
+        final double meanY = sy / datasize;
+        double tot = 0.0;
+        double res = 0.0;
+        for (int i = 0; i < datasize; i++) {
+            final double y = yi.get(i);
+            final double f = eval(i + 1 - datasize);
+            tot = tot + (y - meanY) * (y - meanY);
+            res = res + (y - f) * (y - f);
+        }
+        if (tot == 0) {
+            return Double.NaN;
+        }
+        return 1 - res / tot;
+    }
+
+    /**
+     * The values of a time series are read in place by
+     * <code>init(PrimitiveIterator.OfDouble)</code> without copying them.
+     *
+     * @param series The input data with the implicit indices
+     *        <code>-k, ... ,-2, -1, 0</code>.
+     * @return Coefficient of determination.
+     */
+    @Override
+    public double init(TimeSeries series) {
+        //
+        // check input
+        //
+        if (series == null) {
+            throw new IllegalArgumentException("argument has to be non-null");
+        }
+        //
+        return init(series.valueIterator());
+    }
+
+    @Override
+    public double init(PrimitiveIterator.OfDouble yi) {
+        //
+        // check input
+        //
+        if (yi == null) {
+            throw new IllegalArgumentException("argument has to be non-null");
+        }
+        //
+        // accumulate running means and co-moments with respect to the
+        // stream position t = 0, 1, ... as the length is not known yet
+        //
+        long datasize = 0;
+        double mt = 0.0;
+        double my = 0.0;
+        double ctt = 0.0;
+        double cty = 0.0;
+        double cyy = 0.0;
+        while (yi.hasNext()) {
+            final double y = yi.nextDouble();
+            if (!Double.isFinite(y)) {
+                throw new IllegalArgumentException("non-finite initial value");
+            }
+            final double t = datasize;
+            datasize++;
+            final double dt = t - mt;
+            final double dy = y - my;
+            mt += dt / datasize;
+            my += dy / datasize;
+            ctt += dt * (t - mt);
+            cty += dt * (y - my);
+            cyy += dy * (y - my);
+        }
+        if (datasize < modelRequirements()) {
+            throw new IllegalArgumentException("not enough initial values");
+        }
+        //
+        // estimate model parameters; the last position t = datasize - 1
+        // corresponds to the implicit index x = 0
+        //
+        this.beta = cty / ctt;
+        this.alpha = my + this.beta * (datasize - 1 - mt);
+        //
+        // coefficient of determination from the co-moments
+        //
+        if (cyy == 0) {
+            return Double.NaN;
+        }
+        return (cty * cty) / (ctt * cyy);
+    }
+
     @Override
     public double eval(double x) {
         return this.alpha + x * this.beta;
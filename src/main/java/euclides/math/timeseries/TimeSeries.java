@@ -0,0 +1,283 @@
+/*
+ * Fraunhofer Austria & CGV - Java Repository
+ * 
+ *   Maintained by
+ *      Torsten Ullrich
+ *      torsten.ullrich@fraunhofer.at
+ * 
+ *   Copyright
+ *      Fraunhofer Austria Research GmbH,
+ *      Geschaeftsbereich Visual Computing Graz, Austria.
+ * 
+ *      Institut f. ComputerGraphik und WissensVisualisierung
+ *      Technische Universitaet Graz, Austria.
+ * 
+ *   This program is free software; you can redistribute it and/or
+ *   modify it under the terms of the GNU General Public License
+ *   as published by the Free Software Foundation; version 2
+ *   of the License.
+ * 
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ * 
+ */
+package euclides.math.timeseries;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * A time series stored column by column; i.e. as parallel primitive arrays of
+ * time stamps (milliseconds since the epoch) and values. A series grows by
+ * appending samples with amortized doubling of its capacity. Slices are views
+ * sharing the storage of their origin; as a series is append-only, a view
+ * keeps referring to the same samples, even if its origin grows.
+ *
+ * @author Torsten Ullrich
+ * @version 4.1
+ */
+public final class TimeSeries {
+
+    /**
+     * The storage and the range of this series within the storage.
+     */
+    private long[] epochMillis;
+    private double[] values;
+    private final int offset;
+    private int size;
+    private final boolean view;
+
+    /**
+     * The constructor creates an empty, growable series.
+     */
+    public TimeSeries() {
+        this(16);
+    }
+
+    /**
+     * The constructor creates an empty, growable series.
+     *
+     * @param capacity The initial capacity.
+     */
+    public TimeSeries(int capacity) {
+        //
+        // check input
+        //
+        if (capacity < 1) {
+            throw new IllegalArgumentException("argument has to be positive");
+        }
+        //
+        this.epochMillis = new long[capacity];
+        this.values = new double[capacity];
+        this.offset = 0;
+        this.size = 0;
+        this.view = false;
+    }
+
+    private TimeSeries(long[] epochMillis, double[] values, int offset,
+            int size) {
+        this.epochMillis = epochMillis;
+        this.values = values;
+        this.offset = offset;
+        this.size = size;
+        this.view = true;
+    }
+
+    /**
+     * This method wraps existing arrays without copying them. The arrays must
+     * not be modified afterwards.
+     *
+     * @param epochMillis The time stamps.
+     * @param values The values.
+     * @return A read-only series view of the arrays.
+     */
+    public static TimeSeries wrap(long[] epochMillis, double[] values) {
+        //
+        // check input
+        //
+        if ((epochMillis == null) || (values == null)
+                || (epochMillis.length != values.length)) {
+            throw new IllegalArgumentException(
+                    "arguments must have the same dimension");
+        }
+        //
+        return new TimeSeries(epochMillis, values, 0, values.length);
+    }
+
+    /**
+     * This method creates a series with the implicit time stamps
+     * <code>0, 1, 2, ...</code>.
+     *
+     * @param values The values.
+     * @return A read-only series view of the values.
+     */
+    public static TimeSeries ofValues(double[] values) {
+        //
+        // check input
+        //
+        if (values == null) {
+            throw new IllegalArgumentException("argument has to be non-null");
+        }
+        //
+        long[] epochMillis = new long[values.length];
+        for (int i = 0; i < epochMillis.length; i++) {
+            epochMillis[i] = i;
+        }
+        return new TimeSeries(epochMillis, values, 0, values.length);
+    }
+
+    // (* \newpage *)
+    /**
+     * Appends a sample.
+     *
+     * @param time The time stamp in milliseconds since the epoch.
+     * @param value The value.
+     */
+    public void add(long time, double value) {
+        //
+        // views share their storage and cannot grow
+        //
+        if (this.view) {
+            throw new UnsupportedOperationException("series is a view");
+        }
+        //
+        // grow by amortized doubling
+        //
+        if (this.size == this.values.length) {
+            final int capacity = Math.max(16, 2 * this.size);
+            this.epochMillis = Arrays.copyOf(this.epochMillis, capacity);
+            this.values = Arrays.copyOf(this.values, capacity);
+        }
+        this.epochMillis[this.size] = time;
+        this.values[this.size] = value;
+        this.size++;
+    }
+
+    /**
+     * The number of samples.
+     *
+     * @return The number of samples.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Time stamp access.
+     *
+     * @param index The sample index.
+     * @return The time stamp in milliseconds since the epoch.
+     */
+    public long time(int index) {
+        checkIndex(index);
+        return this.epochMillis[this.offset + index];
+    }
+
+    /**
+     * Value access.
+     *
+     * @param index The sample index.
+     * @return The value.
+     */
+    public double value(int index) {
+        checkIndex(index);
+        return this.values[this.offset + index];
+    }
+
+    /**
+     * A zero-copy view of a range of samples.
+     *
+     * @param from The first sample index (inclusive).
+     * @param to The last sample index (exclusive).
+     * @return A read-only view sharing the storage of this series.
+     */
+    public TimeSeries slice(int from, int to) {
+        //
+        // check input
+        //
+        if ((from < 0) || (to > this.size) || (from > to)) {
+            throw new IndexOutOfBoundsException(
+                    "range [" + from + ", " + to + ") of " + this.size);
+        }
+        //
+        return new TimeSeries(this.epochMillis, this.values,
+                this.offset + from, to - from);
+    }
+
+    /**
+     * Checks whether the time stamps are non-decreasing.
+     *
+     * @return True, if the time stamps are ordered.
+     */
+    public boolean isOrdered() {
+        for (int i = this.offset + 1; i < this.offset + this.size; i++) {
+            if (this.epochMillis[i - 1] > this.epochMillis[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * This method copies the time stamps.
+     *
+     * @return An array of the time stamps.
+     */
+    public long[] times() {
+        return Arrays.copyOfRange(this.epochMillis, this.offset,
+                this.offset + this.size);
+    }
+
+    /**
+     * A sequential reader of the values in place; e.g. to be passed to
+     * <code>Model.init(PrimitiveIterator.OfDouble)</code>. The iterator
+     * covers the samples appended before its creation.
+     *
+     * @return An iterator over the values.
+     */
+    public PrimitiveIterator.OfDouble valueIterator() {
+        final double[] storage = this.values;
+        final int end = this.offset + this.size;
+        return new PrimitiveIterator.OfDouble() {
+            private int index = TimeSeries.this.offset;
+
+            @Override
+            public boolean hasNext() {
+                return this.index < end;
+            }
+
+            @Override
+            public double nextDouble() {
+                if (this.index >= end) {
+                    throw new NoSuchElementException();
+                }
+                return storage[this.index++];
+            }
+        };
+    }
+
+    /**
+     * This method copies the values; e.g. to initialize a model.
+     *
+     * @return An array of the values.
+     */
+    public double[] values() {
+        return Arrays.copyOfRange(this.values, this.offset,
+                this.offset + this.size);
+    }
+
+    private void checkIndex(int index) {
+        if ((index < 0) || (index >= this.size)) {
+            throw new IndexOutOfBoundsException(
+                    "index " + index + " of " + this.size);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "time series { size=" + this.size + " }";
+    }
+}
@@ -0,0 +1,214 @@
+package org.dataAnalysis;
+
+import euclides.math.timeseries.Cancellation;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+public class AdmissionController {
+    public enum CostClass {
+        SMALL, MEDIUM, LARGE
+    }
+
+    // estimated floating point operations of a fit
+    static final long SMALL_COST = 10_000_000L;
+    static final long MEDIUM_COST = 1_000_000_000L;
+    static final long MAX_COST = 100_000_000_000L;
+
+    private final Lane[] lanes;
+
+    public AdmissionController() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public AdmissionController(int processors) {
+        this(new Lane(processors, 64 * processors, 2_000),
+                new Lane(Math.max(1, processors / 2), 8 * processors, 15_000),
+                new Lane(Math.max(1, processors / 4), Math.max(2, processors), 60_000));
+    }
+
+    AdmissionController(Lane small, Lane medium, Lane large) {
+        this.lanes = new Lane[] {small, medium, large};
+    }
+
+    public static long estimateCost(ForecastRequest request) {
+        return saturate(fitCost(request) + forecastCost(request, 0));
+    }
+
+    public static long estimateForecastCost(ForecastRequest request, int forecastLength) {
+        return saturate(forecastCost(request, forecastLength));
+    }
+
+    private static long saturate(double cost) {
+        return cost >= Long.MAX_VALUE ? Long.MAX_VALUE : (long) cost;
+    }
+
+    // init, scoring and in-sample fit of the models as implemented; the lag matrices slide their Gram matrix
+    // in O(n k + k^2), the polynomial regression multiplies its Vandermonde matrix in O(n k^2)
+    private static double fitCost(ForecastRequest request) {
+        double n = request.getValues().length;
+        int[] parameters = request.getParameters();
+        return switch (request.getRegression()) {
+            case "constRegression", "simpleLinearRegression" -> 3 * n;
+            case "polynomialRegression" -> polynomialCost(n, parameters[0] + 1);
+            case "autoRegression" -> autoRegressionCost(n, parameters[0]);
+            case "autoRegressionMovingAverage" -> movingAverageCost(n, parameters[0], parameters[1]);
+            case "autoRegressionIntegratedAverage" -> n * parameters[1] + (parameters[2] == 0
+                    ? autoRegressionCost(n, parameters[0])
+                    : movingAverageCost(n, parameters[0], parameters[2]));
+            default -> throw new IllegalArgumentException(Messages.ERROR_UNKNOWN_REGRESSION);
+        };
+    }
+
+    // Vandermonde matrix and its transpose, normal equations, Cholesky solve, scoring and in-sample fit
+    private static double polynomialCost(double n, double k) {
+        return n * (k * k + 5 * k) + k * k * k / 3;
+    }
+
+    // Hankel Gram matrix and target product, Cholesky solve, free-running scoring
+    private static double autoRegressionCost(double n, double p) {
+        p = Math.max(1, p);
+        return 3 * n * p + p * p + p * p * p / 3;
+    }
+
+    // Hannan-Rissanen: the AR step and its residuals, then the blocked normal equations with the cross product
+    // of the value and residual lags, the Cholesky solve of order p + q and the free-running scoring
+    private static double movingAverageCost(double n, double p, double q) {
+        return autoRegressionCost(n, p) + n * (3 * p + 3 * q + p * q + 1) + (p + q) * (p + q) * (p + q) / 3;
+    }
+
+    // the recursive models evaluate each forecast step from the start, i.e. O(x k) per step x; the
+    // integrated model additionally sums all previous steps of its inner model, i.e. O(x^2 k) per step
+    private static double forecastCost(ForecastRequest request, int from) {
+        double to = request.getHorizon();
+        double start = Math.min(from, to);
+        int[] parameters = request.getParameters();
+        return switch (request.getRegression()) {
+            case "constRegression", "simpleLinearRegression" -> to - start;
+            case "polynomialRegression" -> (to - start) * (parameters[0] + 1);
+            case "autoRegression" -> parameters[0] * (to * to - start * start) / 2;
+            case "autoRegressionMovingAverage" -> (parameters[0] + parameters[1]) * (to * to - start * start) / 2;
+            case "autoRegressionIntegratedAverage" ->
+                    (parameters[0] + parameters[2]) * (to * to * to - start * start * start) / 6;
+            default -> throw new IllegalArgumentException(Messages.ERROR_UNKNOWN_REGRESSION);
+        };
+    }
+
+    public static CostClass classify(long cost) {
+        if (cost > MAX_COST) {
+            throw new IllegalArgumentException(Messages.ERROR_FIT_TOO_EXPENSIVE);
+        }
+        if (cost <= SMALL_COST) {
+            return CostClass.SMALL;
+        }
+        return cost <= MEDIUM_COST ? CostClass.MEDIUM : CostClass.LARGE;
+    }
+
+    public <T> T admit(ForecastRequest request, BiFunction<ForecastRequest, Cancellation, T> fit) {
+        return admit(estimateCost(request), cancellation -> fit.apply(request, cancellation));
+    }
+
+    // the deadline of the work covers both the wait for a slot and the work itself
+    public <T> T admit(long cost, Function<Cancellation, T> work) {
+        Lane lane = lanes[classify(cost).ordinal()];
+        long deadline = System.nanoTime() + lane.deadlineNanos;
+        lane.acquire(deadline);
+        try {
+            return work.apply(Cancellation.deadline(deadline));
+        } finally {
+            lane.permits.release();
+        }
+    }
+
+    // the asynchronous counterpart of admit: the task waits in the bounded executor of its cost class
+    // instead of blocking a shared thread, so that waiting large fits never hold the threads of small ones
+    public void execute(ForecastRequest request, Runnable task) {
+        lanes[classify(estimateCost(request)).ordinal()].execute(task);
+    }
+
+    public void shutdown() {
+        for (Lane lane : lanes) {
+            lane.executor.shutdown();
+        }
+    }
+
+    public long getAdmitted(CostClass costClass) {
+        return lanes[costClass.ordinal()].admitted.get();
+    }
+
+    public long getRejected(CostClass costClass) {
+        return lanes[costClass.ordinal()].rejected.get();
+    }
+
+    public long getTimedOut(CostClass costClass) {
+        return lanes[costClass.ordinal()].timedOut.get();
+    }
+
+    public int getWaiting(CostClass costClass) {
+        return lanes[costClass.ordinal()].waiting.get();
+    }
+
+    static final class Lane {
+        private static final long KEEP_ALIVE_SECONDS = 60;
+
+        private final Semaphore permits;
+        private final ThreadPoolExecutor executor;
+        private final int queueCapacity;
+        private final long deadlineNanos;
+        private final AtomicInteger waiting = new AtomicInteger();
+        private final AtomicLong admitted = new AtomicLong();
+        private final AtomicLong rejected = new AtomicLong();
+        private final AtomicLong timedOut = new AtomicLong();
+
+        Lane(int concurrency, int queueCapacity, long deadlineMillis) {
+            if (concurrency < 1 || queueCapacity < 0 || deadlineMillis < 1) {
+                throw new IllegalArgumentException(Messages.ERROR_QUEUE_CAPACITY);
+            }
+            this.permits = new Semaphore(concurrency, true);
+            this.queueCapacity = queueCapacity;
+            this.deadlineNanos = TimeUnit.MILLISECONDS.toNanos(deadlineMillis);
+            this.executor = new ThreadPoolExecutor(concurrency, concurrency, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                    queueCapacity == 0 ? new SynchronousQueue<>() : new ArrayBlockingQueue<>(queueCapacity));
+            this.executor.allowCoreThreadTimeOut(true);
+        }
+
+        private void execute(Runnable task) {
+            try {
+                executor.execute(task);
+            } catch (RejectedExecutionException e) {
+                rejected.incrementAndGet();
+                throw new RejectedExecutionException(Messages.ERROR_QUEUE_FULL, e);
+            }
+        }
+
+        private void acquire(long deadline) {
+            if (waiting.incrementAndGet() > queueCapacity + permits.availablePermits()) {
+                waiting.decrementAndGet();
+                rejected.incrementAndGet();
+                throw new RejectedExecutionException(Messages.ERROR_QUEUE_FULL);
+            }
+            boolean acquired;
+            try {
+                acquired = permits.tryAcquire(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                acquired = false;
+            } finally {
+                waiting.decrementAndGet();
+            }
+            if (!acquired) {
+                timedOut.incrementAndGet();
+                throw new RejectedExecutionException(Messages.ERROR_FIT_DEADLINE);
+            }
+            admitted.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package org.dataAnalysis;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+final class BinarySeriesFormat {
+    static final int MAGIC = 0x46425354;
+    static final short VERSION = 1;
+    static final int HEADER_SIZE = 32;
+
+    static final short FLAG_TIMESTAMPS = 1;
+    static final short FLAG_COMPRESSED = 2;
+
+    final short flags;
+    final int size;
+    final long payloadLength;
+    final long checksum;
+
+    BinarySeriesFormat(short flags, int size, long payloadLength, long checksum) {
+        this.flags = flags;
+        this.size = size;
+        this.payloadLength = payloadLength;
+        this.checksum = checksum;
+    }
+
+    boolean hasTimestamps() {
+        return (flags & FLAG_TIMESTAMPS) != 0;
+    }
+
+    boolean isCompressed() {
+        return (flags & FLAG_COMPRESSED) != 0;
+    }
+
+    ByteBuffer encode() {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(MAGIC).putShort(VERSION).putShort(flags).putLong(size).putLong(payloadLength).putLong(checksum);
+        return header.flip();
+    }
+
+    static BinarySeriesFormat decode(ByteBuffer header, long fileSize) {
+        header.order(ByteOrder.LITTLE_ENDIAN);
+        if (header.remaining() < HEADER_SIZE || header.getInt() != MAGIC) {
+            throw new IllegalArgumentException(Messages.ERROR_NOT_A_SERIES_FILE);
+        }
+        if (header.getShort() != VERSION) {
+            throw new IllegalArgumentException(Messages.ERROR_UNSUPPORTED_VERSION);
+        }
+        short flags = header.getShort();
+        long size = header.getLong();
+        long payloadLength = header.getLong();
+        long checksum = header.getLong();
+        if (size < 1 || size > Integer.MAX_VALUE || payloadLength != fileSize - HEADER_SIZE) {
+            throw new IllegalArgumentException(Messages.ERROR_CORRUPT_SERIES_FILE);
+        }
+        return new BinarySeriesFormat(flags, (int) size, payloadLength, checksum);
+    }
+}
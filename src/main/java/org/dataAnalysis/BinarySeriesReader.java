@@ -0,0 +1,202 @@
+package org.dataAnalysis;
+
+import euclides.math.OffHeapVector;
+import euclides.math.timeseries.TimeSeries;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+
+public class BinarySeriesReader {
+    private static final int WINDOW_SIZE = 64 << 20;
+
+    public TimeSeries read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            BinarySeriesFormat header = readHeader(channel);
+            Source source = new Source(channel, header.payloadLength);
+            long[] times = new long[header.size];
+            if (header.hasTimestamps()) {
+                if (header.isCompressed()) {
+                    readDeltas(source, times);
+                } else {
+                    readLongs(source, times);
+                }
+            } else {
+                for (int i = 0; i < times.length; i++) {
+                    times[i] = i;
+                }
+            }
+            double[] values = readValues(source, header);
+            source.verify(header.checksum);
+            return TimeSeries.wrap(times, values);
+        }
+    }
+
+    public double[] readValues(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            BinarySeriesFormat header = readHeader(channel);
+            Source source = new Source(channel, header.payloadLength);
+            if (header.hasTimestamps()) {
+                if (header.isCompressed()) {
+                    readDeltas(source, new long[header.size]);
+                } else {
+                    source.skip((long) header.size * Long.BYTES);
+                }
+            }
+            double[] values = readValues(source, header);
+            source.verify(header.checksum);
+            return values;
+        }
+    }
+
+    public OffHeapVector mapValues(Path file, boolean verifyChecksum) throws IOException {
+        BinarySeriesFormat header;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            header = readHeader(channel);
+            if (header.isCompressed()) {
+                throw new IllegalArgumentException(Messages.ERROR_COMPRESSED_SERIES_FILE);
+            }
+            if (verifyChecksum) {
+                Source source = new Source(channel, header.payloadLength);
+                source.skip(header.payloadLength);
+                source.verify(header.checksum);
+            }
+        }
+        long position = BinarySeriesFormat.HEADER_SIZE;
+        if (header.hasTimestamps()) {
+            position += (long) header.size * Long.BYTES;
+        }
+        return OffHeapVector.map(file, position, header.size);
+    }
+
+    private static BinarySeriesFormat readHeader(FileChannel channel) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(BinarySeriesFormat.HEADER_SIZE);
+        while (header.hasRemaining() && channel.read(header, header.position()) >= 0) {
+            // read until the header is complete
+        }
+        return BinarySeriesFormat.decode(header.flip(), channel.size());
+    }
+
+    private static double[] readValues(Source source, BinarySeriesFormat header) throws IOException {
+        double[] values = new double[header.size];
+        if (header.isCompressed()) {
+            readXors(source, values);
+        } else {
+            readDoubles(source, values);
+        }
+        return values;
+    }
+
+    private static void readLongs(Source source, long[] longs) throws IOException {
+        int position = 0;
+        while (position < longs.length) {
+            source.ensure(Long.BYTES);
+            int count = Math.min(longs.length - position, source.window.remaining() / Long.BYTES);
+            source.window.asLongBuffer().get(longs, position, count);
+            source.window.position(source.window.position() + count * Long.BYTES);
+            position += count;
+        }
+    }
+
+    private static void readDoubles(Source source, double[] doubles) throws IOException {
+        int position = 0;
+        while (position < doubles.length) {
+            source.ensure(Double.BYTES);
+            int count = Math.min(doubles.length - position, source.window.remaining() / Double.BYTES);
+            source.window.asDoubleBuffer().get(doubles, position, count);
+            source.window.position(source.window.position() + count * Double.BYTES);
+            position += count;
+        }
+    }
+
+    private static void readDeltas(Source source, long[] times) throws IOException {
+        long previous = 0;
+        for (int i = 0; i < times.length; i++) {
+            source.ensure((int) Math.min(10, source.remaining()));
+            long zigZag = 0;
+            int shift = 0;
+            byte b;
+            do {
+                if (shift >= Long.SIZE || !source.window.hasRemaining()) {
+                    throw new IllegalArgumentException(Messages.ERROR_CORRUPT_SERIES_FILE);
+                }
+                b = source.window.get();
+                zigZag |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            previous += (zigZag >>> 1) ^ -(zigZag & 1);
+            times[i] = previous;
+        }
+    }
+
+    private static void readXors(Source source, double[] values) throws IOException {
+        long previous = 0;
+        for (int i = 0; i < values.length; i++) {
+            source.ensure(1);
+            int length = source.window.get();
+            if (length < 0 || length > Long.BYTES) {
+                throw new IllegalArgumentException(Messages.ERROR_CORRUPT_SERIES_FILE);
+            }
+            source.ensure(length);
+            long xor = 0;
+            for (int k = 0; k < length; k++) {
+                xor |= (source.window.get() & 0xFFL) << (8 * k);
+            }
+            previous ^= xor;
+            values[i] = Double.longBitsToDouble(previous);
+        }
+    }
+
+    private static final class Source {
+        private final FileChannel channel;
+        private final long end;
+        private final CRC32C checksum = new CRC32C();
+        private long windowStart = BinarySeriesFormat.HEADER_SIZE;
+        private ByteBuffer window = ByteBuffer.allocate(0);
+
+        private Source(FileChannel channel, long payloadLength) {
+            this.channel = channel;
+            this.end = BinarySeriesFormat.HEADER_SIZE + payloadLength;
+        }
+
+        private long remaining() {
+            return end - windowStart - window.position();
+        }
+
+        private void ensure(int bytes) throws IOException {
+            if (window.remaining() >= bytes) {
+                return;
+            }
+            if (remaining() < bytes) {
+                throw new IllegalArgumentException(Messages.ERROR_CORRUPT_SERIES_FILE);
+            }
+            checksum.update(window.flip());
+            windowStart += window.limit();
+            long length = Math.min(WINDOW_SIZE, end - windowStart);
+            window = channel.map(FileChannel.MapMode.READ_ONLY, windowStart, length).order(ByteOrder.LITTLE_ENDIAN);
+        }
+
+        private void skip(long bytes) throws IOException {
+            while (bytes > 0) {
+                ensure(1);
+                int step = (int) Math.min(bytes, window.remaining());
+                window.position(window.position() + step);
+                bytes -= step;
+            }
+        }
+
+        private void verify(long expected) {
+            if (remaining() != 0) {
+                throw new IllegalArgumentException(Messages.ERROR_CORRUPT_SERIES_FILE);
+            }
+            checksum.update(window.flip());
+            if (checksum.getValue() != expected) {
+                throw new IllegalArgumentException(Messages.ERROR_CORRUPT_SERIES_FILE);
+            }
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package org.dataAnalysis;
+
+import euclides.math.timeseries.TimeSeries;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+
+public class BinarySeriesWriter {
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    public void write(Path file, double[] values, boolean compressed) throws IOException {
+        write(file, null, values, compressed);
+    }
+
+    public void write(Path file, TimeSeries series, boolean compressed) throws IOException {
+        write(file, series.times(), series.values(), compressed);
+    }
+
+    private void write(Path file, long[] times, double[] values, boolean compressed) throws IOException {
+        if (values.length == 0) {
+            throw new IllegalArgumentException(Messages.ERROR_EMPTY_ARRAY);
+        }
+        short flags = 0;
+        if (times != null) {
+            flags |= BinarySeriesFormat.FLAG_TIMESTAMPS;
+        }
+        if (compressed) {
+            flags |= BinarySeriesFormat.FLAG_COMPRESSED;
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            Sink sink = new Sink(channel);
+            channel.position(BinarySeriesFormat.HEADER_SIZE);
+            if (compressed) {
+                if (times != null) {
+                    writeDeltas(sink, times);
+                }
+                writeXors(sink, values);
+            } else {
+                if (times != null) {
+                    writeLongs(sink, times);
+                }
+                writeDoubles(sink, values);
+            }
+            sink.flush();
+
+            BinarySeriesFormat header = new BinarySeriesFormat(flags, values.length, sink.length,
+                    sink.checksum.getValue());
+            channel.write(header.encode(), 0);
+        }
+    }
+
+    private static void writeLongs(Sink sink, long[] longs) throws IOException {
+        int position = 0;
+        while (position < longs.length) {
+            sink.ensure(Long.BYTES);
+            int count = Math.min(longs.length - position, sink.buffer.remaining() / Long.BYTES);
+            sink.buffer.asLongBuffer().put(longs, position, count);
+            sink.buffer.position(sink.buffer.position() + count * Long.BYTES);
+            position += count;
+        }
+    }
+
+    private static void writeDoubles(Sink sink, double[] doubles) throws IOException {
+        int position = 0;
+        while (position < doubles.length) {
+            sink.ensure(Double.BYTES);
+            int count = Math.min(doubles.length - position, sink.buffer.remaining() / Double.BYTES);
+            sink.buffer.asDoubleBuffer().put(doubles, position, count);
+            sink.buffer.position(sink.buffer.position() + count * Double.BYTES);
+            position += count;
+        }
+    }
+
+    private static void writeDeltas(Sink sink, long[] times) throws IOException {
+        long previous = 0;
+        for (long time : times) {
+            long delta = time - previous;
+            long zigZag = (delta << 1) ^ (delta >> 63);
+            sink.ensure(10);
+            while ((zigZag & ~0x7FL) != 0) {
+                sink.buffer.put((byte) ((zigZag & 0x7F) | 0x80));
+                zigZag >>>= 7;
+            }
+            sink.buffer.put((byte) zigZag);
+            previous = time;
+        }
+    }
+
+    private static void writeXors(Sink sink, double[] values) throws IOException {
+        long previous = 0;
+        for (double value : values) {
+            long bits = Double.doubleToRawLongBits(value);
+            long xor = bits ^ previous;
+            int length = (Long.SIZE - Long.numberOfLeadingZeros(xor) + 7) / 8;
+            sink.ensure(1 + length);
+            sink.buffer.put((byte) length);
+            for (int i = 0; i < length; i++) {
+                sink.buffer.put((byte) (xor >>> (8 * i)));
+            }
+            previous = bits;
+        }
+    }
+
+    private static final class Sink {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        private final CRC32C checksum = new CRC32C();
+        private long length;
+
+        private Sink(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        private void ensure(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) {
+                flush();
+            }
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            checksum.update(buffer.duplicate());
+            length += buffer.remaining();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+    }
+}
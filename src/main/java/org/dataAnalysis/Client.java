@@ -1,8 +1,16 @@
 package org.dataAnalysis;
 
-import euclides.math.timeseries.*;
 import org.teavm.jso.browser.Window;
+import org.teavm.jso.core.JSArray;
 import org.teavm.jso.dom.html.*;
+import org.teavm.jso.typedarrays.Int32Array;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 public final class Client {
     private static DataPreparationHandler dataPreparationHandler;
@@ -10,6 +18,17 @@ public final class Client {
     private static RegressionHandler regressionHandler;
     private static DrawDataSetHandler drawDataSethandler;
     private  static ErrorNotificationHandler errorNotificationHandler;
+    private static RegressionWorkerPool regressionWorkerPool;
+    private static FittedModelCache fittedModelCache;
+    private static final Map<String, String> drawnRegressionMap = new HashMap<>();
+    private static FileIngestionHandler fileIngestionHandler;
+    private static boolean ingestionInProgress = false;
+    private static PersistenceHandler persistenceHandler;
+    private static final Map<String, StoredSession.Regression> storedRegressionMap = new LinkedHashMap<>();
+    private static double[] lastRawInputData;
+    private static long lastDataHash;
+    private static String lastSeriesKey;
+    private static int selectionGeneration;
 
 
     public static void main(String[] args) {
@@ -20,6 +39,8 @@ public final class Client {
         HTMLDocument doc = Window.current().getDocument();
         initHandlers(doc);
         initStartButton();
+        initUploadButton();
+        restoreSession();
     }
 
     private static void initHandlers(HTMLDocument document) {
@@ -28,6 +49,12 @@ public final class Client {
         htmlHandler = new HtmlHandler(document);
         regressionHandler = new RegressionHandler(htmlHandler);
         drawDataSethandler = new DrawDataSetHandler(dataPreparationHandler);
+        fittedModelCache = new FittedModelCache(regressionHandler, 32);
+        fileIngestionHandler = new FileIngestionHandler();
+        persistenceHandler = new PersistenceHandler();
+        if (RegressionWorkerPool.isSupported()) {
+            regressionWorkerPool = new RegressionWorkerPool("worker.js");
+        }
     }
 
     private static void initStartButton() {
@@ -35,28 +62,204 @@ public final class Client {
         startButton.addEventListener("click", evt -> processAndVisualizeRegression());
     }
 
-    private static double[] getRawInputData() {
-        HTMLInputElement getInputDataElement = htmlHandler.getInputDataElement();
-        String inputData = getInputDataElement.getValue();
-        return dataPreparationHandler.prepareRawInputData(inputData);
+    private static void initUploadButton() {
+        HTMLInputElement uploadButton = htmlHandler.getUploadButtonElement();
+        uploadButton.addEventListener("change", evt -> loadSelectedFile());
+    }
+
+    private static void loadSelectedFile() {
+        FileProperty file = htmlHandler.getSelectedFile();
+        if (file == null) {
+            return;
+        }
+        int generation = ++selectionGeneration;
+        ingestionInProgress = true;
+        lastRawInputData = null;
+        String seriesKey = PersistenceHandler.seriesKey(file);
+        persistenceHandler.loadSeries(seriesKey, storedValues -> {
+            if (generation != selectionGeneration) {
+                return;
+            }
+            if (storedValues != null) {
+                setInputData(generation, seriesKey, storedValues);
+                return;
+            }
+            fileIngestionHandler.ingest(file, new FileIngestionHandler.Callback() {
+                @Override
+                public void onLoaded(FileProperty file, double[] values) {
+                    if (!setInputData(generation, seriesKey, values)) {
+                        return;
+                    }
+                    persistenceHandler.saveSeries(seriesKey, values, lastDataHash);
+                }
+
+                @Override
+                public void onError(String message) {
+                    if (generation != selectionGeneration) {
+                        return;
+                    }
+                    ingestionInProgress = false;
+                    errorNotificationHandler.displayErrorMessage(message);
+                }
+            });
+        });
+    }
+
+    private static boolean setInputData(int generation, String seriesKey, double[] values) {
+        if (generation != selectionGeneration) {
+            return false;
+        }
+        ingestionInProgress = false;
+        lastRawInputData = values;
+        lastDataHash = FittedModelCache.hash(values);
+        if (!seriesKey.equals(lastSeriesKey)) {
+            storedRegressionMap.clear();
+        }
+        lastSeriesKey = seriesKey;
+        return true;
+    }
+
+    private static void restoreSession() {
+        int generation = selectionGeneration;
+        persistenceHandler.loadSession(session -> persistenceHandler.loadSeries(session.getSeriesKey(), values -> {
+            if (values == null || !setInputData(generation, session.getSeriesKey(), values)) {
+                return;
+            }
+            int predictionPoint = session.getPredictionPoint();
+            htmlHandler.setPredictionPoint(predictionPoint);
+            for (int i = 0; i < session.getRegressions().getLength(); i++) {
+                StoredSession.Regression stored = session.getRegressions().get(i);
+                htmlHandler.selectRegression(stored.getRegression());
+                regressionHandler.setRegressionParameters(stored.getRegression(), toIntArray(stored.getParameters()));
+            }
+            HtmlHandler.showSelectedOutputSections();
+            for (int i = 0; i < session.getRegressions().getLength(); i++) {
+                StoredSession.Regression stored = session.getRegressions().get(i);
+                showRegressionResult(stored.getRegression(), toIntArray(stored.getParameters()),
+                        stored.getCoefficient(), RegressionWorkerMessage.toDoubleArray(stored.getCalculated()),
+                        predictionPoint);
+            }
+        }));
+    }
+
+    private static void persistSession(int predictionPoint) {
+        StoredSession session = StoredSession.create();
+        session.setSeriesKey(lastSeriesKey);
+        session.setPredictionPoint(predictionPoint);
+        JSArray<StoredSession.Regression> regressions = JSArray.create();
+        for (StoredSession.Regression stored : storedRegressionMap.values()) {
+            regressions.push(stored);
+        }
+        session.setRegressions(regressions);
+        persistenceHandler.saveSession(session);
+    }
+
+    private static int[] toIntArray(Int32Array array) {
+        int[] values = new int[array.getLength()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = array.get(i);
+        }
+        return values;
     }
 
     private static void processAndVisualizeRegression() {
+        if (ingestionInProgress || lastRawInputData == null) {
+            errorNotificationHandler.displayWarningMessage(Messages.ERROR_FILE_NOT_LOADED);
+            return;
+        }
         int predictionPoint = htmlHandler.getPredictionPointFromHTML();
-        double[] rawInputData = getRawInputData();
+        double[] rawInputData = lastRawInputData;
+        long dataHash = lastDataHash;
         String[] selectedRegressions = htmlHandler.getSelectedRegressionsFromHTML();
 
+        storedRegressionMap.keySet().retainAll(Arrays.asList(selectedRegressions));
+        List<String> changedRegressions = new ArrayList<>();
+        Map<String, int[]> parameterMap = new HashMap<>();
         for (String regression : selectedRegressions) {
-            Model reg = regressionHandler.createAndInitRegression(regression, rawInputData);
-            HTMLCanvasElement canvas = htmlHandler.getCanvasElement(regression);
-            double[] calculatedData = regressionHandler.calculateDataSetForRegression(reg, rawInputData.length,
-                    predictionPoint);
-            double[][] preparedDataSet = dataPreparationHandler.prepareDataSet(rawInputData, calculatedData, predictionPoint);
-            drawDataSethandler.prepareAndDrawDataSetOnCanvas(canvas, preparedDataSet);
-            double roundedOutputValue = Math.round(calculatedData[predictionPoint-1] * 1000.0) / 1000.0;
-            htmlHandler.setEvaluationOutputElement(regression, roundedOutputValue);
-        }
-        htmlHandler.scrollToCanvasContainerWithTopOffset();
-        errorNotificationHandler.displaySuccessMessage();
-    }
-}
\ No newline at end of file
+            int[] parameters = regressionHandler.getRegressionParameters(regression);
+            String drawnKey = FittedModelCache.key(regression, parameters, dataHash) + "@" + predictionPoint;
+            if (!drawnKey.equals(drawnRegressionMap.get(regression))) {
+                changedRegressions.add(regression);
+                parameterMap.put(regression, parameters);
+            }
+        }
+
+        if (regressionWorkerPool == null || changedRegressions.isEmpty()) {
+            for (String regression : changedRegressions) {
+                int[] parameters = parameterMap.get(regression);
+                FittedModelCache.FittedModel fittedModel = fittedModelCache.getOrFit(regression, parameters,
+                        rawInputData, dataHash);
+                showRegressionResult(regression, parameters, fittedModel.getCoefficient(),
+                        fittedModel.calculateDataSet(predictionPoint), predictionPoint);
+            }
+            persistSession(predictionPoint);
+            htmlHandler.scrollToCanvasContainerWithTopOffset();
+            errorNotificationHandler.displaySuccessMessage();
+            return;
+        }
+
+        int[] pendingRegressions = {changedRegressions.size()};
+        boolean[] failed = {false};
+        for (String regression : changedRegressions) {
+            int[] parameters = parameterMap.get(regression);
+            regressionWorkerPool.submit(regression, parameters, rawInputData, predictionPoint,
+                    new RegressionWorkerPool.ResultCallback() {
+                        @Override
+                        public void onResult(String regression, double coefficient, double[] calculatedData) {
+                            if (lastRawInputData == null || dataHash != lastDataHash) {
+                                return;
+                            }
+                            showRegressionResult(regression, parameters, coefficient, calculatedData,
+                                    predictionPoint);
+                            if (pendingRegressions[0]-- == changedRegressions.size()) {
+                                htmlHandler.scrollToCanvasContainerWithTopOffset();
+                            }
+                            if (pendingRegressions[0] == 0) {
+                                persistSession(predictionPoint);
+                            }
+                            if (pendingRegressions[0] == 0 && !failed[0]) {
+                                errorNotificationHandler.displaySuccessMessage();
+                            }
+                        }
+
+                        @Override
+                        public void onError(String regression, String message) {
+                            pendingRegressions[0]--;
+                            failed[0] = true;
+                            drawnRegressionMap.remove(regression);
+                            storedRegressionMap.remove(regression);
+                            if (pendingRegressions[0] == 0) {
+                                persistSession(predictionPoint);
+                            }
+                            errorNotificationHandler.displayErrorMessage(message);
+                        }
+                    });
+        }
+    }
+
+    private static void showRegressionResult(String regression, int[] parameters, double coefficient,
+                                             double[] calculatedData, int predictionPoint) {
+        htmlHandler.setCoefficientOutputElement(regression, coefficient);
+        visualizeRegression(regression, lastRawInputData, calculatedData, predictionPoint);
+        drawnRegressionMap.put(regression,
+                FittedModelCache.key(regression, parameters, lastDataHash) + "@" + predictionPoint);
+
+        StoredSession.Regression stored = StoredSession.Regression.create();
+        stored.setRegression(regression);
+        Int32Array parameterArray = Int32Array.create(parameters.length);
+        parameterArray.set(parameters);
+        stored.setParameters(parameterArray);
+        stored.setCoefficient(coefficient);
+        stored.setCalculated(RegressionWorkerMessage.toFloat64Array(calculatedData));
+        storedRegressionMap.put(regression, stored);
+    }
+
+    private static void visualizeRegression(String regression, double[] rawInputData, double[] calculatedData,
+                                            int predictionPoint) {
+        HTMLCanvasElement canvas = htmlHandler.getCanvasElement(regression);
+        double[][] preparedDataSet = dataPreparationHandler.prepareDataSet(rawInputData, calculatedData, predictionPoint);
+        drawDataSethandler.prepareAndDrawDataSetOnCanvas(canvas, preparedDataSet);
+        double roundedOutputValue = Math.round(calculatedData[predictionPoint-1] * 1000.0) / 1000.0;
+        htmlHandler.setEvaluationOutputElement(regression, roundedOutputValue);
+    }
+}
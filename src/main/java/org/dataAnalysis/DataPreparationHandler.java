@@ -1,6 +1,6 @@
 package org.dataAnalysis;
 
-import java.util.Arrays;
+import euclides.math.timeseries.TimeSeries;
 
 public class DataPreparationHandler {
     public int[] getDataSetIndicesWithZoom(int standardDisplayedDataPoints, double[][] dataSet, double zoomLevel) {
@@ -11,6 +11,10 @@ public class DataPreparationHandler {
         return new int[] {startIndex, endIndex};
     }
 
+    public double[][] prepareDataSet(TimeSeries inputSeries, double[] calculatedData, int predictionPoint) {
+        return prepareDataSet(inputSeries.values(), calculatedData, predictionPoint);
+    }
+
     public double[][] prepareDataSet(double[] inputData, double[] calculatedData, int predictionPoint) {
         if (predictionPoint < 0) {
             throw new IllegalArgumentException(Messages.ERROR_NEGATIVE_PREDICTION_POINT);
@@ -68,14 +72,11 @@ public class DataPreparationHandler {
     }
 
     public double[] prepareRawInputData(String rawInputData) {
-        if (rawInputData.isEmpty()) {
-            throw new IllegalArgumentException(Messages.ERROR_EMPTY_ARRAY);
-        }
-        String[][] convertedStringArray = convertLinesTo2DArray(rawInputData);
+        return RawInputDataParser.parseValues(rawInputData);
+    }
 
-        return Arrays.stream(convertedStringArray)
-                .mapToDouble(arr -> Double.parseDouble(arr[1].replace(',', '.')))
-                .toArray();
+    public TimeSeries prepareRawInputSeries(String rawInputData) {
+        return RawInputDataParser.parseSeries(rawInputData);
     }
 
     public double[][] extractSubArray(double[][] dataSet, int startIndex, int endIndex) {
@@ -89,20 +90,4 @@ public class DataPreparationHandler {
         }
         return new double[][] {firstArray, secondArray, thirdArray};
     }
-
-    public static String[][] convertLinesTo2DArray(String content) {
-        String[] lines = content.split("\\r?\\n");
-        String[][] array = new String[lines.length][2];
-
-        for (int i = 0; i < lines.length; i++) {
-            String[] parts = lines[i].split(";");
-
-            if (parts.length != 2) {
-                throw new IllegalArgumentException(Messages.ERROR_2D_ARRAY);
-            }
-            array[i][0] = parts[0].trim();
-            array[i][1] = parts[1].trim();
-        }
-        return array;
-    }
 }
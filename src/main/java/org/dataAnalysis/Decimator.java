@@ -0,0 +1,56 @@
+package org.dataAnalysis;
+
+import java.util.Arrays;
+
+public class Decimator {
+    // the minimum and maximum of every pixel column are read from the pyramid of the series, the first and last
+    // value are found next to the column's bounds; i.e. a range costs O(width log n) instead of a scan of its points
+    public int[] m4(MinMaxPyramid pyramid, int startIndex, int endIndex, int pixelWidth) {
+        int length = endIndex - startIndex;
+        if (length <= 0) {
+            throw new IllegalArgumentException(Messages.ERROR_EMPTY_DATASET);
+        }
+        if (pixelWidth < 1 || length <= 4 * pixelWidth) {
+            return allIndices(startIndex, endIndex);
+        }
+
+        int[] minIndices = new int[pixelWidth];
+        int[] maxIndices = new int[pixelWidth];
+        pyramid.getColumnMinMax(startIndex, endIndex, minIndices, maxIndices);
+        int[] selected = new int[4 * pixelWidth];
+        int size = 0;
+        int[] candidates = new int[4];
+        for (int pixel = 0; pixel < pixelWidth; pixel++) {
+            if (minIndices[pixel] < 0) {
+                continue;
+            }
+            int first = startIndex + (int) ((long) pixel * length / pixelWidth);
+            int last = startIndex + (int) ((long) (pixel + 1) * length / pixelWidth) - 1;
+            while (Double.isNaN(pyramid.get(first))) {
+                first++;
+            }
+            while (Double.isNaN(pyramid.get(last))) {
+                last--;
+            }
+            candidates[0] = first;
+            candidates[1] = minIndices[pixel];
+            candidates[2] = maxIndices[pixel];
+            candidates[3] = last;
+            Arrays.sort(candidates);
+            for (int k = 0; k < 4; k++) {
+                if (k == 0 || candidates[k] != candidates[k - 1]) {
+                    selected[size++] = candidates[k];
+                }
+            }
+        }
+        return Arrays.copyOf(selected, size);
+    }
+
+    private static int[] allIndices(int startIndex, int endIndex) {
+        int[] indices = new int[endIndex - startIndex];
+        for (int i = 0; i < indices.length; i++) {
+            indices[i] = startIndex + i;
+        }
+        return indices;
+    }
+}
@@ -2,18 +2,22 @@ package org.dataAnalysis;
 
 import org.teavm.jso.browser.Window;
 import org.teavm.jso.canvas.CanvasRenderingContext2D;
+import org.teavm.jso.canvas.Path2D;
 import org.teavm.jso.dom.html.HTMLCanvasElement;
 
-import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.function.IntToDoubleFunction;
 
 public class DrawDataSetHandler {
     private boolean isPanning = false;
     private double lastMouseX = 0;
-    private boolean redrawScheduled = false;
     private static DataPreparationHandler dataPreparationHandler;
+    private final Decimator decimator = new Decimator();
+    private final RenderScheduler renderScheduler = new RenderScheduler(this::updateCanvas);
     Map<String, double[][]> inputDataSetsMap = new HashMap<>();
+    Map<String, MinMaxPyramid[]> minMaxPyramidMap = new HashMap<>();
+    Map<String, AxesLayer> axesLayerMap = new HashMap<>();
     Map<String, Integer> panningMap = new HashMap<>();
     Map<String, Double> zoomMap = new HashMap<>();
 
@@ -21,84 +25,38 @@ public class DrawDataSetHandler {
         DrawDataSetHandler.dataPreparationHandler = dataPreparationHandler;
     }
 
-    private double getMinOfDataset(double[] columnOne, double[] columnTwo) {
-        if(columnOne.length == 0 || columnTwo.length == 0) {
-            throw new IllegalArgumentException(Messages.ERROR_EMPTY_DATASET);
-        }
-
-        double minOfFirstColumn = Arrays.stream(columnOne)
-                .filter(d -> !Double.isNaN(d))
-                .min()
-                .orElse(Double.NaN);
-
-        double minOfSecondColumn = Arrays.stream(columnTwo)
-                .filter(d -> !Double.isNaN(d))
-                .min()
-                .orElse(Double.NaN);
-
-        if (Double.isNaN(minOfFirstColumn) && Double.isNaN(minOfSecondColumn)) {
-            return Double.NaN;
-        } else if (Double.isNaN(minOfFirstColumn)) {
-            return minOfSecondColumn;
-        } else if (Double.isNaN(minOfSecondColumn)) {
-            return minOfFirstColumn;
-        } else {
-            return Math.min(minOfFirstColumn, minOfSecondColumn);
-        }
-    }
-
-    private double getMaxOfDataset(double[] columnOne, double[] columnTwo) {
-        if(columnOne.length == 0 || columnTwo.length == 0) {
-            throw new IllegalArgumentException(Messages.ERROR_EMPTY_DATASET);
-        }
-        double maxOfFirstColumn = Arrays.stream(columnOne)
-                .filter(d -> !Double.isNaN(d))
-                .max()
-                .orElse(Double.NaN);
-
-        double maxOfSecondColumn = Arrays.stream(columnTwo)
-                .filter(d -> !Double.isNaN(d))
-                .max()
-                .orElse(Double.NaN);
-
-        if (Double.isNaN(maxOfFirstColumn) && Double.isNaN(maxOfSecondColumn)) {
-            return Double.NaN;
-        } else if (Double.isNaN(maxOfFirstColumn)) {
-            return maxOfSecondColumn;
-        } else if (Double.isNaN(maxOfSecondColumn)) {
-            return maxOfFirstColumn;
-        } else {
-            return Math.max(maxOfFirstColumn, maxOfSecondColumn);
-        }
-    }
-
     public void resetAndInitializeCanvasEventListeners(HTMLCanvasElement canvas) {
         panningMap.put(canvas.getId(), 0);
         zoomMap.put(canvas.getId(), 1.0);
-        addPanningEventListeners(canvas);
-        addZoomEventListeners(canvas);
-        addResizeEventListener(canvas);
+        if (renderScheduler.register(canvas)) {
+            addPanningEventListeners(canvas);
+            addZoomEventListeners(canvas);
+        }
     }
 
     private CanvasRenderingContext2D prepareAndReturnCanvasContext(HTMLCanvasElement canvas) {
         CanvasRenderingContext2D ctx = canvas.getContext("2d").cast();
         int currentWindowWidth = Window.current().getInnerWidth();
         int calculatedHeight = (int) (currentWindowWidth * 0.55 * 9 / 16);
-        canvas.setHeight(calculatedHeight);
-        canvas.setWidth((int) (currentWindowWidth * 0.55));
+        int calculatedWidth = (int) (currentWindowWidth * 0.55);
+        if (canvas.getWidth() != calculatedWidth || canvas.getHeight() != calculatedHeight) {
+            canvas.setHeight(calculatedHeight);
+            canvas.setWidth(calculatedWidth);
+        }
         ctx.clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
         return ctx;
     }
 
     public void prepareAndDrawDataSetOnCanvas(HTMLCanvasElement canvas, double[][] dataSet) {
         inputDataSetsMap.put(canvas.getId(), dataSet);
+        minMaxPyramidMap.put(canvas.getId(), new MinMaxPyramid[] {new MinMaxPyramid(dataSet, 0),
+                new MinMaxPyramid(dataSet, 1)});
         int standardDisplayedDataPoints = 200;
         CanvasRenderingContext2D ctx = prepareAndReturnCanvasContext(canvas);
         resetAndInitializeCanvasEventListeners(canvas);
         double zoomLevel = zoomMap.get(canvas.getId());
         int[] dataSetIndices =  dataPreparationHandler.getDataSetIndicesWithZoom(standardDisplayedDataPoints, dataSet, zoomLevel);
-        double[][] extractDataFromDataSet = dataPreparationHandler.extractSubArray(dataSet, dataSetIndices[0], dataSetIndices[1]);
-        drawTwoDataSetsOnCanvas(ctx, extractDataFromDataSet[0], extractDataFromDataSet[1], extractDataFromDataSet[2]);
+        drawTwoDataSetsOnCanvas(ctx, dataSet, minMaxPyramidMap.get(canvas.getId()), dataSetIndices[0], dataSetIndices[1]);
     }
 
     private void addPanningEventListeners(HTMLCanvasElement canvas) {
@@ -118,36 +76,23 @@ public class DrawDataSetHandler {
                 if (Math.abs(deltaX) >= threshold) {
                     panning -= (int)deltaX / threshold;
                     panningMap.put(canvas.getId(), panning);
-                    if (!redrawScheduled) {
-                        redrawScheduled = true;
-                        Window.setTimeout(() -> {
-                            updateCanvas(canvas);
-                            redrawScheduled = false;
-                        }, 10);
-                    }
+                    renderScheduler.requestRedraw(canvas);
                     lastMouseX = clientX;
                 }
             }
         });
 
-        canvas.addEventListener("mouseup", event -> {
-            isPanning = false;
-            if (redrawScheduled) {
-                updateCanvas(canvas);
-                redrawScheduled = false;
-            }
-        });
         canvas.addEventListener("mouseup", event -> isPanning = false);
         canvas.addEventListener("mouseleave", event -> isPanning = false);
     }
 
     public void addZoomEventListeners(HTMLCanvasElement canvas) {
-        int maxDataPoints = inputDataSetsMap.get(canvas.getId()).length;
         int standardDisplayedDataPoints = 200;
         int minDataPoints = 10;
 
         canvas.addEventListener("wheel", event -> {
             event.preventDefault();
+            int maxDataPoints = inputDataSetsMap.get(canvas.getId()).length;
             MouseEventProperty eventProperty = event.cast();
             double deltaY = eventProperty.getDeltaY();
             double newZoomLevel;
@@ -164,14 +109,10 @@ public class DrawDataSetHandler {
                 zoomMap.put(canvas.getId(), newZoomLevel);
             }
 
-            updateCanvas(canvas);
+            renderScheduler.requestRedraw(canvas);
         });
     }
 
-    public void addResizeEventListener(HTMLCanvasElement canvas) {
-        Window.current().addEventListener("resize", event -> updateCanvas(canvas));
-    }
-
     public void updateCanvas(HTMLCanvasElement canvas) {
         double[][] inputDataSet = inputDataSetsMap.get(canvas.getId());
         int standardDisplayedDataPoints = 200;
@@ -194,21 +135,57 @@ public class DrawDataSetHandler {
         startIndex += panning;
         endOfIndex += panning;
 
-        double[][] extractDataFromDataSet = dataPreparationHandler.extractSubArray(inputDataSet, startIndex, endOfIndex);
-        drawTwoDataSetsOnCanvas(ctx, extractDataFromDataSet[0], extractDataFromDataSet[1], extractDataFromDataSet[2]);
+        drawTwoDataSetsOnCanvas(ctx, inputDataSet, minMaxPyramidMap.get(canvas.getId()), startIndex, endOfIndex);
+    }
+
+    private void drawTwoDataSetsOnCanvas(CanvasRenderingContext2D ctx, double[][] dataSet, MinMaxPyramid[] pyramids,
+                                         int startIndex, int endIndex) {
+        int length = endIndex - startIndex;
+        if (length <= 0) {
+            throw new IllegalArgumentException(Messages.ERROR_EMPTY_DATASET);
+        }
+        double min = Double.NaN;
+        double max = Double.NaN;
+        for (MinMaxPyramid pyramid : pyramids) {
+            double seriesMin = pyramid.getMin(startIndex, endIndex);
+            double seriesMax = pyramid.getMax(startIndex, endIndex);
+            min = Double.isNaN(min) || seriesMin < min ? seriesMin : min;
+            max = Double.isNaN(max) || seriesMax > max ? seriesMax : max;
+        }
+        drawAxesLayer(ctx, dataSet, startIndex, endIndex, max, min);
+        int plotWidth = Math.max(1, ctx.getCanvas().getWidth() - 2 * 45);
+        int[] inputIndices = decimator.m4(pyramids[0], startIndex, endIndex, plotWidth);
+        int[] calculatedIndices = decimator.m4(pyramids[1], startIndex, endIndex, plotWidth);
+        drawSingleDataSetOnCanvas(ctx, i -> dataSet[i][0], inputIndices, startIndex, length, max, min, "blue");
+        drawSingleDataSetOnCanvas(ctx, i -> dataSet[i][1], calculatedIndices, startIndex, length, max, min, "red");
     }
 
-    private void drawTwoDataSetsOnCanvas(CanvasRenderingContext2D ctx, double[] firstArray, double[] secondArray, double[] thirdArray) {
-        double min = getMinOfDataset(firstArray, secondArray);
-        double max = getMaxOfDataset(firstArray, secondArray);
-        drawAxisAndReferencePoints(ctx, thirdArray, 10, max, min);
-        drawSingleDataSetOnCanvas(ctx, firstArray, max, min, "blue");
-        drawSingleDataSetOnCanvas(ctx, secondArray, max, min, "red");
+    private void drawAxesLayer(CanvasRenderingContext2D ctx, double[][] dataSet, int startIndex, int endIndex,
+                               double max, double min) {
+        HTMLCanvasElement canvas = ctx.getCanvas();
+        AxesLayer layer = axesLayerMap.get(canvas.getId());
+        if (layer == null) {
+            layer = new AxesLayer(Window.current().getDocument().createElement("canvas").cast());
+            axesLayerMap.put(canvas.getId(), layer);
+        }
+        // only the axes and tick marks are cached; they depend on the canvas size alone
+        if (!layer.matches(canvas.getWidth(), canvas.getHeight())) {
+            layer.update(canvas.getWidth(), canvas.getHeight());
+            CanvasRenderingContext2D layerCtx = layer.canvas.getContext("2d").cast();
+            layerCtx.clearRect(0, 0, layer.canvas.getWidth(), layer.canvas.getHeight());
+            drawAxesFrame(layerCtx, 10);
+        }
+        ctx.drawImage(layer.canvas, 0, 0);
+        drawReferenceLabels(ctx, i -> dataSet[startIndex + i][2], endIndex - startIndex, 10, max, min);
     }
 
     public void drawSingleDataSetOnCanvas(CanvasRenderingContext2D ctx, double[] inputData, double max, double min, String colour) {
-        ctx.beginPath();
-        ctx.setStrokeStyle(colour);
+        drawSingleDataSetOnCanvas(ctx, i -> inputData[i], null, 0, inputData.length, max, min, colour);
+    }
+
+    private void drawSingleDataSetOnCanvas(CanvasRenderingContext2D ctx, IntToDoubleFunction inputData, int[] indices,
+                                           int startIndex, int length, double max, double min, String colour) {
+        Path2D path = Path2D.create();
 
         int padding = 45;
         int canvasWidth = ctx.getCanvas().getWidth();
@@ -217,27 +194,42 @@ public class DrawDataSetHandler {
         int width = canvasWidth - 2 * padding;
         int height = canvasHeight - 2 * padding;
 
-        for (int i = 0; i < inputData.length; i++) {
-            if(Double.isNaN(inputData[i])) continue;
+        int count = indices == null ? length : indices.length;
+        for (int k = 0; k < count; k++) {
+            int index = indices == null ? startIndex + k : indices[k];
+            double value = inputData.applyAsDouble(index);
+            if(Double.isNaN(value)) continue;
 
-            double dataPointXCoordinate = padding + i * (width / (double) (inputData.length - 1));
+            int i = index - startIndex;
+            double dataPointXCoordinate = padding + i * (width / (double) (length - 1));
             double midCanvasHeight = height / 2.0;
-            double scaledDataPointHeight = (height - ((inputData[i] - min) / (max - min) * height));
+            double scaledDataPointHeight = (height - ((value - min) / (max - min) * height));
             double dataPointYCoordinate = padding + ((max == min) ? midCanvasHeight : scaledDataPointHeight);
 
-            if (i == 0) {
-                ctx.moveTo(dataPointXCoordinate, dataPointYCoordinate);
+            if (k == 0) {
+                path.moveTo(dataPointXCoordinate, dataPointYCoordinate);
             } else {
-                ctx.lineTo(dataPointXCoordinate, dataPointYCoordinate);
+                path.lineTo(dataPointXCoordinate, dataPointYCoordinate);
             }
         }
-        ctx.stroke();
+        ctx.setStrokeStyle(colour);
+        ctx.stroke(path);
     }
 
     public void drawAxisAndReferencePoints(CanvasRenderingContext2D ctx, double[] indexData, int numReferencePoints, double max, double min) {
         if(indexData == null) {
             throw new IllegalArgumentException(Messages.ERROR_EMPTY_DATASET);
         }
+        drawAxisAndReferencePoints(ctx, i -> indexData[i], indexData.length, numReferencePoints, max, min);
+    }
+
+    private void drawAxisAndReferencePoints(CanvasRenderingContext2D ctx, IntToDoubleFunction indexData, int length,
+                                            int numReferencePoints, double max, double min) {
+        drawAxesFrame(ctx, numReferencePoints);
+        drawReferenceLabels(ctx, indexData, length, numReferencePoints, max, min);
+    }
+
+    private void drawAxesFrame(CanvasRenderingContext2D ctx, int numReferencePoints) {
         int padding = 45;
         int canvasWidth = ctx.getCanvas().getWidth();
         int canvasHeight = ctx.getCanvas().getHeight();
@@ -252,8 +244,32 @@ public class DrawDataSetHandler {
         ctx.lineTo(width + padding, height + padding);
         ctx.moveTo(padding, padding);
         ctx.lineTo(padding, height + padding);
+
+        double yInterval = (double) height / (numReferencePoints - 1);
+        for (int i = 0; i < numReferencePoints; i++) {
+            int y = height + padding - (int) (i * yInterval);
+            ctx.moveTo(padding - 5, y);
+            ctx.lineTo(padding + 5, y);
+        }
+
+        double xInterval = (double) width / (numReferencePoints - 1);
+        for (int i = 0; i < numReferencePoints; i++) {
+            int x = padding + (int) (i * xInterval);
+            int y = height + padding;
+            ctx.moveTo(x, y - 5);
+            ctx.lineTo(x, y + 5);
+        }
         ctx.stroke();
-        ctx.setLineWidth(1);
+    }
+
+    private void drawReferenceLabels(CanvasRenderingContext2D ctx, IntToDoubleFunction indexData, int length,
+                                     int numReferencePoints, double max, double min) {
+        int padding = 45;
+        int canvasWidth = ctx.getCanvas().getWidth();
+        int canvasHeight = ctx.getCanvas().getHeight();
+
+        int width = canvasWidth - 2 * padding;
+        int height = canvasHeight - 2 * padding;
 
         ctx.setFont("14px Arial");
 
@@ -272,11 +288,6 @@ public class DrawDataSetHandler {
             double roundedValue = Math.round(value * 100.0) / 100.0;
             String label = String.valueOf(roundedValue);
             ctx.fillText(label, 0, y + 5);
-
-            ctx.beginPath();
-            ctx.moveTo(padding - 5, y);
-            ctx.lineTo(padding + 5, y);
-            ctx.stroke();
         }
 
         double xInterval = (double) width / (numReferencePoints - 1);
@@ -285,29 +296,45 @@ public class DrawDataSetHandler {
             int y = height + padding;
             double value;
             if (i == 0) {
-                value = indexData[0];
+                value = indexData.applyAsDouble(0);
             } else if (i == numReferencePoints - 1) {
-                value = indexData[indexData.length - 1];
+                value = indexData.applyAsDouble(length - 1);
             } else {
-                double exactPosition = (double) i / (numReferencePoints - 1) * (indexData.length - 1);
+                double exactPosition = (double) i / (numReferencePoints - 1) * (length - 1);
                 if (exactPosition % 1 == 0) {
-                    value = indexData[(int) exactPosition];
+                    value = indexData.applyAsDouble((int) exactPosition);
                 } else {
                     int index1 = (int) Math.floor(exactPosition);
                     int index2 = (int) Math.ceil(exactPosition);
                     double diff = exactPosition - index1;
-                    value = indexData[index1] * (1 - diff) + indexData[index2] * diff;
+                    value = indexData.applyAsDouble(index1) * (1 - diff) + indexData.applyAsDouble(index2) * diff;
                     value = Math.round(value * 100.0) / 100.0;
                 }
             }
             String label = String.valueOf(value);
             double textWidth = ctx.measureText(label).getWidth();
             ctx.fillText(label, x - textWidth / 2, y + 30);
+        }
+    }
 
-            ctx.beginPath();
-            ctx.moveTo(x, y - 5);
-            ctx.lineTo(x, y + 5);
-            ctx.stroke();
+    private static final class AxesLayer {
+        private final HTMLCanvasElement canvas;
+        private boolean drawn = false;
+
+        private AxesLayer(HTMLCanvasElement canvas) {
+            this.canvas = canvas;
+        }
+
+        private boolean matches(int width, int height) {
+            return drawn && canvas.getWidth() == width && canvas.getHeight() == height;
+        }
+
+        private void update(int width, int height) {
+            if (canvas.getWidth() != width || canvas.getHeight() != height) {
+                canvas.setWidth(width);
+                canvas.setHeight(height);
+            }
+            drawn = true;
         }
     }
-}
\ No newline at end of file
+}
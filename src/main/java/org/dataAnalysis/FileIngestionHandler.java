@@ -0,0 +1,84 @@
+package org.dataAnalysis;
+
+import org.teavm.jso.JSBody;
+import org.teavm.jso.JSFunctor;
+import org.teavm.jso.JSObject;
+import org.teavm.jso.typedarrays.Uint8Array;
+
+public class FileIngestionHandler {
+    private final int chunkSize;
+    private int generation;
+
+    public interface Callback {
+        void onLoaded(FileProperty file, double[] values);
+
+        void onError(String message);
+    }
+
+    public FileIngestionHandler(int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException(Messages.ERROR_CHUNK_SIZE);
+        }
+        this.chunkSize = chunkSize;
+    }
+
+    public FileIngestionHandler() {
+        this(4 << 20);
+    }
+
+    public void ingest(FileProperty file, Callback callback) {
+        readChunk(file, 0, new IncrementalValueParser(), ++generation, callback);
+    }
+
+    private void readChunk(FileProperty file, double start, IncrementalValueParser parser, int ingestion,
+                           Callback callback) {
+        // a newer ingestion supersedes this one; its remaining chunks are neither read nor reported
+        if (ingestion != generation) {
+            return;
+        }
+        if (start >= file.getSize()) {
+            double[] values;
+            try {
+                values = parser.finish();
+            } catch (IllegalArgumentException e) {
+                callback.onError(e.getMessage());
+                return;
+            }
+            callback.onLoaded(file, values);
+            return;
+        }
+        double end = Math.min(file.getSize(), start + chunkSize);
+        readSlice(file, start, end, chunk -> {
+            if (ingestion != generation) {
+                return;
+            }
+            try {
+                parser.append(new Uint8ArrayCharSequence(chunk));
+            } catch (IllegalArgumentException e) {
+                callback.onError(e.getMessage());
+                return;
+            }
+            readChunk(file, end, parser, ingestion, callback);
+        }, message -> {
+            if (ingestion == generation) {
+                callback.onError(message);
+            }
+        });
+    }
+
+    @JSFunctor
+    interface ChunkHandler extends JSObject {
+        void handle(Uint8Array chunk);
+    }
+
+    @JSFunctor
+    interface ErrorHandler extends JSObject {
+        void handle(String message);
+    }
+
+    @JSBody(params = {"file", "start", "end", "onChunk", "onError"},
+            script = "file.slice(start, end).arrayBuffer().then(function(buffer) { onChunk(new Uint8Array(buffer)); },"
+                    + " function(error) { onError(String(error)); });")
+    private static native void readSlice(FileProperty file, double start, double end, ChunkHandler onChunk,
+                                         ErrorHandler onError);
+}
@@ -0,0 +1,15 @@
+package org.dataAnalysis;
+
+import org.teavm.jso.JSObject;
+import org.teavm.jso.JSProperty;
+
+public interface FileProperty extends JSObject {
+    @JSProperty
+    String getName();
+
+    @JSProperty
+    double getSize();
+
+    @JSProperty
+    double getLastModified();
+}
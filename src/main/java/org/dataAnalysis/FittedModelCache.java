@@ -0,0 +1,122 @@
+package org.dataAnalysis;
+
+import euclides.math.timeseries.Model;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class FittedModelCache {
+    private final RegressionHandler regressionHandler;
+    private final Map<String, FittedModel> fittedModelMap;
+    private int hits = 0;
+    private int misses = 0;
+
+    public FittedModelCache(RegressionHandler regressionHandler, int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException(Messages.ERROR_CACHE_CAPACITY);
+        }
+        this.regressionHandler = regressionHandler;
+        this.fittedModelMap = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, FittedModel> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    public static long hash(double[] values) {
+        return hash(values, values.length);
+    }
+
+    public static long hash(double[] values, int length) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < length; i++) {
+            hash = (hash ^ Double.doubleToLongBits(values[i])) * 0x100000001b3L;
+            hash ^= hash >>> 29;
+        }
+        return hash ^ length;
+    }
+
+    public static String key(String regression, int[] parameters, long dataHash) {
+        return regression + Arrays.toString(parameters) + Long.toHexString(dataHash);
+    }
+
+    public FittedModel getOrFit(String regression, int[] parameters, double[] values, long dataHash) {
+        String key = key(regression, parameters, dataHash);
+        FittedModel fittedModel = fittedModelMap.get(key);
+        if (fittedModel != null && fittedModel.inputLength == values.length) {
+            hits++;
+            return fittedModel;
+        }
+        misses++;
+        Model model = RegressionHandler.createRegression(regression, parameters);
+        double coefficient = model.init(values);
+        double[] history = regressionHandler.isInstanceAutoRegressionType(model)
+                ? new double[0]
+                : regressionHandler.calculateHistoryDataSetOfRegression(model, values.length);
+        fittedModel = new FittedModel(model, coefficient, values.length, history);
+        fittedModelMap.put(key, fittedModel);
+        return fittedModel;
+    }
+
+    public int size() {
+        return fittedModelMap.size();
+    }
+
+    public int getHits() {
+        return hits;
+    }
+
+    public int getMisses() {
+        return misses;
+    }
+
+    public void clear() {
+        fittedModelMap.clear();
+    }
+
+    public static final class FittedModel {
+        private final Model model;
+        private final double coefficient;
+        private final int inputLength;
+        private final double[] history;
+        private double[] forecast = new double[0];
+
+        private FittedModel(Model model, double coefficient, int inputLength, double[] history) {
+            this.model = model;
+            this.coefficient = coefficient;
+            this.inputLength = inputLength;
+            this.history = history;
+        }
+
+        public Model getModel() {
+            return model;
+        }
+
+        public double getCoefficient() {
+            return coefficient;
+        }
+
+        public int getForecastLength() {
+            return forecast.length;
+        }
+
+        public double[] calculateDataSet(int predictionPoint) {
+            if (predictionPoint < 0) {
+                throw new IllegalArgumentException(Messages.ERROR_NEGATIVE_PREDICTION_POINT);
+            }
+            if (predictionPoint > forecast.length) {
+                int start = forecast.length;
+                forecast = Arrays.copyOf(forecast, predictionPoint);
+                for (int i = start; i < forecast.length; i++) {
+                    forecast[i] = model.eval(i + 1);
+                }
+            }
+            double[] calculatedDataSet = new double[history.length + predictionPoint];
+            System.arraycopy(history, 0, calculatedDataSet, 0, history.length);
+            System.arraycopy(forecast, 0, calculatedDataSet, history.length, predictionPoint);
+            return calculatedDataSet;
+        }
+    }
+}
@@ -0,0 +1,394 @@
+package org.dataAnalysis;
+
+import euclides.math.timeseries.Cancellation;
+import euclides.math.timeseries.ConstantRegression;
+import euclides.math.timeseries.Model;
+import euclides.math.timeseries.SeriesIndex;
+import euclides.math.timeseries.SimpleLinearRegression;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+public class ForecastCache {
+    private static final long ENTRY_OVERHEAD_BYTES = 256;
+    private static final int EXTENSION_CHECK_INTERVAL = 64;
+    // a series index holds six doubles of prefix sums per value
+    private static final long INDEX_BYTES_PER_VALUE = 6 * Double.BYTES;
+
+    private final long maxWeight;
+    private final long timeToLiveNanos;
+    private final LongSupplier clock;
+    private final LinkedHashMap<String, Entry> entryMap = new LinkedHashMap<>(16, 0.75f, true);
+    // model spec -> key of the longest series fitted with it, used to detect appended points
+    private final Map<String, String> latestKeyMap = new HashMap<>();
+    // fits in progress; concurrent misses of the same key wait for the same result instead of fitting again
+    private final Map<String, CompletableFuture<Entry>> inFlightMap = new HashMap<>();
+    private long weight = 0;
+    private long hits = 0;
+    private long misses = 0;
+    private long extensions = 0;
+    private long appends = 0;
+    private long indexAppends = 0;
+    private long evictions = 0;
+    private long expirations = 0;
+    private long coalesced = 0;
+
+    public ForecastCache(long maxWeightBytes, long timeToLiveMillis) {
+        this(maxWeightBytes, timeToLiveMillis, System::nanoTime);
+    }
+
+    ForecastCache(long maxWeightBytes, long timeToLiveMillis, LongSupplier clock) {
+        if (maxWeightBytes < 1 || timeToLiveMillis < 1) {
+            throw new IllegalArgumentException(Messages.ERROR_CACHE_CAPACITY);
+        }
+        this.maxWeight = maxWeightBytes;
+        this.timeToLiveNanos = TimeUnit.MILLISECONDS.toNanos(timeToLiveMillis);
+        this.clock = clock;
+    }
+
+    public static String spec(ForecastRequest request) {
+        return request.getRegression() + Arrays.toString(request.getParameters());
+    }
+
+    public static String key(String spec, double[] values, long seriesHash) {
+        return spec + Long.toHexString(seriesHash) + ":" + values.length;
+    }
+
+    public ForecastResult getOrFit(ForecastRequest request, BiFunction<ForecastRequest, Cancellation, Entry> fitter) {
+        return getOrFit(request, fitter, null);
+    }
+
+    // fits and forecast extensions run as admitted work under the deadline of their cost class;
+    // plain hits do not occupy a slot
+    public ForecastResult getOrFit(ForecastRequest request, BiFunction<ForecastRequest, Cancellation, Entry> fitter,
+                                   AdmissionController admissionController) {
+        String spec = spec(request);
+        double[] values = request.getValues();
+        long seriesHash = FittedModelCache.hash(values);
+        String key = key(spec, values, seriesHash);
+
+        Entry entry;
+        Entry superseded = null;
+        SeriesIndex supersededIndex = null;
+        CompletableFuture<Entry> inFlight;
+        boolean leader = false;
+        synchronized (this) {
+            entry = get(key);
+            inFlight = inFlightMap.get(key);
+            if (entry != null) {
+                hits++;
+            } else if (inFlight != null) {
+                coalesced++;
+            } else {
+                misses++;
+                superseded = removeIfAppended(spec, values);
+                if (superseded != null) {
+                    supersededIndex = superseded.index;
+                    superseded.index = null;
+                }
+                inFlight = new CompletableFuture<>();
+                inFlightMap.put(key, inFlight);
+                leader = true;
+            }
+        }
+        int horizon = request.getHorizon();
+        if (leader) {
+            Model supersededModel = superseded == null ? null : superseded.model;
+            SeriesIndex index = supersededIndex;
+            long cost = index != null
+                    ? values.length + AdmissionController.estimateForecastCost(request, 0)
+                    : AdmissionController.estimateCost(request);
+            entry = fit(() -> admitted(admissionController, cost, cancellation -> {
+                Entry fitted = index != null
+                        ? append(supersededModel, index, values)
+                        : fitter.apply(request, cancellation);
+                if (fitted.extend(horizon, cancellation) > 0) {
+                    extended();
+                }
+                return fitted;
+            }), request, spec, key, seriesHash, inFlight);
+        } else {
+            if (entry == null) {
+                entry = await(inFlight);
+            }
+            int forecastLength = entry.getForecastLength();
+            if (forecastLength < horizon) {
+                Entry cached = entry;
+                admitted(admissionController, AdmissionController.estimateForecastCost(request, forecastLength),
+                        cancellation -> extend(key, cached, horizon, cancellation));
+            }
+        }
+        return new ForecastResult(request.getRegression(), entry.coefficient, entry.fit, entry.forecast(horizon));
+    }
+
+    private static <T> T admitted(AdmissionController admissionController, long cost,
+                                  Function<Cancellation, T> work) {
+        return admissionController == null ? work.apply(Cancellation.NONE) : admissionController.admit(cost, work);
+    }
+
+    private synchronized void extended() {
+        extensions++;
+    }
+
+    private Entry extend(String key, Entry entry, int horizon, Cancellation cancellation) {
+        if (entry.extend(horizon, cancellation) > 0) {
+            synchronized (this) {
+                extensions++;
+                if (entryMap.get(key) == entry) {
+                    long entryWeight = entry.weight();
+                    weight += entryWeight - entry.accountedWeight;
+                    entry.accountedWeight = entryWeight;
+                    evict();
+                }
+            }
+        }
+        return entry;
+    }
+
+    private Entry fit(Supplier<Entry> fitter, ForecastRequest request, String spec, String key, long seriesHash,
+                      CompletableFuture<Entry> inFlight) {
+        Entry entry;
+        try {
+            entry = fitter.get();
+        } catch (RuntimeException | Error e) {
+            synchronized (this) {
+                inFlightMap.remove(key);
+            }
+            inFlight.completeExceptionally(e);
+            throw e;
+        }
+        entry.seriesLength = request.getValues().length;
+        entry.seriesHash = seriesHash;
+        synchronized (this) {
+            inFlightMap.remove(key);
+            put(spec, key, entry);
+        }
+        inFlight.complete(entry);
+        return entry;
+    }
+
+    private static Entry await(CompletableFuture<Entry> inFlight) {
+        try {
+            return inFlight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private Entry get(String key) {
+        Entry entry = entryMap.get(key);
+        if (entry != null && clock.getAsLong() - entry.created > timeToLiveNanos) {
+            remove(key);
+            expirations++;
+            return null;
+        }
+        return entry;
+    }
+
+    // the superseded entry of a series, which has grown by appended points, is never requested again;
+    // its series index, if any, is handed over to the caller for the appended fit
+    private Entry removeIfAppended(String spec, double[] values) {
+        String latestKey = latestKeyMap.get(spec);
+        Entry latest = latestKey == null ? null : entryMap.get(latestKey);
+        if (latest != null && latest.seriesLength < values.length
+                && latest.seriesHash == FittedModelCache.hash(values, latest.seriesLength)) {
+            remove(latestKey);
+            appends++;
+            return latest;
+        }
+        return null;
+    }
+
+    // constant and linear regressions are determined by the prefix sums of a series index, so appended points
+    // only have to be added to the index of the superseded fit; all other models need a refit, because the
+    // free-running score of an autoregression cannot be resumed from summary statistics
+    private Entry append(Model supersededModel, SeriesIndex index, double[] values) {
+        for (int i = index.size(); i < values.length; i++) {
+            index.add(values[i]);
+        }
+        Model model;
+        double coefficient;
+        if (supersededModel instanceof ConstantRegression) {
+            ConstantRegression constantRegression = new ConstantRegression();
+            coefficient = index.fit(constantRegression, 0, values.length);
+            model = constantRegression;
+        } else {
+            SimpleLinearRegression simpleLinearRegression = new SimpleLinearRegression();
+            coefficient = index.fit(simpleLinearRegression, 0, values.length);
+            model = simpleLinearRegression;
+        }
+        double[] fit = new double[values.length];
+        for (int i = 0; i < fit.length; i++) {
+            fit[i] = model.eval(-(fit.length - i - 1));
+        }
+        synchronized (this) {
+            indexAppends++;
+        }
+        return new Entry(model, coefficient, fit, index);
+    }
+
+    private synchronized void put(String spec, String key, Entry entry) {
+        entry.created = clock.getAsLong();
+        Entry previous = entryMap.put(key, entry);
+        if (previous != null) {
+            weight -= previous.accountedWeight;
+        }
+        entry.accountedWeight = entry.weight();
+        weight += entry.accountedWeight;
+        String latestKey = latestKeyMap.get(spec);
+        Entry latest = latestKey == null ? null : entryMap.get(latestKey);
+        if (latest == null || latest.seriesLength <= entry.seriesLength) {
+            latestKeyMap.put(spec, key);
+        }
+        evict();
+    }
+
+    private void evict() {
+        long now = clock.getAsLong();
+        Iterator<Map.Entry<String, Entry>> iterator = entryMap.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, Entry> eldest = iterator.next();
+            boolean expired = now - eldest.getValue().created > timeToLiveNanos;
+            if (!expired && weight <= maxWeight) {
+                continue;
+            }
+            iterator.remove();
+            weight -= eldest.getValue().accountedWeight;
+            if (expired) {
+                expirations++;
+            } else {
+                evictions++;
+            }
+        }
+        latestKeyMap.values().removeIf(latestKey -> !entryMap.containsKey(latestKey));
+    }
+
+    private void remove(String key) {
+        Entry entry = entryMap.remove(key);
+        if (entry != null) {
+            weight -= entry.accountedWeight;
+        }
+    }
+
+    public synchronized int size() {
+        return entryMap.size();
+    }
+
+    public synchronized long getWeight() {
+        return weight;
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    public synchronized long getExtensions() {
+        return extensions;
+    }
+
+    public synchronized long getAppends() {
+        return appends;
+    }
+
+    public synchronized long getIndexAppends() {
+        return indexAppends;
+    }
+
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    public synchronized long getExpirations() {
+        return expirations;
+    }
+
+    public synchronized long getCoalesced() {
+        return coalesced;
+    }
+
+    public synchronized int getInFlight() {
+        return inFlightMap.size();
+    }
+
+    public synchronized void clear() {
+        entryMap.clear();
+        latestKeyMap.clear();
+        weight = 0;
+    }
+
+    public static final class Entry {
+        private final Model model;
+        private final double coefficient;
+        private final double[] fit;
+        private int seriesLength;
+        private long seriesHash;
+        private double[] forecast = new double[0];
+        private long created;
+        // the weight added to the cache total; only read and written under the cache lock
+        private long accountedWeight;
+        // prefix sums of the series for constant and linear regressions; handed over under the cache lock
+        private SeriesIndex index;
+
+        public Entry(Model model, double coefficient, double[] fit) {
+            this(model, coefficient, fit, null);
+        }
+
+        public Entry(Model model, double coefficient, double[] fit, SeriesIndex index) {
+            this.model = model;
+            this.coefficient = coefficient;
+            this.fit = fit;
+            this.index = index;
+        }
+
+        private synchronized int getForecastLength() {
+            return forecast.length;
+        }
+
+        // the extended forecast is published only when it is complete
+        private synchronized int extend(int horizon, Cancellation cancellation) {
+            int start = forecast.length;
+            if (horizon <= start) {
+                return 0;
+            }
+            double[] extended = Arrays.copyOf(forecast, horizon);
+            for (int i = start; i < horizon; i++) {
+                if (i % EXTENSION_CHECK_INTERVAL == 0 && cancellation.isCancelled()) {
+                    throw new CancellationException(Messages.ERROR_FIT_TIMEOUT);
+                }
+                extended[i] = model.eval(i + 1);
+            }
+            forecast = extended;
+            return horizon - start;
+        }
+
+        private synchronized double[] forecast(int horizon) {
+            return Arrays.copyOf(forecast, horizon);
+        }
+
+        private synchronized long weight() {
+            return ENTRY_OVERHEAD_BYTES + (long) Double.BYTES * (fit.length + forecast.length)
+                    + (index == null ? 0 : INDEX_BYTES_PER_VALUE * index.size());
+        }
+    }
+}
@@ -0,0 +1,336 @@
+package org.dataAnalysis;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+public final class ForecastCodec {
+    public static final String JSON = "application/json";
+    public static final String BINARY = "application/octet-stream";
+    static final int MAGIC = 0x46435354;
+    static final int MAX_DEPTH = 64;
+
+    private ForecastCodec() {
+    }
+
+    // binary request: magic, name length, name (UTF-8), parameter count, parameters, horizon, size, values
+    public static ForecastRequest decodeBinary(ByteBuffer buffer) {
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        try {
+            if (buffer.getInt() != MAGIC) {
+                throw new IllegalArgumentException(Messages.ERROR_INVALID_BINARY);
+            }
+            byte[] name = new byte[buffer.getShort() & 0xFFFF];
+            buffer.get(name);
+            int[] parameters = new int[buffer.get() & 0xFF];
+            for (int i = 0; i < parameters.length; i++) {
+                parameters[i] = buffer.getInt();
+            }
+            int horizon = buffer.getInt();
+            int size = buffer.getInt();
+            if (size < 0 || size > buffer.remaining() / Double.BYTES) {
+                throw new IllegalArgumentException(Messages.ERROR_INVALID_BINARY);
+            }
+            double[] values = new double[size];
+            buffer.asDoubleBuffer().get(values);
+            return new ForecastRequest(new String(name, StandardCharsets.UTF_8), parameters, values, horizon);
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException(Messages.ERROR_INVALID_BINARY);
+        }
+    }
+
+    public static ByteBuffer encodeBinary(ForecastRequest request) {
+        byte[] name = request.getRegression().getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.allocate(4 + 2 + name.length + 1 + 4 * request.getParameters().length + 8
+                + Double.BYTES * request.getValues().length).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(MAGIC).putShort((short) name.length).put(name).put((byte) request.getParameters().length);
+        for (int parameter : request.getParameters()) {
+            buffer.putInt(parameter);
+        }
+        buffer.putInt(request.getHorizon()).putInt(request.getValues().length);
+        buffer.asDoubleBuffer().put(request.getValues());
+        return buffer.position(buffer.capacity()).flip();
+    }
+
+    // binary response: coefficient, fit size, fit, forecast size, forecast
+    public static ByteBuffer encodeBinary(ForecastResult result) {
+        ByteBuffer buffer = ByteBuffer.allocate(8 + 4 + 4 + Double.BYTES * (result.getFit().length
+                + result.getForecast().length)).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putDouble(result.getCoefficient()).putInt(result.getFit().length);
+        buffer.asDoubleBuffer().put(result.getFit());
+        buffer.position(buffer.position() + Double.BYTES * result.getFit().length);
+        buffer.putInt(result.getForecast().length);
+        buffer.asDoubleBuffer().put(result.getForecast());
+        return buffer.position(buffer.capacity()).flip();
+    }
+
+    public static ForecastResult decodeBinaryResult(String regression, ByteBuffer buffer) {
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        try {
+            double coefficient = buffer.getDouble();
+            double[] fit = new double[buffer.getInt()];
+            buffer.asDoubleBuffer().get(fit);
+            buffer.position(buffer.position() + Double.BYTES * fit.length);
+            double[] forecast = new double[buffer.getInt()];
+            buffer.asDoubleBuffer().get(forecast);
+            return new ForecastResult(regression, coefficient, fit, forecast);
+        } catch (BufferUnderflowException | IllegalArgumentException | NegativeArraySizeException e) {
+            throw new IllegalArgumentException(Messages.ERROR_INVALID_BINARY);
+        }
+    }
+
+    public static ForecastRequest decodeJson(CharSequence json) {
+        JsonReader reader = new JsonReader(json);
+        String regression = null;
+        int[] parameters = new int[0];
+        double[] values = null;
+        int horizon = 0;
+
+        reader.expect('{');
+        if (!reader.consume('}')) {
+            do {
+                String key = reader.readString();
+                reader.expect(':');
+                switch (key) {
+                    case "regression" -> regression = reader.readString();
+                    case "parameters" -> {
+                        double[] numbers = reader.readNumbers();
+                        parameters = new int[numbers.length];
+                        for (int i = 0; i < numbers.length; i++) {
+                            parameters[i] = toInteger(numbers[i]);
+                        }
+                    }
+                    case "values" -> values = reader.readNumbers();
+                    case "horizon" -> horizon = toInteger(reader.readNumber());
+                    default -> reader.skipValue();
+                }
+            } while (reader.consume(','));
+            reader.expect('}');
+        }
+        reader.expectEnd();
+        return new ForecastRequest(regression, parameters, values, horizon);
+    }
+
+    private static int toInteger(double value) {
+        if (value != Math.rint(value) || value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException(Messages.ERROR_INVALID_JSON);
+        }
+        return (int) value;
+    }
+
+    public static String encodeJson(ForecastResult result) {
+        StringBuilder json = new StringBuilder(64 + 24 * (result.getFit().length + result.getForecast().length));
+        json.append("{\"regression\":");
+        appendString(json, result.getRegression());
+        json.append(",\"coefficient\":");
+        appendNumber(json, result.getCoefficient());
+        json.append(",\"fit\":");
+        appendNumbers(json, result.getFit());
+        json.append(",\"forecast\":");
+        appendNumbers(json, result.getForecast());
+        return json.append('}').toString();
+    }
+
+    public static String encodeJsonError(String message) {
+        StringBuilder json = new StringBuilder(16 + message.length());
+        json.append("{\"error\":");
+        appendString(json, message);
+        return json.append('}').toString();
+    }
+
+    private static void appendString(StringBuilder json, String value) {
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                json.append('\\').append(c);
+            } else if (c < 0x20) {
+                json.append("\\u00").append(Character.forDigit(c >> 4, 16)).append(Character.forDigit(c & 0xF, 16));
+            } else {
+                json.append(c);
+            }
+        }
+        json.append('"');
+    }
+
+    private static void appendNumbers(StringBuilder json, double[] values) {
+        json.append('[');
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            appendNumber(json, values[i]);
+        }
+        json.append(']');
+    }
+
+    private static void appendNumber(StringBuilder json, double value) {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            json.append("null");
+        } else {
+            json.append(value);
+        }
+    }
+
+    private static final class JsonReader {
+        private final CharSequence input;
+        private int position = 0;
+
+        private JsonReader(CharSequence input) {
+            this.input = input;
+        }
+
+        private void skipWhitespace() {
+            while (position < input.length() && Character.isWhitespace(input.charAt(position))) {
+                position++;
+            }
+        }
+
+        private boolean consume(char c) {
+            skipWhitespace();
+            if (position < input.length() && input.charAt(position) == c) {
+                position++;
+                return true;
+            }
+            return false;
+        }
+
+        private void expect(char c) {
+            if (!consume(c)) {
+                throw new IllegalArgumentException(Messages.ERROR_INVALID_JSON);
+            }
+        }
+
+        private void expectEnd() {
+            skipWhitespace();
+            if (position != input.length()) {
+                throw new IllegalArgumentException(Messages.ERROR_INVALID_JSON);
+            }
+        }
+
+        private String readString() {
+            expect('"');
+            StringBuilder value = new StringBuilder();
+            while (position < input.length()) {
+                char c = input.charAt(position++);
+                if (c == '"') {
+                    return value.toString();
+                }
+                if (c == '\\') {
+                    if (position >= input.length()) {
+                        break;
+                    }
+                    c = input.charAt(position++);
+                    switch (c) {
+                        case 'n' -> value.append('\n');
+                        case 't' -> value.append('\t');
+                        case 'r' -> value.append('\r');
+                        case 'b' -> value.append('\b');
+                        case 'f' -> value.append('\f');
+                        case 'u' -> {
+                            if (position + 4 > input.length()) {
+                                throw new IllegalArgumentException(Messages.ERROR_INVALID_JSON);
+                            }
+                            try {
+                                value.append((char) Integer.parseInt(
+                                        input.subSequence(position, position + 4).toString(), 16));
+                            } catch (NumberFormatException e) {
+                                throw new IllegalArgumentException(Messages.ERROR_INVALID_JSON);
+                            }
+                            position += 4;
+                        }
+                        default -> value.append(c);
+                    }
+                } else {
+                    value.append(c);
+                }
+            }
+            throw new IllegalArgumentException(Messages.ERROR_INVALID_JSON);
+        }
+
+        private double readNumber() {
+            skipWhitespace();
+            if (input.length() - position >= 4 && "null".contentEquals(input.subSequence(position, position + 4))) {
+                position += 4;
+                return Double.NaN;
+            }
+            int start = position;
+            while (position < input.length() && "+-0123456789.eE".indexOf(input.charAt(position)) >= 0) {
+                position++;
+            }
+            if (start == position) {
+                throw new IllegalArgumentException(Messages.ERROR_INVALID_JSON);
+            }
+            try {
+                return RawInputDataParser.parseNumber(input, start, position, 1);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException(Messages.ERROR_INVALID_JSON);
+            }
+        }
+
+        private double[] readNumbers() {
+            expect('[');
+            double[] numbers = new double[16];
+            int size = 0;
+            if (!consume(']')) {
+                do {
+                    if (size == numbers.length) {
+                        numbers = Arrays.copyOf(numbers, 2 * size);
+                    }
+                    numbers[size++] = readNumber();
+                } while (consume(','));
+                expect(']');
+            }
+            return Arrays.copyOf(numbers, size);
+        }
+
+        // unknown values are skipped with an explicit stack of closing brackets, so that deeply nested input
+        // is rejected instead of exhausting the call stack
+        private void skipValue() {
+            char[] closing = new char[MAX_DEPTH];
+            int depth = 0;
+            do {
+                skipWhitespace();
+                if (position >= input.length()) {
+                    throw new IllegalArgumentException(Messages.ERROR_INVALID_JSON);
+                }
+                char c = input.charAt(position);
+                if (c == '[' || c == '{') {
+                    if (depth == MAX_DEPTH) {
+                        throw new IllegalArgumentException(Messages.ERROR_INVALID_JSON);
+                    }
+                    position++;
+                    closing[depth++] = c == '[' ? ']' : '}';
+                    if (!consume(closing[depth - 1])) {
+                        if (c == '{') {
+                            readString();
+                            expect(':');
+                        }
+                        continue;
+                    }
+                    depth--;
+                } else if (c == '"') {
+                    readString();
+                } else if (Character.isLetter(c)) {
+                    while (position < input.length() && Character.isLetter(input.charAt(position))) {
+                        position++;
+                    }
+                } else {
+                    readNumber();
+                }
+                while (depth > 0) {
+                    if (consume(',')) {
+                        if (closing[depth - 1] == '}') {
+                            readString();
+                            expect(':');
+                        }
+                        break;
+                    }
+                    expect(closing[--depth]);
+                }
+            } while (depth > 0);
+        }
+    }
+}
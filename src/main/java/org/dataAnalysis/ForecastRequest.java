@@ -0,0 +1,57 @@
+package org.dataAnalysis;
+
+public final class ForecastRequest {
+    public static final int MAX_HORIZON = 100_000;
+    public static final int MAX_PARAMETER = 1024;
+
+    private final String regression;
+    private final int[] parameters;
+    private final double[] values;
+    private final int horizon;
+
+    public ForecastRequest(String regression, int[] parameters, double[] values, int horizon) {
+        if (regression == null) {
+            throw new IllegalArgumentException(Messages.ERROR_UNKNOWN_REGRESSION);
+        }
+        if (parameters == null) {
+            throw new IllegalArgumentException(Messages.ERROR_EMPTY_PARAMETER);
+        }
+        if (values == null || values.length == 0) {
+            throw new IllegalArgumentException(Messages.ERROR_EMPTY_ARRAY);
+        }
+        if (horizon < 0) {
+            throw new IllegalArgumentException(Messages.ERROR_NEGATIVE_PREDICTION_POINT);
+        }
+        if (horizon > MAX_HORIZON) {
+            throw new IllegalArgumentException(Messages.ERROR_HORIZON_TOO_LARGE);
+        }
+        for (int parameter : parameters) {
+            if (parameter < 0 || parameter > MAX_PARAMETER) {
+                throw new IllegalArgumentException(Messages.ERROR_PARAMETER_OUT_OF_RANGE);
+            }
+        }
+        if (parameters.length < RegressionHandler.getRegressionParameterNames(regression).size()) {
+            throw new IllegalArgumentException(Messages.ERROR_EMPTY_PARAMETER);
+        }
+        this.regression = regression;
+        this.parameters = parameters;
+        this.values = values;
+        this.horizon = horizon;
+    }
+
+    public String getRegression() {
+        return regression;
+    }
+
+    public int[] getParameters() {
+        return parameters;
+    }
+
+    public double[] getValues() {
+        return values;
+    }
+
+    public int getHorizon() {
+        return horizon;
+    }
+}
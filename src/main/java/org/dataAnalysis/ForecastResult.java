@@ -0,0 +1,31 @@
+package org.dataAnalysis;
+
+public final class ForecastResult {
+    private final String regression;
+    private final double coefficient;
+    private final double[] fit;
+    private final double[] forecast;
+
+    public ForecastResult(String regression, double coefficient, double[] fit, double[] forecast) {
+        this.regression = regression;
+        this.coefficient = coefficient;
+        this.fit = fit;
+        this.forecast = forecast;
+    }
+
+    public String getRegression() {
+        return regression;
+    }
+
+    public double getCoefficient() {
+        return coefficient;
+    }
+
+    public double[] getFit() {
+        return fit;
+    }
+
+    public double[] getForecast() {
+        return forecast;
+    }
+}
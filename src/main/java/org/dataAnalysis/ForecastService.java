@@ -0,0 +1,75 @@
+package org.dataAnalysis;
+
+import euclides.math.timeseries.Cancellation;
+import euclides.math.timeseries.ConstantRegression;
+import euclides.math.timeseries.FitResult;
+import euclides.math.timeseries.Model;
+import euclides.math.timeseries.SeriesIndex;
+import euclides.math.timeseries.SimpleLinearRegression;
+
+import java.util.concurrent.CancellationException;
+
+public class ForecastService {
+    static final long DEFAULT_CACHE_BYTES = 64L * 1024 * 1024;
+    static final long DEFAULT_CACHE_TIME_TO_LIVE_MILLIS = 10 * 60 * 1000;
+
+    private final RegressionHandler regressionHandler = new RegressionHandler(null);
+    private final ForecastCache forecastCache;
+    private final AdmissionController admissionController;
+
+    public ForecastService() {
+        this(new ForecastCache(DEFAULT_CACHE_BYTES, DEFAULT_CACHE_TIME_TO_LIVE_MILLIS));
+    }
+
+    public ForecastService(ForecastCache forecastCache) {
+        this(forecastCache, new AdmissionController());
+    }
+
+    public ForecastService(ForecastCache forecastCache, AdmissionController admissionController) {
+        this.forecastCache = forecastCache;
+        this.admissionController = admissionController;
+    }
+
+    // only fits and forecast extensions are admitted; plain hits and coalesced requests do not occupy a slot
+    public ForecastResult forecast(ForecastRequest request) {
+        return forecastCache.getOrFit(request, this::fit, admissionController);
+    }
+
+    public ForecastCache getForecastCache() {
+        return forecastCache;
+    }
+
+    public AdmissionController getAdmissionController() {
+        return admissionController;
+    }
+
+    ForecastCache.Entry fit(ForecastRequest request) {
+        return fit(request, Cancellation.NONE);
+    }
+
+    // constant and linear fits keep the prefix sums of their series, so that appended points extend the fit
+    private static SeriesIndex index(Model regression, double[] values) {
+        if (!(regression instanceof ConstantRegression) && !(regression instanceof SimpleLinearRegression)) {
+            return null;
+        }
+        try {
+            return new SeriesIndex(values);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    ForecastCache.Entry fit(ForecastRequest request, Cancellation cancellation) {
+        Model regression = RegressionHandler.createRegression(request.getRegression(), request.getParameters());
+        FitResult fitResult = regression.init(request.getValues(), cancellation);
+        if (!fitResult.isCompleted()) {
+            throw new CancellationException(Messages.ERROR_FIT_TIMEOUT);
+        }
+        double coefficient = fitResult.coefficient();
+        // the autoregressive models do not evaluate historic values, so their in-sample fit is empty
+        double[] fit = regressionHandler.isInstanceAutoRegressionType(regression)
+                ? new double[0]
+                : regressionHandler.calculateHistoryDataSetOfRegression(regression, request.getValues().length);
+        return new ForecastCache.Entry(regression, coefficient, fit, index(regression, request.getValues()));
+    }
+}
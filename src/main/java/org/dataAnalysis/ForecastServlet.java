@@ -0,0 +1,224 @@
+package org.dataAnalysis;
+
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.annotation.WebServlet;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// POST a series and a regression spec, as JSON or in the binary format of ForecastCodec; the response holds the
+// coefficient of determination, the in-sample fit and the forecast. The fit is empty for the autoregressive
+// models (AR, ARMA and ARIMA), which do not evaluate historic values.
+@WebServlet(urlPatterns = "/api/forecast", asyncSupported = true)
+public class ForecastServlet extends HttpServlet {
+    static final int MAX_REQUEST_BYTES = 64 * 1024 * 1024;
+    static final int SC_TOO_MANY_REQUESTS = 429;
+    private static final String RETRY_AFTER_SECONDS = "1";
+    private static final long ASYNC_TIMEOUT_MILLIS = 90_000;
+
+    private ForecastService forecastService;
+
+    public ForecastServlet() {
+    }
+
+    ForecastServlet(ForecastService forecastService) {
+        this.forecastService = forecastService;
+    }
+
+    @Override
+    public void init() throws ServletException {
+        if (forecastService == null) {
+            forecastService = new ForecastService();
+        }
+    }
+
+    // the request is decoded and classified on the container's thread; the fit waits in the bounded executor
+    // of its cost class, whose overflow is answered at once instead of queueing behind other cost classes
+    @Override
+    protected void doPost(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        boolean binaryRequest = isBinary(request.getContentType());
+        String accept = request.getHeader("Accept");
+        boolean binaryResponse = accept == null ? binaryRequest : isBinary(accept);
+        ForecastRequest forecastRequest;
+        try {
+            forecastRequest = binaryRequest
+                    ? ForecastCodec.decodeBinary(ByteBuffer.wrap(readBody(request)))
+                    : ForecastCodec.decodeJson(new String(readBody(request), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            writeError(response, HttpServletResponse.SC_BAD_REQUEST, e.getMessage(), false);
+            return;
+        } catch (OutOfMemoryError e) {
+            log("forecast request ran out of memory", e);
+            writeError(response, HttpServletResponse.SC_SERVICE_UNAVAILABLE, Messages.ERROR_REQUEST_TOO_LARGE, true);
+            return;
+        } catch (IOException e) {
+            log("forecast request could not be read", e);
+            return;
+        }
+
+        AsyncContext asyncContext = request.startAsync();
+        asyncContext.setTimeout(ASYNC_TIMEOUT_MILLIS);
+        // the worker and the container's timeout race for the response; only the first one writes it
+        AtomicBoolean responded = new AtomicBoolean(false);
+        asyncContext.addListener(new AsyncListener() {
+            @Override
+            public void onTimeout(AsyncEvent event) {
+                respond(asyncContext, response, responded, HttpServletResponse.SC_SERVICE_UNAVAILABLE,
+                        Messages.ERROR_FIT_TIMEOUT, true);
+            }
+
+            @Override
+            public void onComplete(AsyncEvent event) {
+            }
+
+            @Override
+            public void onError(AsyncEvent event) {
+                responded.set(true);
+            }
+
+            @Override
+            public void onStartAsync(AsyncEvent event) {
+            }
+        });
+        try {
+            forecastService.getAdmissionController().execute(forecastRequest, () -> {
+                if (process(forecastRequest, binaryResponse, response, responded)) {
+                    asyncContext.complete();
+                }
+            });
+        } catch (IllegalArgumentException e) {
+            respond(asyncContext, response, responded, HttpServletResponse.SC_BAD_REQUEST, e.getMessage(), false);
+        } catch (RejectedExecutionException e) {
+            respond(asyncContext, response, responded, SC_TOO_MANY_REQUESTS, e.getMessage(), true);
+        }
+    }
+
+    private void respond(AsyncContext asyncContext, HttpServletResponse response, AtomicBoolean responded,
+                         int status, String message, boolean retryAfter) {
+        if (responded.compareAndSet(false, true)) {
+            writeError(response, status, message, retryAfter);
+            asyncContext.complete();
+        }
+    }
+
+    private boolean process(ForecastRequest forecastRequest, boolean binaryResponse, HttpServletResponse response,
+                            AtomicBoolean responded) {
+        // a fit, which has waited beyond the container's timeout, has already been answered
+        if (responded.get()) {
+            return false;
+        }
+        int status;
+        String contentType = ForecastCodec.JSON;
+        byte[] body;
+        int length;
+        boolean retryAfter = false;
+        try {
+            ForecastResult result = forecastService.forecast(forecastRequest);
+            status = HttpServletResponse.SC_OK;
+            if (binaryResponse) {
+                ByteBuffer buffer = ForecastCodec.encodeBinary(result);
+                contentType = ForecastCodec.BINARY;
+                body = buffer.array();
+                length = buffer.limit();
+            } else {
+                body = ForecastCodec.encodeJson(result).getBytes(StandardCharsets.UTF_8);
+                length = body.length;
+            }
+        } catch (IllegalArgumentException e) {
+            status = HttpServletResponse.SC_BAD_REQUEST;
+            body = errorBody(e.getMessage());
+            length = body.length;
+        } catch (RejectedExecutionException e) {
+            status = SC_TOO_MANY_REQUESTS;
+            body = errorBody(e.getMessage());
+            length = body.length;
+            retryAfter = true;
+        } catch (CancellationException e) {
+            status = HttpServletResponse.SC_SERVICE_UNAVAILABLE;
+            body = errorBody(e.getMessage());
+            length = body.length;
+            retryAfter = true;
+        } catch (RuntimeException e) {
+            log("forecast failed", e);
+            status = HttpServletResponse.SC_INTERNAL_SERVER_ERROR;
+            body = errorBody(e.getMessage());
+            length = body.length;
+        } catch (OutOfMemoryError e) {
+            log("forecast ran out of memory", e);
+            status = HttpServletResponse.SC_SERVICE_UNAVAILABLE;
+            body = errorBody(Messages.ERROR_REQUEST_TOO_LARGE);
+            length = body.length;
+            retryAfter = true;
+        }
+        if (!responded.compareAndSet(false, true)) {
+            return false;
+        }
+        try {
+            write(response, status, contentType, body, length, retryAfter);
+        } catch (IOException e) {
+            log("forecast response could not be written", e);
+        }
+        return true;
+    }
+
+    static boolean isBinary(String contentType) {
+        return contentType != null && contentType.startsWith(ForecastCodec.BINARY);
+    }
+
+    private static byte[] readBody(HttpServletRequest request) throws IOException {
+        long length = request.getContentLengthLong();
+        if (length > MAX_REQUEST_BYTES) {
+            throw new IllegalArgumentException(Messages.ERROR_REQUEST_TOO_LARGE);
+        }
+        try (InputStream input = request.getInputStream()) {
+            byte[] body = input.readNBytes(MAX_REQUEST_BYTES + 1);
+            if (body.length > MAX_REQUEST_BYTES) {
+                throw new IllegalArgumentException(Messages.ERROR_REQUEST_TOO_LARGE);
+            }
+            return body;
+        }
+    }
+
+    private static byte[] errorBody(String message) {
+        return ForecastCodec.encodeJsonError(String.valueOf(message)).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private void writeError(HttpServletResponse response, int status, String message, boolean retryAfter) {
+        byte[] json = errorBody(message);
+        try {
+            write(response, status, ForecastCodec.JSON, json, json.length, retryAfter);
+        } catch (IOException e) {
+            log("error response could not be written", e);
+        }
+    }
+
+    private static void write(HttpServletResponse response, int status, String contentType, byte[] body, int length,
+                              boolean retryAfter) throws IOException {
+        response.setStatus(status);
+        if (retryAfter) {
+            response.setHeader("Retry-After", RETRY_AFTER_SECONDS);
+        }
+        response.setContentType(contentType);
+        response.setContentLength(length);
+        try (OutputStream output = response.getOutputStream()) {
+            output.write(body, 0, length);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        forecastService.getAdmissionController().shutdown();
+    }
+}
@@ -1,5 +1,6 @@
 package org.dataAnalysis;
 
+import org.teavm.jso.JSBody;
 import org.teavm.jso.browser.Window;
 import org.teavm.jso.dom.html.*;
 
@@ -55,10 +56,17 @@ public class HtmlHandler {
         Window.current().scrollTo(left, top - topOffset);
     }
 
-    public HTMLInputElement getInputDataElement() {
-        return doc.getElementById("temporary-data-storage").cast();
+    public HTMLInputElement getUploadButtonElement() {
+        return doc.getElementById("uploadButton").cast();
     }
 
+    public FileProperty getSelectedFile() {
+        return getFirstFile(getUploadButtonElement());
+    }
+
+    @JSBody(params = "input", script = "return input.files && input.files.length > 0 ? input.files[0] : null;")
+    private static native FileProperty getFirstFile(HTMLInputElement input);
+
     public String[] getSelectedRegressionsFromHTML() {
         HTMLFormElement form = doc.getElementById("regression_selector").cast();
         HTMLCollection inputs = form.getElementsByTagName("input").cast();
@@ -81,6 +89,24 @@ public class HtmlHandler {
         return selectedCheckboxes;
     }
 
+    public void selectRegression(String regression) {
+        HTMLInputElement checkbox = doc.getElementById(regression).cast();
+        checkbox.setChecked(true);
+        dispatchChangeEvent(checkbox);
+    }
+
+    public void setPredictionPoint(int predictionPoint) {
+        HTMLInputElement predictionPointInput = doc.getElementById("PredictionPoint").cast();
+        predictionPointInput.setValue(String.valueOf(predictionPoint));
+    }
+
+    @JSBody(params = "element", script = "element.dispatchEvent(new Event('change'));")
+    private static native void dispatchChangeEvent(HTMLInputElement element);
+
+    @JSBody(script = "if (typeof toggleVisibilityOfOutputDiv === 'function') { toggleVisibilityOfOutputDiv(); }"
+            + " if (typeof updateCanvasBackgroundColors === 'function') { updateCanvasBackgroundColors(); }")
+    public static native void showSelectedOutputSections();
+
     public int getPredictionPointFromHTML() {
         HTMLInputElement predictionPointInput = doc.getElementById("PredictionPoint").cast();
         int predictionPoint = Integer.parseInt(predictionPointInput.getValue());
@@ -0,0 +1,70 @@
+package org.dataAnalysis;
+
+import java.util.Arrays;
+
+public class IncrementalValueParser {
+    private static final int MAX_LINE_LENGTH = 1 << 16;
+    private final StringBuilder pendingLine = new StringBuilder();
+    private double[] values = new double[1024];
+    private int size = 0;
+    private int line = 1;
+    private int blankLines = 0;
+
+    public void append(CharSequence chunk) {
+        int length = chunk.length();
+        int lineStart = 0;
+        for (int i = 0; i < length; i++) {
+            if (chunk.charAt(i) != '\n') {
+                continue;
+            }
+            if (pendingLine.length() > 0) {
+                pendingLine.append(chunk, lineStart, i);
+                acceptLine(pendingLine, 0, pendingLine.length());
+                pendingLine.setLength(0);
+            } else {
+                acceptLine(chunk, lineStart, i);
+            }
+            lineStart = i + 1;
+        }
+        if (pendingLine.length() + length - lineStart > MAX_LINE_LENGTH) {
+            throw RawInputDataParser.lineError(line, Messages.ERROR_LINE_TOO_LONG);
+        }
+        pendingLine.append(chunk, lineStart, length);
+    }
+
+    public double[] finish() {
+        if (pendingLine.length() > 0) {
+            acceptLine(pendingLine, 0, pendingLine.length());
+            pendingLine.setLength(0);
+        }
+        if (size == 0) {
+            throw new IllegalArgumentException(Messages.ERROR_EMPTY_ARRAY);
+        }
+        return Arrays.copyOf(values, size);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private void acceptLine(CharSequence input, int lineStart, int lineEnd) {
+        int end = lineEnd;
+        if (end > lineStart && input.charAt(end - 1) == '\r') {
+            end--;
+        }
+        if (end == lineStart) {
+            // blank lines are only valid at the end of the input
+            blankLines++;
+            line++;
+            return;
+        }
+        if (blankLines > 0) {
+            throw RawInputDataParser.lineError(line - blankLines, Messages.ERROR_2D_ARRAY);
+        }
+        if (size == values.length) {
+            values = Arrays.copyOf(values, 2 * size);
+        }
+        values[size++] = RawInputDataParser.parseLine(input, lineStart, end, line);
+        line++;
+    }
+}
@@ -0,0 +1,46 @@
+package org.dataAnalysis;
+
+import java.nio.ByteBuffer;
+
+final class MappedCharSequence implements CharSequence {
+    private final ByteBuffer bytes;
+    private final int offset;
+    private final int length;
+
+    MappedCharSequence(ByteBuffer bytes) {
+        this(bytes, 0, bytes.limit());
+    }
+
+    private MappedCharSequence(ByteBuffer bytes, int offset, int length) {
+        this.bytes = bytes;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        return (char) (bytes.get(offset + index) & 0xFF);
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        if (start < 0 || end > length || start > end) {
+            throw new IndexOutOfBoundsException();
+        }
+        return new MappedCharSequence(bytes, offset + start, end - start);
+    }
+
+    @Override
+    public String toString() {
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = charAt(i);
+        }
+        return new String(chars);
+    }
+}
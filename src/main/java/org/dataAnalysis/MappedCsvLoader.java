@@ -0,0 +1,195 @@
+package org.dataAnalysis;
+
+import euclides.math.timeseries.TimeSeries;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+public class MappedCsvLoader {
+    private static final int DEFAULT_CHUNK_SIZE = 16 << 20;
+    private static final int SCAN_BUFFER_SIZE = 1 << 16;
+
+    private final ForkJoinPool pool;
+    private final int chunkSize;
+
+    public MappedCsvLoader() {
+        this(ForkJoinPool.commonPool(), DEFAULT_CHUNK_SIZE);
+    }
+
+    public MappedCsvLoader(ForkJoinPool pool, int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException(Messages.ERROR_CHUNK_SIZE);
+        }
+        this.pool = pool;
+        this.chunkSize = chunkSize;
+    }
+
+    public double[] loadValues(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return stitchValues(parseChunks(mapChunks(channel), MappedCsvLoader::parseValues, values -> values.length));
+        }
+    }
+
+    public TimeSeries loadSeries(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            List<CharSequence> chunks = mapChunks(channel);
+            TimeSeries series;
+            if (RawInputDataParser.hasTimestamps(chunks.get(0), 0, chunks.get(0).length())) {
+                List<TimeSeries> parts = parseChunks(chunks, MappedCsvLoader::parseSeries, TimeSeries::size);
+                int size = 0;
+                for (TimeSeries part : parts) {
+                    size += part.size();
+                }
+                series = new TimeSeries(size);
+                for (TimeSeries part : parts) {
+                    for (int i = 0; i < part.size(); i++) {
+                        series.add(part.time(i), part.value(i));
+                    }
+                }
+            } else {
+                double[] values = stitchValues(parseChunks(chunks, MappedCsvLoader::parseValues, v -> v.length));
+                series = new TimeSeries(values.length);
+                for (int i = 0; i < values.length; i++) {
+                    series.add(i, values[i]);
+                }
+            }
+            return series;
+        }
+    }
+
+    private static double[] parseValues(CharSequence chunk) {
+        return RawInputDataParser.parseValues(chunk, 0, chunk.length(), 1);
+    }
+
+    private static TimeSeries parseSeries(CharSequence chunk) {
+        TimeSeries part = new TimeSeries(Math.max(16, chunk.length() / 16));
+        RawInputDataParser.parseSeries(chunk, 0, chunk.length(), 1, part);
+        return part;
+    }
+
+    private <T> List<T> parseChunks(List<CharSequence> chunks, Function<CharSequence, T> parser,
+                                    ToIntFunction<T> lineCount) {
+        List<ChunkTask<T>> tasks = new ArrayList<>(chunks.size());
+        for (CharSequence chunk : chunks) {
+            tasks.add(new ChunkTask<>(chunk, parser));
+        }
+        pool.invoke(new RecursiveAction() {
+            @Override
+            protected void compute() {
+                invokeAll(tasks);
+            }
+        });
+
+        List<T> results = new ArrayList<>(tasks.size());
+        int linesBefore = 0;
+        for (ChunkTask<T> task : tasks) {
+            if (task.failure != null) {
+                throw RawInputDataParser.lineError(linesBefore + task.failure.getLine(), task.failure.getReason());
+            }
+            linesBefore += lineCount.applyAsInt(task.result);
+            results.add(task.result);
+        }
+        return results;
+    }
+
+    private static double[] stitchValues(List<double[]> parts) {
+        int size = 0;
+        for (double[] part : parts) {
+            size += part.length;
+        }
+        double[] values = new double[size];
+        int position = 0;
+        for (double[] part : parts) {
+            System.arraycopy(part, 0, values, position, part.length);
+            position += part.length;
+        }
+        return values;
+    }
+
+    private List<CharSequence> mapChunks(FileChannel channel) throws IOException {
+        long end = trimTrailingLineBreaks(channel);
+        if (end == 0) {
+            throw new IllegalArgumentException(Messages.ERROR_EMPTY_ARRAY);
+        }
+
+        List<CharSequence> chunks = new ArrayList<>();
+        long start = 0;
+        while (start < end) {
+            long chunkEnd = end - start <= chunkSize ? end : nextLineStart(channel, start + chunkSize, end);
+            if (chunkEnd - start > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException(Messages.ERROR_LINE_TOO_LONG);
+            }
+            chunks.add(new MappedCharSequence(channel.map(FileChannel.MapMode.READ_ONLY, start, chunkEnd - start)));
+            start = chunkEnd;
+        }
+        return chunks;
+    }
+
+    private static long nextLineStart(FileChannel channel, long position, long end) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(SCAN_BUFFER_SIZE);
+        while (position < end) {
+            buffer.clear();
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                break;
+            }
+            for (int i = 0; i < read && position + i < end; i++) {
+                if (buffer.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+        return end;
+    }
+
+    private static long trimTrailingLineBreaks(FileChannel channel) throws IOException {
+        long end = channel.size();
+        ByteBuffer buffer = ByteBuffer.allocate(SCAN_BUFFER_SIZE);
+        while (end > 0) {
+            int length = (int) Math.min(SCAN_BUFFER_SIZE, end);
+            buffer.clear().limit(length);
+            while (buffer.hasRemaining() && channel.read(buffer, end - length + buffer.position()) >= 0) {
+                // read until the buffer is filled
+            }
+            for (int i = length - 1; i >= 0; i--) {
+                byte b = buffer.get(i);
+                if (b != '\n' && b != '\r') {
+                    return end - length + i + 1;
+                }
+            }
+            end -= length;
+        }
+        return 0;
+    }
+
+    private static final class ChunkTask<T> extends RecursiveAction {
+        private final CharSequence chunk;
+        private final Function<CharSequence, T> parser;
+        private T result;
+        private RawInputDataParser.LineException failure;
+
+        private ChunkTask(CharSequence chunk, Function<CharSequence, T> parser) {
+            this.chunk = chunk;
+            this.parser = parser;
+        }
+
+        @Override
+        protected void compute() {
+            try {
+                result = parser.apply(chunk);
+            } catch (RawInputDataParser.LineException e) {
+                failure = e;
+            }
+        }
+    }
+}
@@ -11,6 +11,28 @@ public class Messages {
     public static final String ERROR_DATASET_LENGTH;
     public static final String ERROR_CANVAS_NOT_FOUND;
     public static final String ERROR_EMPTY_PARAMETER;
+    public static final String ERROR_IN_LINE;
+    public static final String ERROR_INVALID_NUMBER;
+    public static final String ERROR_INVALID_TIMESTAMP;
+    public static final String ERROR_CHUNK_SIZE;
+    public static final String ERROR_LINE_TOO_LONG;
+    public static final String ERROR_NOT_A_SERIES_FILE;
+    public static final String ERROR_UNSUPPORTED_VERSION;
+    public static final String ERROR_CORRUPT_SERIES_FILE;
+    public static final String ERROR_COMPRESSED_SERIES_FILE;
+    public static final String ERROR_CACHE_CAPACITY;
+    public static final String ERROR_FILE_NOT_LOADED;
+    public static final String ERROR_INVALID_JSON;
+    public static final String ERROR_INVALID_BINARY;
+    public static final String ERROR_REQUEST_TOO_LARGE;
+    public static final String ERROR_FIT_TOO_EXPENSIVE;
+    public static final String ERROR_QUEUE_FULL;
+    public static final String ERROR_QUEUE_CAPACITY;
+    public static final String ERROR_FIT_DEADLINE;
+    public static final String ERROR_FIT_TIMEOUT;
+    public static final String ERROR_HORIZON_TOO_LARGE;
+    public static final String ERROR_PARAMETER_OUT_OF_RANGE;
+    public static final String ERROR_UNKNOWN_ENGINE;
     static {
         ERROR_2D_ARRAY = "The input has to be a 2d array.";
         ERROR_EMPTY_ARRAY = "The input is empty.";
@@ -22,5 +44,27 @@ public class Messages {
         ERROR_DATASET_LENGTH = "The length of the prepared input and prepared calculated data is not equal.";
         ERROR_EMPTY_PARAMETER = "At least one regression parameter is empty.";
         ERROR_CANVAS_NOT_FOUND = "Canvas not found.";
+        ERROR_IN_LINE = "Error in line ";
+        ERROR_INVALID_NUMBER = "The value is not a valid number.";
+        ERROR_INVALID_TIMESTAMP = "The timestamp is not valid.";
+        ERROR_CHUNK_SIZE = "The chunk size has to be positive.";
+        ERROR_LINE_TOO_LONG = "A line of the input is too long.";
+        ERROR_NOT_A_SERIES_FILE = "The file is not a series file.";
+        ERROR_UNSUPPORTED_VERSION = "The version of the series file is not supported.";
+        ERROR_CORRUPT_SERIES_FILE = "The series file is corrupt.";
+        ERROR_COMPRESSED_SERIES_FILE = "A compressed series file cannot be mapped.";
+        ERROR_CACHE_CAPACITY = "The cache capacity has to be positive.";
+        ERROR_FILE_NOT_LOADED = "No input file has been loaded yet.";
+        ERROR_INVALID_JSON = "The request is not valid JSON.";
+        ERROR_INVALID_BINARY = "The binary request is corrupt.";
+        ERROR_REQUEST_TOO_LARGE = "The request is too large.";
+        ERROR_FIT_TOO_EXPENSIVE = "The requested fit is too expensive.";
+        ERROR_QUEUE_FULL = "Too many fits are waiting, please retry later.";
+        ERROR_QUEUE_CAPACITY = "The concurrency, queue capacity and deadline have to be positive.";
+        ERROR_FIT_DEADLINE = "The fit could not be started before its deadline.";
+        ERROR_FIT_TIMEOUT = "The fit did not finish before its deadline.";
+        ERROR_HORIZON_TOO_LARGE = "The forecast horizon is too large.";
+        ERROR_PARAMETER_OUT_OF_RANGE = "A regression parameter is out of range.";
+        ERROR_UNKNOWN_ENGINE = "Unknown forecast engine.";
     }
 }
\ No newline at end of file
@@ -0,0 +1,113 @@
+package org.dataAnalysis;
+
+public class MinMaxPyramid {
+    private final double[][] dataSet;
+    private final int column;
+    // index of the minimum and the maximum of each node; -1 for nodes without any value
+    private final int[][] minLevels;
+    private final int[][] maxLevels;
+    private final int length;
+
+    public MinMaxPyramid(double[][] dataSet, int column) {
+        if (dataSet.length == 0) {
+            throw new IllegalArgumentException(Messages.ERROR_EMPTY_DATASET);
+        }
+        this.dataSet = dataSet;
+        this.column = column;
+        length = dataSet.length;
+        int levels = 32 - Integer.numberOfLeadingZeros(length);
+        minLevels = new int[levels][];
+        maxLevels = new int[levels][];
+
+        int[] indices = new int[length];
+        for (int i = 0; i < length; i++) {
+            indices[i] = Double.isNaN(dataSet[i][column]) ? -1 : i;
+        }
+        minLevels[0] = indices;
+        maxLevels[0] = indices;
+
+        for (int level = 1; level < levels; level++) {
+            int[] lowerMins = minLevels[level - 1];
+            int[] lowerMaxs = maxLevels[level - 1];
+            int[] mins = new int[lowerMins.length / 2];
+            int[] maxs = new int[lowerMaxs.length / 2];
+            for (int i = 0; i < mins.length; i++) {
+                mins[i] = select(lowerMins[2 * i], lowerMins[2 * i + 1], true);
+                maxs[i] = select(lowerMaxs[2 * i], lowerMaxs[2 * i + 1], false);
+            }
+            minLevels[level] = mins;
+            maxLevels[level] = maxs;
+        }
+    }
+
+    public int length() {
+        return length;
+    }
+
+    public double get(int index) {
+        return dataSet[index][column];
+    }
+
+    public int getMinIndex(int startIndex, int endIndex) {
+        return query(minLevels, startIndex, endIndex, true);
+    }
+
+    public int getMaxIndex(int startIndex, int endIndex) {
+        return query(maxLevels, startIndex, endIndex, false);
+    }
+
+    public double getMin(int startIndex, int endIndex) {
+        int index = getMinIndex(startIndex, endIndex);
+        return index < 0 ? Double.NaN : get(index);
+    }
+
+    public double getMax(int startIndex, int endIndex) {
+        int index = getMaxIndex(startIndex, endIndex);
+        return index < 0 ? Double.NaN : get(index);
+    }
+
+    // splits the range into as many pixel columns as the arrays hold and answers each column in O(log n),
+    // i.e. the extrema of a drawn range cost O(width log n) independent of its length
+    public void getColumnMinMax(int startIndex, int endIndex, int[] minIndices, int[] maxIndices) {
+        int columns = minIndices.length;
+        long length = endIndex - startIndex;
+        for (int column = 0; column < columns; column++) {
+            int from = startIndex + (int) (column * length / columns);
+            int to = startIndex + (int) ((column + 1) * length / columns);
+            if (from >= to) {
+                minIndices[column] = -1;
+                maxIndices[column] = -1;
+            } else {
+                minIndices[column] = getMinIndex(from, to);
+                maxIndices[column] = getMaxIndex(from, to);
+            }
+        }
+    }
+
+    // ties keep the earlier index
+    private int select(int first, int second, boolean min) {
+        if (first < 0 || second < 0) {
+            return first < 0 ? second : first;
+        }
+        double firstValue = get(first);
+        double secondValue = get(second);
+        return (min ? secondValue < firstValue : secondValue > firstValue) ? second : first;
+    }
+
+    private int query(int[][] levels, int startIndex, int endIndex, boolean min) {
+        if (startIndex < 0 || endIndex > length || startIndex >= endIndex) {
+            throw new IllegalArgumentException(Messages.ERROR_EMPTY_DATASET);
+        }
+        int result = -1;
+        int index = startIndex;
+        while (index < endIndex) {
+            int level = Integer.numberOfTrailingZeros(index | Integer.highestOneBit(endIndex - index));
+            while ((1 << level) > endIndex - index || (index >> level) >= levels[level].length) {
+                level--;
+            }
+            result = select(result, levels[level][index >> level], min);
+            index += 1 << level;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,138 @@
+package org.dataAnalysis;
+
+import org.teavm.jso.JSObject;
+import org.teavm.jso.core.JSObjects;
+import org.teavm.jso.core.JSString;
+import org.teavm.jso.indexeddb.IDBDatabase;
+import org.teavm.jso.indexeddb.IDBFactory;
+import org.teavm.jso.indexeddb.IDBGetRequest;
+import org.teavm.jso.indexeddb.IDBObjectStore;
+import org.teavm.jso.indexeddb.IDBObjectStoreParameters;
+import org.teavm.jso.indexeddb.IDBOpenDBRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+public class PersistenceHandler {
+    private static final String DATABASE_NAME = "timeSeriesAnalysis";
+    private static final int DATABASE_VERSION = 1;
+    private static final String SERIES_STORE = "series";
+    private static final String SESSION_STORE = "session";
+    private static final String SESSION_KEY = "last";
+    private IDBDatabase database;
+    private boolean available;
+    private final List<Runnable> pendingOperations = new ArrayList<>();
+
+    public PersistenceHandler() {
+        available = IDBFactory.isSupported();
+        if (!available) {
+            return;
+        }
+        IDBOpenDBRequest request = IDBFactory.getInstance().open(DATABASE_NAME, DATABASE_VERSION);
+        request.setOnUpgradeNeeded(event -> {
+            IDBDatabase upgradedDatabase = request.getResult();
+            upgradedDatabase.createObjectStore(SERIES_STORE, IDBObjectStoreParameters.create().keyPath("key"));
+            upgradedDatabase.createObjectStore(SESSION_STORE, IDBObjectStoreParameters.create().keyPath("key"));
+        });
+        request.setOnSuccess(() -> {
+            database = request.getResult();
+            runPendingOperations();
+        });
+        request.setOnError(() -> {
+            available = false;
+            runPendingOperations();
+        });
+    }
+
+    public static String seriesKey(FileProperty file) {
+        return file.getName() + "|" + (long) file.getSize() + "|" + (long) file.getLastModified();
+    }
+
+    public void saveSeries(String seriesKey, double[] values, long dataHash) {
+        whenOpen(() -> {
+            StoredSeries series = StoredSeries.create();
+            series.setKey(seriesKey);
+            series.setHash(Long.toHexString(dataHash));
+            series.setValues(RegressionWorkerMessage.toFloat64Array(values));
+            // only the most recent series is kept
+            IDBObjectStore store = database.transaction(SERIES_STORE, IDBDatabase.TRANSACTION_READWRITE)
+                    .objectStore(SERIES_STORE);
+            store.clear();
+            store.put(series);
+        });
+    }
+
+    public void loadSeries(String seriesKey, Consumer<double[]> callback) {
+        whenOpen(() -> {
+            IDBGetRequest request = database.transaction(SERIES_STORE).objectStore(SERIES_STORE)
+                    .get(JSString.valueOf(seriesKey));
+            request.setOnSuccess(() -> {
+                StoredSeries series = isMissing(request.getResult()) ? null : request.getResult().cast();
+                callback.accept(series == null ? null : verifiedValues(series));
+            });
+            request.setOnError(() -> callback.accept(null));
+        }, () -> callback.accept(null));
+    }
+
+    public void saveSession(StoredSession session) {
+        whenOpen(() -> {
+            session.setKey(SESSION_KEY);
+            database.transaction(SESSION_STORE, IDBDatabase.TRANSACTION_READWRITE).objectStore(SESSION_STORE)
+                    .put(session);
+        });
+    }
+
+    public void loadSession(Consumer<StoredSession> callback) {
+        whenOpen(() -> {
+            IDBGetRequest request = database.transaction(SESSION_STORE).objectStore(SESSION_STORE)
+                    .get(JSString.valueOf(SESSION_KEY));
+            request.setOnSuccess(() -> {
+                if (!isMissing(request.getResult())) {
+                    callback.accept(request.getResult().cast());
+                }
+            });
+        });
+    }
+
+    // a stored series whose values do not match its hash is treated as missing and parsed again
+    private static double[] verifiedValues(StoredSeries series) {
+        if (series.getValues() == null || series.getHash() == null) {
+            return null;
+        }
+        double[] values = RegressionWorkerMessage.toDoubleArray(series.getValues());
+        return series.getHash().equals(Long.toHexString(FittedModelCache.hash(values))) ? values : null;
+    }
+
+    private static boolean isMissing(JSObject result) {
+        return result == null || JSObjects.isUndefined(result);
+    }
+
+    private void whenOpen(Runnable operation) {
+        whenOpen(operation, () -> { });
+    }
+
+    private void whenOpen(Runnable operation, Runnable fallback) {
+        if (database != null) {
+            operation.run();
+        } else if (available) {
+            pendingOperations.add(() -> {
+                if (database != null) {
+                    operation.run();
+                } else {
+                    fallback.run();
+                }
+            });
+        } else {
+            fallback.run();
+        }
+    }
+
+    private void runPendingOperations() {
+        List<Runnable> operations = new ArrayList<>(pendingOperations);
+        pendingOperations.clear();
+        for (Runnable operation : operations) {
+            operation.run();
+        }
+    }
+}
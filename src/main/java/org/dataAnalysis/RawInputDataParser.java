@@ -0,0 +1,386 @@
+package org.dataAnalysis;
+
+import euclides.math.timeseries.TimeSeries;
+
+import java.util.Arrays;
+
+public final class RawInputDataParser {
+    private static final char SEPARATOR = ';';
+    private static final long NO_TIMESTAMP = Long.MIN_VALUE;
+    private static final long MILLIS_PER_DAY = 86400000L;
+    private static final long MAX_EXACT_MANTISSA = 1L << 53;
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+
+    private RawInputDataParser() {
+    }
+
+    public static double[] parseValues(CharSequence input) {
+        if (input == null || input.length() == 0) {
+            throw new IllegalArgumentException(Messages.ERROR_EMPTY_ARRAY);
+        }
+        double[] values = parseValues(input, 0, trimTrailingLineBreaks(input), 1);
+        if (values.length == 0) {
+            throw new IllegalArgumentException(Messages.ERROR_EMPTY_ARRAY);
+        }
+        return values;
+    }
+
+    static double[] parseValues(CharSequence input, int start, int end, int firstLine) {
+        double[] values = new double[Math.max(16, (end - start) / 16)];
+        int size = 0;
+        int line = firstLine;
+        int lineStart = start;
+
+        while (lineStart < end) {
+            int lineEnd = lineStart;
+            int separator = -1;
+            while (lineEnd < end && input.charAt(lineEnd) != '\n') {
+                if (separator < 0 && input.charAt(lineEnd) == SEPARATOR) {
+                    separator = lineEnd;
+                }
+                lineEnd++;
+            }
+            if (separator < 0) {
+                throw lineError(line, Messages.ERROR_2D_ARRAY);
+            }
+            if (size == values.length) {
+                values = Arrays.copyOf(values, 2 * size);
+            }
+            values[size++] = parseNumber(input, separator + 1, valueEnd(input, separator, lineEnd, line), line);
+            lineStart = lineEnd + 1;
+            line++;
+        }
+        return Arrays.copyOf(values, size);
+    }
+
+    static double parseLine(CharSequence input, int lineStart, int lineEnd, int line) {
+        int separator = -1;
+        for (int i = lineStart; i < lineEnd && separator < 0; i++) {
+            if (input.charAt(i) == SEPARATOR) {
+                separator = i;
+            }
+        }
+        if (separator < 0) {
+            throw lineError(line, Messages.ERROR_2D_ARRAY);
+        }
+        return parseNumber(input, separator + 1, valueEnd(input, separator, lineEnd, line), line);
+    }
+
+    // like String.split, trailing empty fields are dropped, i.e. "2024-01-01;3,37;" is a valid line;
+    // any other field after the value is rejected
+    static int valueEnd(CharSequence input, int separator, int lineEnd, int line) {
+        int end = lineEnd;
+        while (end > separator + 1 && (input.charAt(end - 1) == SEPARATOR || input.charAt(end - 1) == '\r')) {
+            end--;
+        }
+        for (int i = separator + 1; i < end; i++) {
+            if (input.charAt(i) == SEPARATOR) {
+                throw lineError(line, Messages.ERROR_2D_ARRAY);
+            }
+        }
+        return end;
+    }
+
+    public static TimeSeries parseSeries(CharSequence input) {
+        if (input == null || input.length() == 0) {
+            throw new IllegalArgumentException(Messages.ERROR_EMPTY_ARRAY);
+        }
+        int length = trimTrailingLineBreaks(input);
+        TimeSeries series = new TimeSeries(Math.max(16, length / 16));
+        if (hasTimestamps(input, 0, length)) {
+            parseSeries(input, 0, length, 1, series);
+        } else {
+            double[] values = parseValues(input, 0, length, 1);
+            for (int i = 0; i < values.length; i++) {
+                series.add(i, values[i]);
+            }
+        }
+        if (series.size() == 0) {
+            throw new IllegalArgumentException(Messages.ERROR_EMPTY_ARRAY);
+        }
+        return series;
+    }
+
+    static boolean hasTimestamps(CharSequence input, int start, int end) {
+        int separator = start;
+        while (separator < end && input.charAt(separator) != SEPARATOR && input.charAt(separator) != '\n') {
+            separator++;
+        }
+        return parseTimestamp(input, start, separator) != NO_TIMESTAMP;
+    }
+
+    static void parseSeries(CharSequence input, int start, int end, int firstLine, TimeSeries target) {
+        int line = firstLine;
+        int lineStart = start;
+
+        while (lineStart < end) {
+            int lineEnd = lineStart;
+            int separator = -1;
+            while (lineEnd < end && input.charAt(lineEnd) != '\n') {
+                if (separator < 0 && input.charAt(lineEnd) == SEPARATOR) {
+                    separator = lineEnd;
+                }
+                lineEnd++;
+            }
+            if (separator < 0) {
+                throw lineError(line, Messages.ERROR_2D_ARRAY);
+            }
+            long timestamp = parseTimestamp(input, lineStart, separator);
+            if (timestamp == NO_TIMESTAMP) {
+                throw lineError(line, Messages.ERROR_INVALID_TIMESTAMP);
+            }
+            target.add(timestamp, parseNumber(input, separator + 1, valueEnd(input, separator, lineEnd, line), line));
+            lineStart = lineEnd + 1;
+            line++;
+        }
+    }
+
+    static long parseTimestamp(CharSequence input, int start, int end) {
+        while (start < end && isWhitespace(input.charAt(start))) {
+            start++;
+        }
+        while (end > start && isWhitespace(input.charAt(end - 1))) {
+            end--;
+        }
+        if (start == end) {
+            return NO_TIMESTAMP;
+        }
+
+        long epochMillis = parseEpochMillis(input, start, end);
+        if (epochMillis != NO_TIMESTAMP) {
+            return epochMillis;
+        }
+
+        int year;
+        int month;
+        int day;
+        if (end - start >= 10 && input.charAt(start + 4) == '-' && input.charAt(start + 7) == '-') {
+            year = parseDigits(input, start, 4, end);
+            month = parseDigits(input, start + 5, 2, end);
+            day = parseDigits(input, start + 8, 2, end);
+        } else if (end - start >= 10 && input.charAt(start + 2) == '.' && input.charAt(start + 5) == '.') {
+            day = parseDigits(input, start, 2, end);
+            month = parseDigits(input, start + 3, 2, end);
+            year = parseDigits(input, start + 6, 4, end);
+        } else {
+            return NO_TIMESTAMP;
+        }
+        if (year < 0 || month < 1 || month > 12 || day < 1 || day > daysInMonth(year, month)) {
+            return NO_TIMESTAMP;
+        }
+
+        long millis = daysFromCivil(year, month, day) * MILLIS_PER_DAY;
+        int position = start + 10;
+        if (position < end && (input.charAt(position) == 'T' || input.charAt(position) == ' ')) {
+            int hour = parseDigits(input, position + 1, 2, end);
+            int minute = parseDigits(input, position + 4, 2, end);
+            if (hour < 0 || hour > 23 || minute < 0 || minute > 59 || input.charAt(position + 3) != ':') {
+                return NO_TIMESTAMP;
+            }
+            millis += (hour * 60L + minute) * 60000L;
+            position += 6;
+            if (position < end && input.charAt(position) == ':') {
+                int second = parseDigits(input, position + 1, 2, end);
+                if (second < 0 || second > 59) {
+                    return NO_TIMESTAMP;
+                }
+                millis += second * 1000L;
+                position += 3;
+                if (position < end && (input.charAt(position) == '.' || input.charAt(position) == ',')) {
+                    position++;
+                    int scale = 100;
+                    while (position < end && input.charAt(position) >= '0' && input.charAt(position) <= '9') {
+                        millis += (input.charAt(position) - '0') * scale;
+                        scale /= 10;
+                        position++;
+                    }
+                }
+            }
+        }
+        if (position < end && input.charAt(position) == 'Z') {
+            position++;
+        }
+        return position == end ? millis : NO_TIMESTAMP;
+    }
+
+    private static long parseEpochMillis(CharSequence input, int start, int end) {
+        int position = start;
+        boolean negative = input.charAt(position) == '-';
+        if (negative) {
+            position++;
+        }
+        if (position == end || end - position > 18) {
+            return NO_TIMESTAMP;
+        }
+        long value = 0;
+        for (; position < end; position++) {
+            char c = input.charAt(position);
+            if (c < '0' || c > '9') {
+                return NO_TIMESTAMP;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return negative ? -value : value;
+    }
+
+    private static int parseDigits(CharSequence input, int start, int count, int end) {
+        if (start + count > end) {
+            return -1;
+        }
+        int value = 0;
+        for (int i = start; i < start + count; i++) {
+            char c = input.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    private static int daysInMonth(int year, int month) {
+        if (month == 2) {
+            boolean leap = year % 4 == 0 && (year % 100 != 0 || year % 400 == 0);
+            return leap ? 29 : 28;
+        }
+        return month == 4 || month == 6 || month == 9 || month == 11 ? 30 : 31;
+    }
+
+    private static long daysFromCivil(int year, int month, int day) {
+        long y = month <= 2 ? year - 1 : year;
+        long era = (y >= 0 ? y : y - 399) / 400;
+        long yearOfEra = y - era * 400;
+        long dayOfYear = (153L * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+        long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097 + dayOfEra - 719468;
+    }
+
+    static double parseNumber(CharSequence input, int start, int end, int line) {
+        while (start < end && isWhitespace(input.charAt(start))) {
+            start++;
+        }
+        while (end > start && isWhitespace(input.charAt(end - 1))) {
+            end--;
+        }
+        if (start == end) {
+            throw lineError(line, Messages.ERROR_INVALID_NUMBER);
+        }
+
+        int position = start;
+        boolean negative = false;
+        char c = input.charAt(position);
+        if (c == '-' || c == '+') {
+            negative = c == '-';
+            position++;
+        }
+
+        long mantissa = 0;
+        int exponent = 0;
+        int digits = 0;
+        boolean exact = true;
+        boolean fraction = false;
+        for (; position < end; position++) {
+            c = input.charAt(position);
+            if (c >= '0' && c <= '9') {
+                digits++;
+                if (mantissa < MAX_EXACT_MANTISSA / 10) {
+                    mantissa = mantissa * 10 + (c - '0');
+                    if (fraction) {
+                        exponent--;
+                    }
+                } else {
+                    exact = false;
+                }
+            } else if ((c == '.' || c == ',') && !fraction) {
+                fraction = true;
+            } else {
+                break;
+            }
+        }
+        if (digits == 0) {
+            return parseFallback(input, start, end, line);
+        }
+        if (position < end) {
+            c = input.charAt(position);
+            if (c != 'e' && c != 'E') {
+                return parseFallback(input, start, end, line);
+            }
+            position++;
+            boolean negativeExponent = false;
+            if (position < end && (input.charAt(position) == '-' || input.charAt(position) == '+')) {
+                negativeExponent = input.charAt(position) == '-';
+                position++;
+            }
+            int explicitExponent = 0;
+            int exponentDigits = 0;
+            for (; position < end; position++) {
+                c = input.charAt(position);
+                if (c < '0' || c > '9') {
+                    return parseFallback(input, start, end, line);
+                }
+                exponentDigits++;
+                if (explicitExponent < 10000) {
+                    explicitExponent = explicitExponent * 10 + (c - '0');
+                }
+            }
+            if (exponentDigits == 0) {
+                return parseFallback(input, start, end, line);
+            }
+            exponent += negativeExponent ? -explicitExponent : explicitExponent;
+        }
+        if (!exact || exponent < -22 || exponent > 22) {
+            return parseFallback(input, start, end, line);
+        }
+
+        double value = exponent < 0
+                ? mantissa / POWERS_OF_TEN[-exponent]
+                : mantissa * POWERS_OF_TEN[exponent];
+        return negative ? -value : value;
+    }
+
+    private static double parseFallback(CharSequence input, int start, int end, int line) {
+        String field = input.subSequence(start, end).toString().replace(',', '.');
+        try {
+            return Double.parseDouble(field);
+        } catch (NumberFormatException e) {
+            throw lineError(line, Messages.ERROR_INVALID_NUMBER);
+        }
+    }
+
+    static int trimTrailingLineBreaks(CharSequence input) {
+        int length = input.length();
+        while (length > 0 && (input.charAt(length - 1) == '\n' || input.charAt(length - 1) == '\r')) {
+            length--;
+        }
+        return length;
+    }
+
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\r';
+    }
+
+    static LineException lineError(int line, String message) {
+        return new LineException(line, message);
+    }
+
+    static final class LineException extends IllegalArgumentException {
+        private final int line;
+        private final String reason;
+
+        private LineException(int line, String reason) {
+            super(Messages.ERROR_IN_LINE + line + ": " + reason);
+            this.line = line;
+            this.reason = reason;
+        }
+
+        int getLine() {
+            return line;
+        }
+
+        String getReason() {
+            return reason;
+        }
+    }
+}
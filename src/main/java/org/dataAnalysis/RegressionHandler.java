@@ -13,61 +13,52 @@ public class RegressionHandler {
         this.htmlHandler = htmlHandler;
     }
 
+    public Model createAndInitRegression(String selectedRegression, TimeSeries inputSeries) {
+        Model regression = createRegression(selectedRegression, getRegressionParameters(selectedRegression));
+        htmlHandler.setCoefficientOutputElement(selectedRegression, regression.init(inputSeries));
+        return regression;
+    }
+
     public Model createAndInitRegression(String selectedRegression, double[] inputDataSet) {
-        double regression;
-        switch (selectedRegression) {
-            case "simpleLinearRegression" -> {
-                SimpleLinearRegression simpleLinearRegression = new SimpleLinearRegression();
-                regression = simpleLinearRegression.init(inputDataSet);
-                htmlHandler.setCoefficientOutputElement(selectedRegression, regression);
-                return simpleLinearRegression;
-            }
-            case "constRegression" -> {
-                ConstantRegression constantRegression = new ConstantRegression();
-                regression = constantRegression.init(inputDataSet);
-                htmlHandler.setCoefficientOutputElement(selectedRegression, regression);
-                return constantRegression;
-            }
-            case "polynomialRegression" -> {
-                int[] argsPolynomial = getRegressionParameters(selectedRegression);
-                PolynomialRegression polynomialRegression = new PolynomialRegression(argsPolynomial[0]);
-                regression = polynomialRegression.init(inputDataSet);
-                htmlHandler.setCoefficientOutputElement(selectedRegression, regression);
-                return polynomialRegression;
-            }
-            case "autoRegression" -> {
-                int[] argsAuto = getRegressionParameters(selectedRegression);
-                AutoRegression regressionAR = new AutoRegression(argsAuto[0]);
-                regression = regressionAR.init(inputDataSet);
-                htmlHandler.setCoefficientOutputElement(selectedRegression, regression);
-                return regressionAR;
-            }
-            case "autoRegressionMovingAverage" -> {
-                int[] argsARMA = getRegressionParameters(selectedRegression);
-                AutoRegressiveMovingAverage regressionARMA = new AutoRegressiveMovingAverage(argsARMA[0], argsARMA[1]);
-                regression = regressionARMA.init(inputDataSet);
-                htmlHandler.setCoefficientOutputElement(selectedRegression, regression);
-                return regressionARMA;
-            }
-            case "autoRegressionIntegratedAverage" -> {
-                int[] argsARIMA = getRegressionParameters(selectedRegression);
-                AutoRegressiveIntegratedMovingAverage regressionARIMA = new AutoRegressiveIntegratedMovingAverage(argsARIMA[0], argsARIMA[1], argsARIMA[2]);
-                regression = regressionARIMA.init(inputDataSet);
-                htmlHandler.setCoefficientOutputElement(selectedRegression, regression);
-                return regressionARIMA;
-            }
+        Model regression = createRegression(selectedRegression, getRegressionParameters(selectedRegression));
+        htmlHandler.setCoefficientOutputElement(selectedRegression, regression.init(inputDataSet));
+        return regression;
+    }
+
+    public static Model createRegression(String selectedRegression, int[] parameters) {
+        return switch (selectedRegression) {
+            case "simpleLinearRegression" -> new SimpleLinearRegression();
+            case "constRegression" -> new ConstantRegression();
+            case "polynomialRegression" -> new PolynomialRegression(parameters[0]);
+            case "autoRegression" -> new AutoRegression(parameters[0]);
+            case "autoRegressionMovingAverage" -> new AutoRegressiveMovingAverage(parameters[0], parameters[1]);
+            case "autoRegressionIntegratedAverage" ->
+                    new AutoRegressiveIntegratedMovingAverage(parameters[0], parameters[1], parameters[2]);
             default -> throw new IllegalArgumentException(Messages.ERROR_UNKNOWN_REGRESSION);
-        }
+        };
     }
 
-    private int[] getRegressionParameters(String selectedRegression) {
-        List<String> inputNames = switch (selectedRegression) {
+    public static List<String> getRegressionParameterNames(String selectedRegression) {
+        return switch (selectedRegression) {
+            case "simpleLinearRegression", "constRegression" -> Collections.emptyList();
             case "polynomialRegression" -> Collections.singletonList("Degree");
             case "autoRegression" -> Collections.singletonList("PValue");
             case "autoRegressionMovingAverage" -> Arrays.asList("PValue", "MA");
             case "autoRegressionIntegratedAverage" -> Arrays.asList("PValue", "DifferencingOrder", "MA");
             default -> throw new IllegalArgumentException(Messages.ERROR_UNKNOWN_REGRESSION);
         };
+    }
+
+    public void setRegressionParameters(String selectedRegression, int[] parameters) {
+        List<String> inputNames = getRegressionParameterNames(selectedRegression);
+        for (int i = 0; i < inputNames.size() && i < parameters.length; i++) {
+            htmlHandler.getRegressionParameterElement(selectedRegression, inputNames.get(i))
+                    .setValue(String.valueOf(parameters[i]));
+        }
+    }
+
+    public int[] getRegressionParameters(String selectedRegression) {
+        List<String> inputNames = getRegressionParameterNames(selectedRegression);
 
         int[] values = new int[inputNames.size()];
         for (int i = 0; i < inputNames.size(); i++) {
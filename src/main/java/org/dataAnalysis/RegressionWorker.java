@@ -0,0 +1,137 @@
+package org.dataAnalysis;
+
+import org.teavm.jso.JSBody;
+import org.teavm.jso.JSFunctor;
+import org.teavm.jso.JSObject;
+import org.teavm.jso.typedarrays.ArrayBuffer;
+import org.teavm.jso.typedarrays.Float64Array;
+import org.teavm.jso.typedarrays.Int32Array;
+
+public final class RegressionWorker {
+    private static final RegressionHandler regressionHandler = new RegressionHandler(null);
+    private static final FittedModelCache fittedModelCache = new FittedModelCache(regressionHandler, 32);
+
+    private RegressionWorker() {
+    }
+
+    public static void main(String[] args) {
+        listen(RegressionWorker::handle);
+    }
+
+    private static void handle(RegressionWorkerMessage request) {
+        RegressionWorkerMessage response = RegressionWorkerMessage.create();
+        response.setId(request.getId());
+        response.setRegression(request.getRegression());
+        try {
+            Int32Array parameterArray = request.getParameters();
+            int[] parameters = new int[parameterArray.getLength()];
+            for (int i = 0; i < parameters.length; i++) {
+                parameters[i] = parameterArray.get(i);
+            }
+            if (request.getBenchmark() > 0) {
+                benchmark(request, response, parameters);
+                reply(response);
+                return;
+            }
+            double[] values = RegressionWorkerMessage.toDoubleArray(request.getValues());
+            boolean wasm = "wasm".equals(request.getEngine());
+            if (wasm && !isWasmReady()) {
+                throw new IllegalStateException(wasmError());
+            }
+            if (wasm || (!"js".equals(request.getEngine()) && isWasmReady())) {
+                RegressionWorkerMessage result = fitWithWasm(request.getRegression(), parameterArray,
+                        request.getValues(), request.getPredictionPoint());
+                if (result.isFailed()) {
+                    throw new IllegalArgumentException(result.getError());
+                }
+                response.setCoefficient(result.getCoefficient());
+                response.setCalculated(result.getCalculated());
+                response.setEngine("wasm");
+            } else {
+                fitWithJavaScript(request.getRegression(), parameters, values, request.getPredictionPoint(),
+                        response);
+                response.setEngine("js");
+            }
+        } catch (RuntimeException e) {
+            response.setFailed(true);
+            response.setError(e.getMessage());
+            reply(response);
+            return;
+        }
+        reply(response, response.getCalculated().getBuffer());
+    }
+
+    // the counterpart of the WebAssembly engine: a cached fit of the hashed series, whose result is copied into a
+    // typed array
+    private static void fitWithJavaScript(String selectedRegression, int[] parameters, double[] values,
+                                          int predictionPoint, RegressionWorkerMessage response) {
+        FittedModelCache.FittedModel fittedModel = fittedModelCache.getOrFit(selectedRegression, parameters, values,
+                FittedModelCache.hash(values));
+        response.setCoefficient(fittedModel.getCoefficient());
+        response.setCalculated(RegressionWorkerMessage.toFloat64Array(fittedModel.calculateDataSet(predictionPoint)));
+    }
+
+    // both engines run the same work per repetition: the copy of the values, the hash, the fit into an emptied
+    // cache and the copy of the result
+    private static void benchmark(RegressionWorkerMessage request, RegressionWorkerMessage response,
+                                  int[] parameters) {
+        int repetitions = request.getBenchmark();
+        RegressionWorkerMessage result = RegressionWorkerMessage.create();
+        double start = now();
+        for (int i = 0; i < repetitions; i++) {
+            fittedModelCache.clear();
+            double[] values = RegressionWorkerMessage.toDoubleArray(request.getValues());
+            fitWithJavaScript(request.getRegression(), parameters, values, request.getPredictionPoint(), result);
+        }
+        response.setJsMillis((now() - start) / repetitions);
+        response.setCoefficient(result.getCoefficient());
+        response.setWasmMillis(Double.NaN);
+        if (!isWasmReady()) {
+            response.setWasmError(wasmError());
+            return;
+        }
+        start = now();
+        for (int i = 0; i < repetitions; i++) {
+            clearWasmCache();
+            result = fitWithWasm(request.getRegression(), request.getParameters(), request.getValues(),
+                    request.getPredictionPoint());
+            if (result.isFailed()) {
+                response.setWasmError(result.getError());
+                return;
+            }
+        }
+        response.setWasmMillis((now() - start) / repetitions);
+    }
+
+    @JSFunctor
+    interface MessageHandler extends JSObject {
+        void handle(RegressionWorkerMessage message);
+    }
+
+    @JSBody(params = "handler", script = "self.onmessage = function(event) { handler(event.data); };")
+    private static native void listen(MessageHandler handler);
+
+    @JSBody(params = "message", script = "self.postMessage(message);")
+    private static native void reply(RegressionWorkerMessage message);
+
+    @JSBody(params = {"message", "buffer"}, script = "self.postMessage(message, [buffer]);")
+    private static native void reply(RegressionWorkerMessage message, ArrayBuffer buffer);
+
+    @JSBody(script = "return typeof wasmForecastEngine !== 'undefined' && wasmForecastEngine.ready;")
+    private static native boolean isWasmReady();
+
+    @JSBody(script = "return typeof wasmForecastEngine !== 'undefined' && wasmForecastEngine.error"
+            + " ? wasmForecastEngine.error : 'The WebAssembly engine is not loaded.';")
+    private static native String wasmError();
+
+    @JSBody(params = {"regression", "parameters", "values", "predictionPoint"},
+            script = "return wasmForecastEngine.fit(regression, parameters, values, predictionPoint);")
+    private static native RegressionWorkerMessage fitWithWasm(String regression, Int32Array parameters,
+                                                              Float64Array values, int predictionPoint);
+
+    @JSBody(script = "wasmForecastEngine.clearCache();")
+    private static native void clearWasmCache();
+
+    @JSBody(script = "return performance.now();")
+    private static native double now();
+}
@@ -0,0 +1,110 @@
+package org.dataAnalysis;
+
+import org.teavm.jso.JSBody;
+import org.teavm.jso.JSObject;
+import org.teavm.jso.JSProperty;
+import org.teavm.jso.typedarrays.Float64Array;
+import org.teavm.jso.typedarrays.Int32Array;
+
+public abstract class RegressionWorkerMessage implements JSObject {
+    @JSBody(script = "return {};")
+    public static native RegressionWorkerMessage create();
+
+    @JSProperty
+    public abstract int getId();
+
+    @JSProperty
+    public abstract void setId(int id);
+
+    @JSProperty
+    public abstract String getRegression();
+
+    @JSProperty
+    public abstract void setRegression(String regression);
+
+    @JSProperty
+    public abstract Int32Array getParameters();
+
+    @JSProperty
+    public abstract void setParameters(Int32Array parameters);
+
+    @JSProperty
+    public abstract Float64Array getValues();
+
+    @JSProperty
+    public abstract void setValues(Float64Array values);
+
+    @JSProperty
+    public abstract int getPredictionPoint();
+
+    @JSProperty
+    public abstract void setPredictionPoint(int predictionPoint);
+
+    @JSProperty
+    public abstract double getCoefficient();
+
+    @JSProperty
+    public abstract void setCoefficient(double coefficient);
+
+    @JSProperty
+    public abstract Float64Array getCalculated();
+
+    @JSProperty
+    public abstract void setCalculated(Float64Array calculated);
+
+    @JSProperty
+    public abstract boolean isFailed();
+
+    @JSProperty
+    public abstract void setFailed(boolean failed);
+
+    @JSProperty
+    public abstract String getError();
+
+    @JSProperty
+    public abstract void setError(String error);
+
+    @JSProperty
+    public abstract String getEngine();
+
+    @JSProperty
+    public abstract void setEngine(String engine);
+
+    @JSProperty
+    public abstract int getBenchmark();
+
+    @JSProperty
+    public abstract void setBenchmark(int benchmark);
+
+    @JSProperty
+    public abstract double getJsMillis();
+
+    @JSProperty
+    public abstract void setJsMillis(double jsMillis);
+
+    @JSProperty
+    public abstract double getWasmMillis();
+
+    @JSProperty
+    public abstract void setWasmMillis(double wasmMillis);
+
+    @JSProperty
+    public abstract String getWasmError();
+
+    @JSProperty
+    public abstract void setWasmError(String wasmError);
+
+    public static Float64Array toFloat64Array(double[] values) {
+        Float64Array array = Float64Array.create(values.length);
+        array.set(values);
+        return array;
+    }
+
+    public static double[] toDoubleArray(Float64Array array) {
+        double[] values = new double[array.getLength()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = array.get(i);
+        }
+        return values;
+    }
+}
@@ -0,0 +1,133 @@
+package org.dataAnalysis;
+
+import org.teavm.jso.JSBody;
+import org.teavm.jso.typedarrays.ArrayBuffer;
+import org.teavm.jso.typedarrays.Int32Array;
+import org.teavm.jso.workers.Worker;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+
+public class RegressionWorkerPool {
+    private final String workerScript;
+    private final int maxWorkers;
+    private final PooledWorker[] workers;
+    private final Map<Integer, ResultCallback> callbackMap = new HashMap<>();
+    private final Map<String, Integer> workerIndexMap = new HashMap<>();
+    private int nextId = 0;
+    private String engine = "auto";
+
+    public interface ResultCallback {
+        void onResult(String regression, double coefficient, double[] calculatedData);
+
+        void onError(String regression, String message);
+    }
+
+    public RegressionWorkerPool(String workerScript, int maxWorkers) {
+        this.workerScript = workerScript;
+        this.maxWorkers = Math.max(1, maxWorkers);
+        this.workers = new PooledWorker[this.maxWorkers];
+    }
+
+    public RegressionWorkerPool(String workerScript) {
+        this(workerScript, Math.min(4, getHardwareConcurrency()));
+    }
+
+    // "auto" fits with WebAssembly once the module is loaded and with JavaScript before, "js" always fits with
+    // JavaScript and "wasm" always fits with WebAssembly, i.e. its requests fail while the module is not loaded
+    public void setEngine(String engine) {
+        if (!"auto".equals(engine) && !"js".equals(engine) && !"wasm".equals(engine)) {
+            throw new IllegalArgumentException(Messages.ERROR_UNKNOWN_ENGINE);
+        }
+        this.engine = engine;
+    }
+
+    public void submit(String regression, int[] parameters, double[] values, int predictionPoint,
+                       ResultCallback callback) {
+        RegressionWorkerMessage request = RegressionWorkerMessage.create();
+        request.setId(nextId++);
+        request.setRegression(regression);
+        Int32Array parameterArray = Int32Array.create(parameters.length);
+        parameterArray.set(parameters);
+        request.setParameters(parameterArray);
+        request.setValues(RegressionWorkerMessage.toFloat64Array(values));
+        request.setPredictionPoint(predictionPoint);
+        request.setEngine(engine);
+        callbackMap.put(request.getId(), callback);
+
+        // a regression type always runs on the same worker, so its fitted models are reused
+        Integer index = workerIndexMap.get(regression);
+        if (index == null) {
+            index = workerIndexMap.size() % maxWorkers;
+            workerIndexMap.put(regression, index);
+        }
+        if (workers[index] == null) {
+            workers[index] = new PooledWorker(Worker.create(workerScript));
+        }
+        PooledWorker worker = workers[index];
+        if (worker.currentRequest == null) {
+            dispatch(worker, request);
+        } else {
+            worker.pendingRequests.add(request);
+        }
+    }
+
+    private void dispatch(PooledWorker worker, RegressionWorkerMessage request) {
+        worker.currentRequest = request;
+        post(worker.worker, request, request.getValues().getBuffer());
+    }
+
+    private ResultCallback release(PooledWorker worker) {
+        ResultCallback callback = callbackMap.remove(worker.currentRequest.getId());
+        worker.currentRequest = null;
+        RegressionWorkerMessage next = worker.pendingRequests.poll();
+        if (next != null) {
+            dispatch(worker, next);
+        }
+        return callback;
+    }
+
+    private void handleResponse(PooledWorker worker, RegressionWorkerMessage response) {
+        ResultCallback callback = release(worker);
+        if (response.isFailed()) {
+            callback.onError(response.getRegression(), response.getError());
+        } else {
+            callback.onResult(response.getRegression(), response.getCoefficient(),
+                    RegressionWorkerMessage.toDoubleArray(response.getCalculated()));
+        }
+    }
+
+    private void handleError(PooledWorker worker, String message) {
+        if (worker.currentRequest == null) {
+            return;
+        }
+        String regression = worker.currentRequest.getRegression();
+        release(worker).onError(regression, message);
+    }
+
+    private final class PooledWorker {
+        private final Worker worker;
+        private final Queue<RegressionWorkerMessage> pendingRequests = new ArrayDeque<>();
+        private RegressionWorkerMessage currentRequest;
+
+        private PooledWorker(Worker worker) {
+            this.worker = worker;
+            worker.onMessage(event -> handleResponse(this, event.getData().cast()));
+            worker.onError(event -> {
+                event.preventDefault();
+                handleError(this, event.getMessage());
+            });
+        }
+    }
+
+    @JSBody(script = "return typeof Worker !== 'undefined';")
+    public static native boolean isSupported();
+
+    @JSBody(script = "return navigator.hardwareConcurrency || 1;")
+    private static native int getHardwareConcurrency();
+
+    @JSBody(params = {"worker", "message", "buffer"}, script = "worker.postMessage(message, [buffer]);")
+    private static native void post(Worker worker, RegressionWorkerMessage message, ArrayBuffer buffer);
+}
@@ -0,0 +1,89 @@
+package org.dataAnalysis;
+
+import org.teavm.jso.browser.Window;
+import org.teavm.jso.dom.html.HTMLCanvasElement;
+import org.teavm.jso.dom.html.TextRectangle;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+public class RenderScheduler {
+    private final Consumer<HTMLCanvasElement> renderer;
+    private final Map<String, HTMLCanvasElement> canvasMap = new HashMap<>();
+    private final Set<String> dirtyCanvases = new LinkedHashSet<>();
+    private final Set<String> hiddenCanvases = new LinkedHashSet<>();
+    private boolean frameRequested = false;
+    private boolean windowListenersAdded = false;
+
+    public RenderScheduler(Consumer<HTMLCanvasElement> renderer) {
+        this.renderer = renderer;
+    }
+
+    public boolean register(HTMLCanvasElement canvas) {
+        addWindowEventListeners();
+        return canvasMap.put(canvas.getId(), canvas) == null;
+    }
+
+    public void requestRedraw(HTMLCanvasElement canvas) {
+        dirtyCanvases.add(canvas.getId());
+        requestFrame();
+    }
+
+    private void requestRedrawOfAll() {
+        dirtyCanvases.addAll(canvasMap.keySet());
+        requestFrame();
+    }
+
+    private void requestRedrawOfHidden() {
+        if (!hiddenCanvases.isEmpty()) {
+            dirtyCanvases.addAll(hiddenCanvases);
+            requestFrame();
+        }
+    }
+
+    private void requestFrame() {
+        if (!frameRequested) {
+            frameRequested = true;
+            Window.requestAnimationFrame(timestamp -> renderFrame());
+        }
+    }
+
+    private void renderFrame() {
+        frameRequested = false;
+        List<String> canvasIds = new ArrayList<>(dirtyCanvases);
+        dirtyCanvases.clear();
+        for (String canvasId : canvasIds) {
+            HTMLCanvasElement canvas = canvasMap.get(canvasId);
+            if (isVisible(canvas)) {
+                hiddenCanvases.remove(canvasId);
+                renderer.accept(canvas);
+            } else {
+                hiddenCanvases.add(canvasId);
+            }
+        }
+    }
+
+    private void addWindowEventListeners() {
+        if (windowListenersAdded) {
+            return;
+        }
+        windowListenersAdded = true;
+        Window.current().addEventListener("resize", event -> requestRedrawOfAll());
+        Window.current().addEventListener("scroll", event -> requestRedrawOfHidden());
+    }
+
+    private static boolean isVisible(HTMLCanvasElement canvas) {
+        if (canvas.getOffsetWidth() == 0 && canvas.getOffsetHeight() == 0) {
+            return false;
+        }
+        TextRectangle rectangle = canvas.getBoundingClientRect();
+        Window window = Window.current();
+        return rectangle.getBottom() >= 0 && rectangle.getTop() <= window.getInnerHeight()
+                && rectangle.getRight() >= 0 && rectangle.getLeft() <= window.getInnerWidth();
+    }
+}
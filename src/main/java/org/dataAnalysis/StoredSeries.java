@@ -0,0 +1,29 @@
+package org.dataAnalysis;
+
+import org.teavm.jso.JSBody;
+import org.teavm.jso.JSObject;
+import org.teavm.jso.JSProperty;
+import org.teavm.jso.typedarrays.Float64Array;
+
+public abstract class StoredSeries implements JSObject {
+    @JSBody(script = "return {};")
+    public static native StoredSeries create();
+
+    @JSProperty
+    public abstract String getKey();
+
+    @JSProperty
+    public abstract void setKey(String key);
+
+    @JSProperty
+    public abstract String getHash();
+
+    @JSProperty
+    public abstract void setHash(String hash);
+
+    @JSProperty
+    public abstract Float64Array getValues();
+
+    @JSProperty
+    public abstract void setValues(Float64Array values);
+}
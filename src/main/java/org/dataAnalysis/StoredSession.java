@@ -0,0 +1,66 @@
+package org.dataAnalysis;
+
+import org.teavm.jso.JSBody;
+import org.teavm.jso.JSObject;
+import org.teavm.jso.JSProperty;
+import org.teavm.jso.core.JSArray;
+import org.teavm.jso.typedarrays.Float64Array;
+import org.teavm.jso.typedarrays.Int32Array;
+
+public abstract class StoredSession implements JSObject {
+    @JSBody(script = "return {};")
+    public static native StoredSession create();
+
+    @JSProperty
+    public abstract String getKey();
+
+    @JSProperty
+    public abstract void setKey(String key);
+
+    @JSProperty
+    public abstract String getSeriesKey();
+
+    @JSProperty
+    public abstract void setSeriesKey(String seriesKey);
+
+    @JSProperty
+    public abstract int getPredictionPoint();
+
+    @JSProperty
+    public abstract void setPredictionPoint(int predictionPoint);
+
+    @JSProperty
+    public abstract JSArray<Regression> getRegressions();
+
+    @JSProperty
+    public abstract void setRegressions(JSArray<Regression> regressions);
+
+    public abstract static class Regression implements JSObject {
+        @JSBody(script = "return {};")
+        public static native Regression create();
+
+        @JSProperty
+        public abstract String getRegression();
+
+        @JSProperty
+        public abstract void setRegression(String regression);
+
+        @JSProperty
+        public abstract Int32Array getParameters();
+
+        @JSProperty
+        public abstract void setParameters(Int32Array parameters);
+
+        @JSProperty
+        public abstract double getCoefficient();
+
+        @JSProperty
+        public abstract void setCoefficient(double coefficient);
+
+        @JSProperty
+        public abstract Float64Array getCalculated();
+
+        @JSProperty
+        public abstract void setCalculated(Float64Array calculated);
+    }
+}
@@ -0,0 +1,43 @@
+package org.dataAnalysis;
+
+import org.teavm.jso.typedarrays.Uint8Array;
+
+final class Uint8ArrayCharSequence implements CharSequence {
+    private final Uint8Array bytes;
+    private final int offset;
+    private final int length;
+
+    Uint8ArrayCharSequence(Uint8Array bytes) {
+        this(bytes, 0, bytes.getLength());
+    }
+
+    private Uint8ArrayCharSequence(Uint8Array bytes, int offset, int length) {
+        this.bytes = bytes;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        return (char) bytes.get(offset + index);
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        return new Uint8ArrayCharSequence(bytes, offset + start, end - start);
+    }
+
+    @Override
+    public String toString() {
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = charAt(i);
+        }
+        return new String(chars);
+    }
+}
@@ -0,0 +1,72 @@
+package org.dataAnalysis;
+
+import org.teavm.interop.Address;
+import org.teavm.interop.Export;
+
+public final class WasmForecastEngine {
+    public static final String[] REGRESSIONS = {"constRegression", "simpleLinearRegression", "polynomialRegression",
+            "autoRegression", "autoRegressionMovingAverage", "autoRegressionIntegratedAverage"};
+    private static final FittedModelCache fittedModelCache = new FittedModelCache(new RegressionHandler(null), 32);
+    private static double[] input = new double[0];
+    private static double[] output;
+    private static char[] error = new char[0];
+
+    private WasmForecastEngine() {
+    }
+
+    public static void main(String[] args) {
+    }
+
+    @Export(name = "allocateInput")
+    public static Address allocateInput(int length) {
+        input = new double[length];
+        output = null;
+        return Address.ofData(input);
+    }
+
+    @Export(name = "fit")
+    public static double fit(int regressionIndex, int firstParameter, int secondParameter, int thirdParameter,
+                             int predictionPoint) {
+        output = null;
+        error = new char[0];
+        if (regressionIndex < 0 || regressionIndex >= REGRESSIONS.length) {
+            error = Messages.ERROR_UNKNOWN_REGRESSION.toCharArray();
+            return Double.NaN;
+        }
+        try {
+            int[] parameters = {firstParameter, secondParameter, thirdParameter};
+            FittedModelCache.FittedModel fittedModel = fittedModelCache.getOrFit(REGRESSIONS[regressionIndex],
+                    parameters, input, FittedModelCache.hash(input));
+            output = fittedModel.calculateDataSet(predictionPoint);
+            return fittedModel.getCoefficient();
+        } catch (RuntimeException e) {
+            error = String.valueOf(e.getMessage() != null ? e.getMessage() : e).toCharArray();
+            return Double.NaN;
+        }
+    }
+
+    @Export(name = "clearCache")
+    public static void clearCache() {
+        fittedModelCache.clear();
+    }
+
+    @Export(name = "outputAddress")
+    public static Address outputAddress() {
+        return output == null ? Address.fromInt(0) : Address.ofData(output);
+    }
+
+    @Export(name = "outputLength")
+    public static int outputLength() {
+        return output == null ? -1 : output.length;
+    }
+
+    @Export(name = "errorAddress")
+    public static Address errorAddress() {
+        return error.length == 0 ? Address.fromInt(0) : Address.ofData(error);
+    }
+
+    @Export(name = "errorLength")
+    public static int errorLength() {
+        return error.length;
+    }
+}
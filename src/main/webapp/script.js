@@ -50,12 +50,3 @@ function updateCanvasBackgroundColors() {
         }
     }
 }
-
-function handleFileSelect(event) {
-    let file = event.target.files[0];
-    let reader = new FileReader();
-    reader.onload = function(e) {
-        document.getElementById("temporary-data-storage").value = e.target.result;
-    };
-    reader.readAsText(file);
-}
\ No newline at end of file
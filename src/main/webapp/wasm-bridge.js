@@ -0,0 +1,58 @@
+var wasmForecastEngine = {
+    ready: false,
+    error: null,
+    exports: null,
+    regressions: ['constRegression', 'simpleLinearRegression', 'polynomialRegression',
+        'autoRegression', 'autoRegressionMovingAverage', 'autoRegressionIntegratedAverage'],
+
+    load: function(path) {
+        if (typeof WebAssembly === 'undefined') {
+            return this.fail(new Error('WebAssembly is not supported.'));
+        }
+        if (typeof TeaVM === 'undefined') {
+            return this.fail(new Error('The TeaVM WebAssembly runtime could not be loaded.'));
+        }
+        return TeaVM.wasm.load(path).then(function(teavm) {
+            teavm.main([]);
+            wasmForecastEngine.exports = teavm.instance.exports;
+            wasmForecastEngine.ready = true;
+        }, function(error) {
+            return wasmForecastEngine.fail(error);
+        });
+    },
+
+    fail: function(error) {
+        this.error = error && error.message ? error.message : String(error);
+        return Promise.reject(error);
+    },
+
+    clearCache: function() {
+        this.exports.clearCache();
+    },
+
+    fit: function(regression, parameters, values, predictionPoint) {
+        var exports = this.exports;
+        var index = this.regressions.indexOf(regression);
+        var address = exports.allocateInput(values.length);
+        new Float64Array(exports.memory.buffer, address, values.length).set(values);
+        var coefficient = exports.fit(index, parameters[0] || 0, parameters[1] || 0, parameters[2] || 0,
+            predictionPoint);
+        var length = exports.outputLength();
+        if (length < 0) {
+            return {failed: true, error: this.readError() || 'Unknown regression type or invalid parameters.'};
+        }
+        var calculated = new Float64Array(length);
+        calculated.set(new Float64Array(exports.memory.buffer, exports.outputAddress(), length));
+        return {coefficient: coefficient, calculated: calculated};
+    },
+
+    // the message of the exception caught by the engine, stored as UTF-16 chars in linear memory
+    readError: function() {
+        var exports = this.exports;
+        var length = exports.errorLength();
+        if (length === 0) {
+            return null;
+        }
+        return String.fromCharCode.apply(null, new Uint16Array(exports.memory.buffer, exports.errorAddress(), length));
+    }
+};
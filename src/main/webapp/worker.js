@@ -0,0 +1,18 @@
+importScripts('teavm-worker/classes.js', 'wasm-bridge.js');
+try {
+    importScripts('teavm-wasm/classes.wasm-runtime.js');
+} catch (e) {
+    // the JavaScript engine is used; the bridge reports the missing runtime
+}
+// requests are queued until the WebAssembly module is instantiated or has failed to load
+var queuedEvents = [];
+self.onmessage = function(event) {
+    queuedEvents.push(event);
+};
+wasmForecastEngine.load('teavm-wasm/classes.wasm').catch(function() {}).then(function() {
+    main();
+    queuedEvents.forEach(function(event) {
+        self.onmessage(event);
+    });
+    queuedEvents = null;
+});
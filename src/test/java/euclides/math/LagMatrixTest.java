@@ -0,0 +1,120 @@
+package euclides.math;
+
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class LagMatrixTest {
+    double[] series = {3, 1, 4, 1, 5, 9, 2, 6, 5, 3, 5, 8, 9, 7};
+
+    @Test
+    public void elementsFollowHankelStructure() {
+        LagMatrix lagMatrix = new LagMatrix(series, 2, 8, 3, 5.0);
+
+        assertEquals(8, lagMatrix.rows());
+        assertEquals(3, lagMatrix.cols());
+        for (int r = 0; r < 8; r++) {
+            for (int c = 0; c < 3; c++) {
+                assertEquals(series[2 + r + c] - 5.0, lagMatrix.get(r, c), 0.0);
+            }
+            assertEquals(series[2 + r + 3] - 5.0, lagMatrix.target(r), 0.0);
+        }
+    }
+
+    @Test
+    public void productsMatchMaterializedMatrix() {
+        LagMatrix lagMatrix = new LagMatrix(series, 1, 9, 4, 4.5);
+        double[][] matrix = materialize(lagMatrix);
+        double[][] transpose = LinAlgArrays.transpose(matrix);
+        double[] target = new double[9];
+        for (int r = 0; r < 9; r++) {
+            target[r] = lagMatrix.target(r);
+        }
+        double[] x = {0.5, -1.0, 2.0, 0.25};
+        double[] v = {1, 2, 3, 4, 5, 6, 7, 8, 9};
+
+        assertMatrixEquals(LinAlgArrays.mul(transpose, matrix), lagMatrix.gram());
+        assertArrayEquals(LinAlgArrays.mul(matrix, x), lagMatrix.mul(x), 1e-12);
+        assertArrayEquals(LinAlgArrays.mul(transpose, v), lagMatrix.mulTranspose(v), 1e-12);
+        assertArrayEquals(LinAlgArrays.mul(transpose, target), lagMatrix.mulTransposeTarget(), 1e-12);
+        double[] residuals = LinAlgArrays.mul(matrix, x);
+        for (int r = 0; r < 9; r++) {
+            residuals[r] -= target[r];
+        }
+        assertArrayEquals(residuals, lagMatrix.residuals(x), 1e-12);
+    }
+
+    @Test
+    public void crossProductMatchesMaterializedMatrices() {
+        double[] residuals = {0.5, -0.5, 1.5, 0.0, -1.0, 2.0, 0.25, -0.75, 1.0, 0.5, -2.0};
+        LagMatrix values = new LagMatrix(series, 2, 9, 3, 5.0);
+        LagMatrix lagged = new LagMatrix(residuals, 0, 9, 2, 0.0);
+
+        assertMatrixEquals(LinAlgArrays.mul(LinAlgArrays.transpose(materialize(values)), materialize(lagged)),
+                values.crossProduct(lagged));
+    }
+
+    @Test
+    public void invalidViewIsRejected() {
+        try {
+            new LagMatrix(series, 5, 8, 3, 0.0);
+            fail("IllegalArgumentException was expected here.");
+        } catch (IllegalArgumentException e) {
+            assertEquals("The parameters are size incompatible.", e.getMessage());
+        }
+        try {
+            new LagMatrix(series, 0, 12, 3, 0.0).mulTransposeTarget();
+            fail("IllegalArgumentException was expected here.");
+        } catch (IllegalArgumentException e) {
+            assertEquals("The parameters are size incompatible.", e.getMessage());
+        }
+    }
+
+    @Test
+    public void checkpointIsRunPerColumn() {
+        LagMatrix lagMatrix = new LagMatrix(series, 0, 10, 4, 5.0);
+        AtomicInteger checkpoints = new AtomicInteger();
+
+        lagMatrix.gram(checkpoints::incrementAndGet);
+        assertEquals(4 + 3, checkpoints.get());
+
+        checkpoints.set(0);
+        LinAlgArrays.cholesky(lagMatrix.gram(), lagMatrix.mulTransposeTarget(), checkpoints::incrementAndGet);
+        assertEquals(4, checkpoints.get());
+    }
+
+    @Test
+    public void checkpointAbortsGram() {
+        LagMatrix lagMatrix = new LagMatrix(series, 0, 10, 4, 5.0);
+        AtomicInteger checkpoints = new AtomicInteger();
+        try {
+            lagMatrix.gram(() -> {
+                if (checkpoints.incrementAndGet() == 2) {
+                    throw new IllegalStateException("abort");
+                }
+            });
+            fail("IllegalStateException was expected here.");
+        } catch (IllegalStateException e) {
+            assertEquals(2, checkpoints.get());
+        }
+    }
+
+    private static double[][] materialize(LagMatrix lagMatrix) {
+        double[][] matrix = new double[lagMatrix.rows()][lagMatrix.cols()];
+        for (int r = 0; r < lagMatrix.rows(); r++) {
+            for (int c = 0; c < lagMatrix.cols(); c++) {
+                matrix[r][c] = lagMatrix.get(r, c);
+            }
+        }
+        return matrix;
+    }
+
+    private static void assertMatrixEquals(double[][] expected, double[][] actual) {
+        assertEquals(expected.length, actual.length);
+        for (int i = 0; i < expected.length; i++) {
+            assertArrayEquals(expected[i], actual[i], 1e-9);
+        }
+    }
+}
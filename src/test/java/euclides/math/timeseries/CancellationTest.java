@@ -0,0 +1,98 @@
+package euclides.math.timeseries;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.Assert.*;
+
+public class CancellationTest {
+    double[] inputDataSet = {245, 247, 256, 257, 257, 258, 255, 253, 255, 251, 251, 256, 256, 253,
+            249, 247, 246, 244, 242, 244};
+
+    @Test
+    public void cancellableFitMatchesInit() {
+        AutoRegressiveMovingAverage arma = new AutoRegressiveMovingAverage(3, 2);
+        double coefficient = new AutoRegressiveMovingAverage(3, 2).init(inputDataSet);
+
+        FitResult fitResult = arma.init(inputDataSet, Cancellation.timeout(60_000));
+
+        assertEquals(FitResult.Status.COMPLETED, fitResult.status());
+        assertEquals(coefficient, fitResult.coefficient(), 0.0);
+        assertEquals(100, arma.trainingLevel());
+    }
+
+    @Test
+    public void cancelledFitReportsTrainingLevel() {
+        Cancellation cancellation = Cancellation.token();
+        cancellation.cancel();
+        AutoRegression autoRegression = new AutoRegression(3);
+
+        FitResult cancelled = autoRegression.init(inputDataSet, cancellation);
+        FitResult timedOut = new PolynomialRegression(2).init(inputDataSet,
+                Cancellation.deadline(System.nanoTime() - 1));
+
+        assertEquals(FitResult.Status.CANCELLED, cancelled.status());
+        assertEquals(0, cancelled.trainingLevel());
+        assertEquals(0, autoRegression.trainingLevel());
+        assertTrue(Double.isNaN(autoRegression.eval(1)));
+        assertEquals(FitResult.Status.TIMED_OUT, timedOut.status());
+        assertTrue(Double.isNaN(timedOut.coefficient()));
+    }
+
+    @Test
+    public void interruptedFitReportsIntermediateTrainingLevel() {
+        // the second check is the checkpoint before the gram matrix, the third the first column of it
+        for (int checks = 2; checks <= 3; checks++) {
+            AutoRegression autoRegression = new AutoRegression(3);
+
+            FitResult fitResult = autoRegression.init(inputDataSet, Cancellation.afterChecks(checks));
+
+            assertEquals(FitResult.Status.CANCELLED, fitResult.status());
+            assertEquals(25, fitResult.trainingLevel());
+            assertEquals(25, autoRegression.trainingLevel());
+            assertTrue(Double.isNaN(autoRegression.eval(1)));
+        }
+    }
+
+    @Test
+    public void laterCheckpointsReportHigherTrainingLevels() {
+        double coefficient = new AutoRegression(3).init(inputDataSet);
+        Set<Integer> levels = new TreeSet<>();
+        int previous = 0;
+        for (int checks = 1; ; checks++) {
+            AutoRegression autoRegression = new AutoRegression(3);
+            FitResult fitResult = autoRegression.init(inputDataSet, Cancellation.afterChecks(checks));
+            if (fitResult.status() == FitResult.Status.COMPLETED) {
+                assertEquals(coefficient, fitResult.coefficient(), 0.0);
+                break;
+            }
+            assertEquals(FitResult.Status.CANCELLED, fitResult.status());
+            assertTrue(fitResult.trainingLevel() >= previous);
+            assertEquals(fitResult.trainingLevel(), autoRegression.trainingLevel());
+            previous = fitResult.trainingLevel();
+            levels.add(previous);
+        }
+        assertEquals(new TreeSet<>(Arrays.asList(0, 25, 50, 75)), levels);
+    }
+
+    @Test
+    public void untrainedModelReportsNoTraining() {
+        assertEquals(0, new AutoRegression(3).trainingLevel());
+        assertEquals(0, new AutoRegressiveMovingAverage(3, 2).trainingLevel());
+        assertEquals(0, new AutoRegressiveIntegratedMovingAverage(3, 1, 2).trainingLevel());
+        assertEquals(0, new PolynomialRegression(2).trainingLevel());
+    }
+
+    @Test
+    public void invalidInputIsRejectedBeforeFitting() {
+        try {
+            new AutoRegression(3).init(new double[] {1, 2, 3}, Cancellation.NONE);
+            fail("IllegalArgumentException was expected here.");
+        } catch (IllegalArgumentException e) {
+            assertEquals("not enough initial values", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package euclides.math.timeseries;
+
+import org.junit.Test;
+
+import java.util.PrimitiveIterator;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class CompressedSeriesTest {
+
+    @Test
+    public void regularSeriesRoundTrips() {
+        double[] values = new double[1000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = 20.0 + Math.round(10 * Math.sin(i / 50.0)) / 10.0;
+        }
+
+        CompressedSeries compressed = CompressedSeries.of(values);
+
+        assertEquals(values.length, compressed.size());
+        assertRoundTrip(TimeSeries.ofValues(values), compressed);
+        assertTrue(compressed.compressedBytes() < values.length * 8L / 4);
+    }
+
+    @Test
+    public void irregularSeriesRoundTrips() {
+        Random random = new Random(42);
+        TimeSeries series = new TimeSeries();
+        long time = 1_700_000_000_000L;
+        for (int i = 0; i < 5000; i++) {
+            switch (i % 5) {
+                case 0:
+                    time += 1000;
+                    break;
+                case 1:
+                    time += 1000 + random.nextInt(128) - 64;
+                    break;
+                case 2:
+                    time += random.nextInt(4096);
+                    break;
+                case 3:
+                    time += random.nextInt(Integer.MAX_VALUE);
+                    break;
+                default:
+                    time -= random.nextInt(1000);
+                    break;
+            }
+            series.add(time, random.nextDouble() * Math.pow(10, random.nextInt(20) - 10));
+        }
+
+        assertRoundTrip(series, CompressedSeries.of(series));
+    }
+
+    @Test
+    public void specialValuesRoundTripBitExact() {
+        double[] values = {0.0, -0.0, Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY,
+                Double.MIN_VALUE, -Double.MAX_VALUE, 1.0, 1.0, Double.longBitsToDouble(0x8000000000000001L),
+                Double.longBitsToDouble(0x7ff0000000000001L), 1.0};
+        TimeSeries series = new TimeSeries();
+        series.add(Long.MIN_VALUE / 2, values[0]);
+        for (int i = 1; i < values.length; i++) {
+            series.add(i % 2 == 0 ? Long.MAX_VALUE / 2 : Long.MIN_VALUE / 2 + i, values[i]);
+        }
+
+        CompressedSeries compressed = CompressedSeries.of(series);
+        PrimitiveIterator.OfDouble iterator = compressed.valueIterator();
+        for (double value : values) {
+            assertEquals(Double.doubleToRawLongBits(value), Double.doubleToRawLongBits(iterator.nextDouble()));
+        }
+        assertRoundTrip(series, compressed);
+    }
+
+    @Test
+    public void iteratorCoversSamplesBeforeItsCreation() {
+        CompressedSeries compressed = new CompressedSeries();
+        compressed.add(0, 1.0);
+        compressed.add(1, 2.0);
+        PrimitiveIterator.OfDouble iterator = compressed.valueIterator();
+        compressed.add(2, 3.0);
+
+        assertEquals(1.0, iterator.nextDouble(), 0.0);
+        assertEquals(2.0, iterator.nextDouble(), 0.0);
+        assertFalse(iterator.hasNext());
+        assertEquals(3, compressed.toTimeSeries().size());
+    }
+
+    private static void assertRoundTrip(TimeSeries expected, CompressedSeries compressed) {
+        TimeSeries actual = compressed.toTimeSeries();
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.time(i), actual.time(i));
+            assertEquals(Double.doubleToRawLongBits(expected.value(i)), Double.doubleToRawLongBits(actual.value(i)));
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package euclides.math.timeseries;
+
+import euclides.math.OffHeapVector;
+import org.junit.Test;
+
+import java.util.PrimitiveIterator;
+
+import static org.junit.Assert.*;
+
+public class OffHeapInitTest {
+    double[] inputDataSet = {245, 247, 256, 257, 257, 258, 255, 253, 255, 251, 251, 256, 256, 253,
+            249, 247, 246, 244, 242, 244};
+
+    @Test
+    public void valueIteratorReadsAllElements() {
+        PrimitiveIterator.OfDouble iterator = OffHeapVector.of(inputDataSet).valueIterator();
+
+        for (double value : inputDataSet) {
+            assertTrue(iterator.hasNext());
+            assertEquals(value, iterator.nextDouble(), 0.0);
+        }
+        assertFalse(iterator.hasNext());
+    }
+
+    @Test
+    public void autoRegressionMatchesArray() {
+        AutoRegression array = new AutoRegression(3);
+        AutoRegression offHeap = new AutoRegression(3);
+
+        double coefficient = array.init(inputDataSet);
+
+        assertEquals(coefficient, offHeap.init(OffHeapVector.of(inputDataSet)), 1e-9);
+        assertArrayEquals(array.forecast(5), offHeap.forecast(5), 1e-9);
+    }
+
+    @Test
+    public void polynomialRegressionMatchesArray() {
+        PolynomialRegression array = new PolynomialRegression(2);
+        PolynomialRegression offHeap = new PolynomialRegression(2);
+
+        double coefficient = array.init(inputDataSet);
+
+        assertEquals(coefficient, offHeap.init(OffHeapVector.of(inputDataSet)), 1e-9);
+        assertArrayEquals(array.forecast(5), offHeap.forecast(5), 1e-6);
+    }
+
+    @Test
+    public void integratedModelMatchesArray() {
+        AutoRegressiveIntegratedMovingAverage array = new AutoRegressiveIntegratedMovingAverage(3, 1, 2);
+        AutoRegressiveIntegratedMovingAverage offHeap = new AutoRegressiveIntegratedMovingAverage(3, 1, 2);
+
+        double coefficient = array.init(inputDataSet);
+
+        assertEquals(coefficient, offHeap.init(OffHeapVector.of(inputDataSet)), 0.0);
+        assertArrayEquals(array.forecast(5), offHeap.forecast(5), 0.0);
+    }
+
+    @Test
+    public void tooShortVectorIsRejected() {
+        try {
+            new AutoRegression(3).init(OffHeapVector.of(new double[] {1, 2, 3}));
+            fail("IllegalArgumentException was expected here.");
+        } catch (IllegalArgumentException e) {
+            assertEquals("not enough initial values", e.getMessage());
+        }
+    }
+}
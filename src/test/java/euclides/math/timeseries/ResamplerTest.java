@@ -0,0 +1,213 @@
+package euclides.math.timeseries;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class ResamplerTest {
+
+    @Test
+    public void aggregationMatchesBruteForce() {
+        Random random = new Random(7);
+        long origin = 1_000;
+        long step = 250;
+        int cells = 200;
+        long[] times = new long[3000];
+        double[] values = new double[times.length];
+        for (int i = 0; i < times.length; i++) {
+            // every third cell stays empty
+            int cell = random.nextInt(cells);
+            cell -= cell % 3 == 1 ? 1 : 0;
+            times[i] = origin + cell * step + random.nextInt((int) step);
+            values[i] = random.nextGaussian() * 10;
+        }
+
+        for (Resampler.Aggregation aggregation : Resampler.Aggregation.values()) {
+            Resampler resampler = new Resampler(origin, step, aggregation, Resampler.GapFill.NAN);
+            for (int i = 0; i < times.length; i++) {
+                resampler.add(times[i], values[i]);
+            }
+            double[] actual = resampler.toArray();
+            assertEquals(resampler.size(), actual.length);
+            for (int cell = 0; cell < actual.length; cell++) {
+                assertEquals(bruteForce(times, values, origin + cell * step,
+                        origin + (cell + 1) * step, aggregation), actual[cell], 1e-9);
+            }
+        }
+    }
+
+    @Test
+    public void gapsAreFilled() {
+        long[] times = {0, 10, 40, 50};
+        double[] values = {1, 2, 5, 4};
+
+        assertArrayEquals(new double[] {1, 2, 3, 4, 5, 4},
+                resample(times, values, Resampler.Aggregation.MEAN, Resampler.GapFill.LINEAR), 1e-12);
+        assertArrayEquals(new double[] {1, 2, 2, 2, 5, 4},
+                resample(times, values, Resampler.Aggregation.MEAN, Resampler.GapFill.PREVIOUS), 1e-12);
+        assertArrayEquals(new double[] {1, 2, Double.NaN, Double.NaN, 5, 4},
+                resample(times, values, Resampler.Aggregation.MEAN, Resampler.GapFill.NAN), 0.0);
+    }
+
+    @Test
+    public void emptySumIsZero() {
+        long[] times = {0, 10, 40, 50};
+        double[] values = {1, 2, 5, 4};
+
+        assertArrayEquals(new double[] {1, 2, 0, 0, 5, 4},
+                resample(times, values, Resampler.Aggregation.SUM, Resampler.GapFill.LINEAR), 0.0);
+        assertArrayEquals(new double[] {1, 2, 0, 0, 5, 4},
+                resample(times, values, Resampler.Aggregation.SUM, Resampler.GapFill.PREVIOUS), 0.0);
+    }
+
+    @Test
+    public void unorderedSeriesStartsAtEarliestSample() {
+        TimeSeries series = TimeSeries.wrap(new long[] {30, 10, 20, 15}, new double[] {3, 1, 2, 5});
+
+        TimeSeries resampled = Resampler.resample(series, 10, Resampler.Aggregation.LAST, Resampler.GapFill.NAN);
+
+        assertEquals(3, resampled.size());
+        assertEquals(10, resampled.time(0));
+        assertArrayEquals(new double[] {5, 2, 3}, resampled.values(), 0.0);
+    }
+
+    @Test
+    public void sampleBeforeOriginIsRejected() {
+        try {
+            new Resampler(100, 10, Resampler.Aggregation.MEAN, Resampler.GapFill.NAN).add(99, 1.0);
+            fail("IllegalArgumentException was expected here.");
+        } catch (IllegalArgumentException e) {
+            assertEquals("The time stamp precedes the grid origin.", e.getMessage());
+        }
+    }
+
+    @Test
+    public void orderedStreamMatchesBufferedGrid() {
+        Random random = new Random(11);
+        long[] times = new long[2000];
+        double[] values = new double[times.length];
+        long time = 5_000;
+        for (int i = 0; i < times.length; i++) {
+            // occasional jumps leave runs of empty cells
+            time += random.nextInt(10) == 0 ? 1_000 + random.nextInt(2_000) : random.nextInt(120);
+            times[i] = time;
+            values[i] = random.nextInt(50) == 0 ? Double.NaN : random.nextGaussian() * 10;
+        }
+
+        for (Resampler.Aggregation aggregation : Resampler.Aggregation.values()) {
+            for (Resampler.GapFill gapFill : Resampler.GapFill.values()) {
+                Resampler buffered = new Resampler(4_000, 250, aggregation, gapFill);
+                TimeSeries streamed = new TimeSeries();
+                Resampler stream = new Resampler(4_000, 250, aggregation, gapFill,
+                        Resampler.DEFAULT_MAX_CELLS, streamed::add);
+                for (int i = 0; i < times.length; i++) {
+                    buffered.add(times[i], values[i]);
+                    stream.add(times[i], values[i]);
+                }
+                stream.flush();
+
+                double[] expected = buffered.toArray();
+                assertEquals(expected.length, streamed.size());
+                assertEquals(buffered.size(), stream.size());
+                for (int cell = 0; cell < expected.length; cell++) {
+                    assertEquals(4_000 + cell * 250L, streamed.time(cell));
+                    assertEquals(expected[cell], streamed.value(cell), 1e-9);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void orderedSeriesIsStreamed() {
+        TimeSeries series = TimeSeries.wrap(new long[] {10, 15, 40, 52}, new double[] {1, 3, 5, 4});
+
+        TimeSeries resampled = Resampler.resample(series, 10, Resampler.Aggregation.MEAN, Resampler.GapFill.LINEAR);
+
+        assertEquals(10, resampled.time(0));
+        assertArrayEquals(new double[] {2, 3, 4, 5, 4}, resampled.values(), 1e-12);
+    }
+
+    @Test
+    public void unorderedStreamIsRejected() {
+        Resampler stream = new Resampler(0, 10, Resampler.Aggregation.MEAN, Resampler.GapFill.NAN,
+                Resampler.DEFAULT_MAX_CELLS, (time, value) -> { });
+        stream.add(20, 1.0);
+        try {
+            stream.add(15, 2.0);
+            fail("IllegalArgumentException was expected here.");
+        } catch (IllegalArgumentException e) {
+            assertEquals("The time stamps of a stream have to be ordered.", e.getMessage());
+        }
+    }
+
+    @Test
+    public void outlierExceedsMaximumNumberOfCells() {
+        // a sample at 0 beside 2024 time stamps on a one second grid
+        TimeSeries series = TimeSeries.wrap(new long[] {1_704_067_200_000L, 0, 1_704_067_201_000L},
+                new double[] {1, 2, 3});
+        try {
+            Resampler.resample(series, 1_000, Resampler.Aggregation.MEAN, Resampler.GapFill.LINEAR);
+            fail("IllegalArgumentException was expected here.");
+        } catch (IllegalArgumentException e) {
+            assertEquals("The time stamp exceeds the maximum number of grid cells.", e.getMessage());
+        }
+        Resampler resampler = new Resampler(0, 10, Resampler.Aggregation.SUM, Resampler.GapFill.NAN, 4, null);
+        resampler.add(39, 1.0);
+        try {
+            resampler.add(40, 1.0);
+            fail("IllegalArgumentException was expected here.");
+        } catch (IllegalArgumentException e) {
+            assertEquals("The time stamp exceeds the maximum number of grid cells.", e.getMessage());
+        }
+        assertEquals(4, resampler.size());
+    }
+
+    private static double[] resample(long[] times, double[] values, Resampler.Aggregation aggregation,
+                                     Resampler.GapFill gapFill) {
+        Resampler resampler = new Resampler(0, 10, aggregation, gapFill);
+        for (int i = 0; i < times.length; i++) {
+            resampler.add(times[i], values[i]);
+        }
+        return resampler.toArray();
+    }
+
+    private static double bruteForce(long[] times, double[] values, long from, long to,
+                                     Resampler.Aggregation aggregation) {
+        List<Integer> samples = new ArrayList<>();
+        for (int i = 0; i < times.length; i++) {
+            if (times[i] >= from && times[i] < to) {
+                samples.add(i);
+            }
+        }
+        if (samples.isEmpty()) {
+            return Double.NaN;
+        }
+        double result = aggregation == Resampler.Aggregation.MIN ? Double.POSITIVE_INFINITY
+                : aggregation == Resampler.Aggregation.MAX ? Double.NEGATIVE_INFINITY : 0.0;
+        long latest = Long.MIN_VALUE;
+        for (int i : samples) {
+            switch (aggregation) {
+                case MIN:
+                    result = Math.min(result, values[i]);
+                    break;
+                case MAX:
+                    result = Math.max(result, values[i]);
+                    break;
+                case LAST:
+                    if (times[i] >= latest) {
+                        latest = times[i];
+                        result = values[i];
+                    }
+                    break;
+                default:
+                    result += values[i];
+                    break;
+            }
+        }
+        return aggregation == Resampler.Aggregation.MEAN ? result / samples.size() : result;
+    }
+}
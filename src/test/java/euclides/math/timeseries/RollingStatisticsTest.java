@@ -0,0 +1,99 @@
+package euclides.math.timeseries;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class RollingStatisticsTest {
+
+    @Test
+    public void statisticsMatchBruteForce() {
+        Random random = new Random(11);
+        double[] yi = new double[2000];
+        for (int i = 0; i < yi.length; i++) {
+            // a large offset and repeated values stress the running sums and the heaps
+            yi[i] = 1e6 + (i % 7 == 0 ? 3.0 : Math.round(random.nextGaussian() * 100) / 10.0);
+        }
+        double[] result = new double[yi.length];
+
+        for (int window : new int[] {1, 2, 5, 64, 333, yi.length + 10}) {
+            RollingStatistics.mean(yi, window, result);
+            for (int i = 0; i < yi.length; i++) {
+                assertEquals(mean(window(yi, i, window)), result[i], 1e-6);
+            }
+            RollingStatistics.variance(yi, window, result);
+            for (int i = 0; i < yi.length; i++) {
+                assertEquals(variance(window(yi, i, window)), result[i], 1e-6);
+            }
+            RollingStatistics.min(yi, window, result);
+            for (int i = 0; i < yi.length; i++) {
+                assertEquals(Arrays.stream(window(yi, i, window)).min().getAsDouble(), result[i], 0.0);
+            }
+            RollingStatistics.max(yi, window, result);
+            for (int i = 0; i < yi.length; i++) {
+                assertEquals(Arrays.stream(window(yi, i, window)).max().getAsDouble(), result[i], 0.0);
+            }
+            RollingStatistics.median(yi, window, result);
+            for (int i = 0; i < yi.length; i++) {
+                assertEquals(median(window(yi, i, window)), result[i], 0.0);
+            }
+        }
+    }
+
+    @Test
+    public void invalidBuffersAreRejected() {
+        double[] yi = {1, 2, 3};
+        try {
+            RollingStatistics.mean(yi, 2, new double[2]);
+            fail("IllegalArgumentException was expected here.");
+        } catch (IllegalArgumentException e) {
+            assertEquals("The result buffer is too small.", e.getMessage());
+        }
+        try {
+            RollingStatistics.median(yi, 2, yi);
+            fail("IllegalArgumentException was expected here.");
+        } catch (IllegalArgumentException e) {
+            assertEquals("The result buffer must not be the input.", e.getMessage());
+        }
+        try {
+            RollingStatistics.variance(yi, 0, new double[3]);
+            fail("IllegalArgumentException was expected here.");
+        } catch (IllegalArgumentException e) {
+            assertEquals("The window size has to be positive.", e.getMessage());
+        }
+    }
+
+    private static double[] window(double[] yi, int i, int window) {
+        return Arrays.copyOfRange(yi, Math.max(0, i - window + 1), i + 1);
+    }
+
+    private static double mean(double[] values) {
+        double sum = 0.0;
+        for (double value : values) {
+            sum += value;
+        }
+        return sum / values.length;
+    }
+
+    private static double variance(double[] values) {
+        if (values.length < 2) {
+            return 0.0;
+        }
+        double mean = mean(values);
+        double sum = 0.0;
+        for (double value : values) {
+            sum += (value - mean) * (value - mean);
+        }
+        return sum / (values.length - 1);
+    }
+
+    private static double median(double[] values) {
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        int middle = sorted.length / 2;
+        return sorted.length % 2 == 1 ? sorted[middle] : 0.5 * (sorted[middle - 1] + sorted[middle]);
+    }
+}
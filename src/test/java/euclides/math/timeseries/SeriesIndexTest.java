@@ -0,0 +1,86 @@
+package euclides.math.timeseries;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class SeriesIndexTest {
+
+    @Test
+    public void rangeFitsMatchModels() {
+        Random random = new Random(3);
+        double[] yi = new double[5000];
+        for (int i = 0; i < yi.length; i++) {
+            yi[i] = 1e7 + 0.25 * i + random.nextGaussian();
+        }
+        SeriesIndex index = new SeriesIndex(yi);
+
+        for (int[] range : new int[][] {{0, 5000}, {0, 2}, {17, 230}, {4000, 4003}, {2500, 4999}}) {
+            double[] slice = Arrays.copyOfRange(yi, range[0], range[1]);
+
+            SimpleLinearRegression expected = new SimpleLinearRegression();
+            SimpleLinearRegression actual = new SimpleLinearRegression();
+            assertEquals(expected.init(slice), index.fit(actual, range[0], range[1]), 1e-9);
+            assertArrayEquals(expected.forecast(3), actual.forecast(3), 1e-6);
+            assertEquals(expected.eval(-(slice.length - 1)), actual.eval(-(slice.length - 1)), 1e-6);
+
+            ConstantRegression expectedConstant = new ConstantRegression();
+            ConstantRegression actualConstant = new ConstantRegression();
+            assertEquals(expectedConstant.init(slice), index.fit(actualConstant, range[0], range[1]), 0.0);
+            assertEquals(expectedConstant.eval(1), actualConstant.eval(1), 1e-6);
+        }
+    }
+
+    @Test
+    public void momentsMatchBruteForce() {
+        Random random = new Random(5);
+        SeriesIndex index = new SeriesIndex();
+        double[] yi = new double[1000];
+        for (int i = 0; i < yi.length; i++) {
+            yi[i] = 1e9 + random.nextInt(1000) / 8.0;
+            index.add(yi[i]);
+        }
+
+        assertEquals(yi.length, index.size());
+        for (int from = 0; from < yi.length; from += 97) {
+            for (int to = from + 2; to <= yi.length; to += 131) {
+                double mean = 0.0;
+                for (int i = from; i < to; i++) {
+                    mean += (yi[i] - 1e9) / (to - from);
+                }
+                double variance = 0.0;
+                for (int i = from; i < to; i++) {
+                    variance += (yi[i] - 1e9 - mean) * (yi[i] - 1e9 - mean) / (to - from - 1);
+                }
+                assertEquals(1e9 + mean, index.mean(from, to), 1e-6);
+                assertEquals(variance, index.variance(from, to), 1e-6 * Math.max(1.0, variance));
+            }
+        }
+    }
+
+    @Test
+    public void invalidRangesAreRejected() {
+        SeriesIndex index = new SeriesIndex(new double[] {1, 2, 3});
+        try {
+            index.mean(1, 4);
+            fail("IndexOutOfBoundsException was expected here.");
+        } catch (IndexOutOfBoundsException e) {
+            assertEquals("range [1, 4) of 3", e.getMessage());
+        }
+        try {
+            index.variance(2, 3);
+            fail("IllegalArgumentException was expected here.");
+        } catch (IllegalArgumentException e) {
+            assertEquals("not enough initial values", e.getMessage());
+        }
+        try {
+            index.add(Double.NaN);
+            fail("IllegalArgumentException was expected here.");
+        } catch (IllegalArgumentException e) {
+            assertEquals("The value has to be finite.", e.getMessage());
+        }
+    }
+}
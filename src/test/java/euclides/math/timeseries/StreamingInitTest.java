@@ -0,0 +1,138 @@
+package euclides.math.timeseries;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+public class StreamingInitTest {
+    double[] inputDataSet = {245, 247, 256, 257, 257, 258, 255, 253, 255, 251, 251, 256, 256, 253,
+            249, 247, 246, 244, 242, 244};
+
+    @Test
+    public void polynomialStreamMatchesArray() {
+        PolynomialRegression array = new PolynomialRegression(2);
+        PolynomialRegression stream = new PolynomialRegression(2);
+
+        double coefficient = array.init(inputDataSet);
+
+        assertEquals(coefficient, stream.init(Arrays.stream(inputDataSet).iterator()), 1e-9);
+        assertArrayEquals(array.forecast(5), stream.forecast(5), 1e-6);
+        assertEquals(100, stream.trainingLevel());
+    }
+
+    @Test
+    public void polynomialStreamIsWellConditioned() {
+        int datasize = 1_000_000;
+        double[] values = new double[datasize];
+        for (int t = 0; t < datasize; t++) {
+            values[t] = quadratic(t);
+        }
+        PolynomialRegression stream = new PolynomialRegression(3);
+
+        double coefficient = stream.init(Arrays.stream(values).iterator());
+
+        assertEquals(1.0, coefficient, 1e-9);
+        for (int x = 0; x <= 10; x++) {
+            assertEquals(quadratic(datasize - 1 + x), stream.eval(x), 1e-6 * Math.abs(quadratic(datasize - 1 + x)));
+        }
+    }
+
+    @Test
+    public void autoRegressionIteratorHasNoScore() {
+        AutoRegression array = new AutoRegression(3);
+        AutoRegression stream = new AutoRegression(3);
+        AutoRegression compressed = new AutoRegression(3);
+
+        double coefficient = array.init(inputDataSet);
+
+        assertTrue(Double.isNaN(stream.init(Arrays.stream(inputDataSet).iterator())));
+        assertArrayEquals(array.forecast(5), stream.forecast(5), 1e-9);
+        assertEquals(coefficient, compressed.init(CompressedSeries.of(inputDataSet)), 1e-9);
+        assertArrayEquals(array.forecast(5), compressed.forecast(5), 1e-9);
+    }
+
+    @Test
+    public void constantAndLinearStreamsMatchArray() {
+        ConstantRegression constantArray = new ConstantRegression();
+        ConstantRegression constantStream = new ConstantRegression();
+        SimpleLinearRegression linearArray = new SimpleLinearRegression();
+        SimpleLinearRegression linearStream = new SimpleLinearRegression();
+
+        double constantCoefficient = constantArray.init(inputDataSet);
+        double linearCoefficient = linearArray.init(inputDataSet);
+
+        assertEquals(constantCoefficient, constantStream.init(Arrays.stream(inputDataSet).iterator()), 1e-9);
+        assertArrayEquals(constantArray.forecast(5), constantStream.forecast(5), 1e-9);
+        assertEquals(linearCoefficient, linearStream.init(Arrays.stream(inputDataSet).iterator()), 1e-9);
+        assertArrayEquals(linearArray.forecast(5), linearStream.forecast(5), 1e-9);
+    }
+
+    @Test
+    public void autoRegressionSeekableChannelIsScored() throws IOException {
+        AutoRegression array = new AutoRegression(3);
+        AutoRegression file = new AutoRegression(3);
+        AutoRegression stream = new AutoRegression(3);
+        Path path = Files.createTempFile("series", ".bin");
+        try {
+            Files.write(path, bytes(inputDataSet));
+            double coefficient = array.init(inputDataSet);
+
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                assertEquals(coefficient, file.init(channel), 1e-9);
+            }
+            assertTrue(Double.isNaN(stream.init(Channels.newChannel(new ByteArrayInputStream(bytes(inputDataSet))))));
+            assertArrayEquals(array.forecast(5), file.forecast(5), 1e-9);
+            assertArrayEquals(array.forecast(5), stream.forecast(5), 1e-9);
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    public void channelStreamMatchesArray() {
+        // more values than one chunk of the channel iterator
+        double[] values = new double[20_000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = inputDataSet[i % inputDataSet.length] + 0.01 * i;
+        }
+        PolynomialRegression array = new PolynomialRegression(2);
+        PolynomialRegression stream = new PolynomialRegression(2);
+
+        double coefficient = array.init(values);
+
+        assertEquals(coefficient, stream.init(Channels.newChannel(new ByteArrayInputStream(bytes(values)))), 1e-9);
+        assertArrayEquals(array.forecast(5), stream.forecast(5), 1e-6);
+    }
+
+    @Test
+    public void channelWithIncompleteValueIsRejected() {
+        byte[] truncated = Arrays.copyOf(bytes(inputDataSet), 8 * inputDataSet.length - 3);
+        try {
+            new ConstantRegression().init(Channels.newChannel(new ByteArrayInputStream(truncated)));
+            fail("IllegalArgumentException was expected here.");
+        } catch (IllegalArgumentException e) {
+            assertEquals("channel ends with an incomplete value", e.getMessage());
+        }
+    }
+
+    private static byte[] bytes(double[] values) {
+        ByteBuffer buffer = ByteBuffer.allocate(Double.BYTES * values.length).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.asDoubleBuffer().put(values);
+        return buffer.array();
+    }
+
+    private static double quadratic(double t) {
+        return 1e6 + 0.5 * t - 2e-7 * t * t;
+    }
+}
@@ -0,0 +1,68 @@
+package euclides.math.timeseries;
+
+import org.junit.Test;
+
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+import static org.junit.Assert.*;
+
+public class TimeSeriesInitTest {
+    double[] inputDataSet = {245, 247, 256, 257, 257, 258, 255, 253, 255, 251, 251, 256, 256, 253,
+            249, 247, 246, 244, 242, 244};
+
+    TimeSeries series = TimeSeries.ofValues(inputDataSet).slice(2, 18);
+
+    @Test
+    public void valueIteratorCoversSlice() {
+        PrimitiveIterator.OfDouble iterator = series.valueIterator();
+
+        for (int i = 2; i < 18; i++) {
+            assertTrue(iterator.hasNext());
+            assertEquals(inputDataSet[i], iterator.nextDouble(), 0.0);
+        }
+        assertFalse(iterator.hasNext());
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void exhaustedValueIteratorThrows() {
+        PrimitiveIterator.OfDouble iterator = series.valueIterator();
+        while (iterator.hasNext()) {
+            iterator.nextDouble();
+        }
+        iterator.nextDouble();
+    }
+
+    @Test
+    public void autoRegressionMatchesArray() {
+        assertMatchesArray(new AutoRegression(3), new AutoRegression(3));
+    }
+
+    @Test
+    public void polynomialRegressionMatchesArray() {
+        assertMatchesArray(new PolynomialRegression(2), new PolynomialRegression(2));
+    }
+
+    @Test
+    public void simpleLinearRegressionMatchesArray() {
+        assertMatchesArray(new SimpleLinearRegression(), new SimpleLinearRegression());
+    }
+
+    @Test
+    public void constantRegressionMatchesArray() {
+        assertMatchesArray(new ConstantRegression(), new ConstantRegression());
+    }
+
+    private void assertMatchesArray(Model array, Model inPlace) {
+        double coefficient = array.init(series.values());
+
+        double result = inPlace.init(series);
+
+        if (Double.isNaN(coefficient)) {
+            assertTrue(Double.isNaN(result));
+        } else {
+            assertEquals(coefficient, result, 1e-9);
+        }
+        assertArrayEquals(array.forecast(5), inPlace.forecast(5), 1e-9);
+    }
+}
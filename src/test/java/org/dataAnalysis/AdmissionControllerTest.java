@@ -0,0 +1,128 @@
+package org.dataAnalysis;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.Assert.*;
+
+public class AdmissionControllerTest {
+    double[] inputDataSet = {245, 247, 256, 257, 257, 258, 255, 253, 255, 251, 251, 256, 256, 253,
+            249, 247, 246, 244, 242, 244};
+    ExecutorService executor = Executors.newCachedThreadPool();
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+
+    @After
+    public void tearDown() {
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    ForecastRequest request(String regression, int... parameters) {
+        return new ForecastRequest(regression, parameters, inputDataSet, 1);
+    }
+
+    void occupy(AdmissionController admissionController, ForecastRequest request) throws InterruptedException {
+        executor.execute(() -> admissionController.admit(request, (blockedRequest, cancellation) -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return null;
+        }));
+        started.await();
+    }
+
+    @Test
+    public void costGrowsWithOrders() {
+        long ar = AdmissionController.estimateCost(request("autoRegression", 3));
+        long arma = AdmissionController.estimateCost(request("autoRegressionMovingAverage", 3, 2));
+        long arima = AdmissionController.estimateCost(request("autoRegressionIntegratedAverage", 3, 1, 2));
+
+        assertEquals(3 * inputDataSet.length + 1, AdmissionController.estimateCost(request("constRegression")));
+        assertEquals(3 * inputDataSet.length * 3 + 9 + 9 + 1, ar);
+        assertTrue(ar < arma);
+        assertTrue(arma < arima);
+        assertEquals(AdmissionController.CostClass.SMALL, AdmissionController.classify(arima));
+        assertEquals(AdmissionController.CostClass.LARGE,
+                AdmissionController.classify(AdmissionController.MEDIUM_COST + 1));
+    }
+
+    @Test
+    public void costFollowsHankelGram() {
+        long largeOrder = AdmissionController.estimateCost(new ForecastRequest("autoRegression", new int[] {400},
+                new double[1_000_000], 1));
+        long longSeries = AdmissionController.estimateCost(new ForecastRequest("autoRegression", new int[] {20},
+                new double[5_000_000], 1));
+
+        assertEquals(AdmissionController.CostClass.LARGE, AdmissionController.classify(largeOrder));
+        assertEquals(AdmissionController.CostClass.MEDIUM, AdmissionController.classify(longSeries));
+    }
+
+    @Test
+    public void costIncludesHorizon() {
+        ForecastRequest request = new ForecastRequest("autoRegression", new int[] {8}, new double[200], 40_000);
+
+        assertEquals(AdmissionController.CostClass.LARGE,
+                AdmissionController.classify(AdmissionController.estimateCost(request)));
+        assertEquals(8L * (40_000L * 40_000 - 100 * 100) / 2,
+                AdmissionController.estimateForecastCost(request, 100));
+    }
+
+    @Test
+    public void tooExpensiveFit() {
+        try {
+            AdmissionController.classify(AdmissionController.MAX_COST + 1);
+            fail("IllegalArgumentException was expected here.");
+        } catch (IllegalArgumentException e) {
+            assertEquals(Messages.ERROR_FIT_TOO_EXPENSIVE, e.getMessage());
+        }
+    }
+
+    @Test
+    public void fullQueueIsRejected() throws InterruptedException {
+        AdmissionController admissionController = new AdmissionController(new AdmissionController.Lane(1, 0, 1000),
+                new AdmissionController.Lane(1, 0, 1000), new AdmissionController.Lane(1, 0, 1000));
+        occupy(admissionController, request("constRegression"));
+        try {
+            admissionController.admit(request("simpleLinearRegression"), (admittedRequest, cancellation) -> 0);
+            fail("RejectedExecutionException was expected here.");
+        } catch (RejectedExecutionException e) {
+            assertEquals(Messages.ERROR_QUEUE_FULL, e.getMessage());
+        }
+        assertEquals(1, admissionController.getRejected(AdmissionController.CostClass.SMALL));
+    }
+
+    @Test
+    public void queuedFitTimesOut() throws InterruptedException {
+        AdmissionController admissionController = new AdmissionController(new AdmissionController.Lane(1, 1, 20),
+                new AdmissionController.Lane(1, 0, 1000), new AdmissionController.Lane(1, 0, 1000));
+        occupy(admissionController, request("constRegression"));
+        try {
+            admissionController.admit(request("simpleLinearRegression"), (admittedRequest, cancellation) -> 0);
+            fail("RejectedExecutionException was expected here.");
+        } catch (RejectedExecutionException e) {
+            assertEquals(Messages.ERROR_FIT_DEADLINE, e.getMessage());
+        }
+        assertEquals(1, admissionController.getTimedOut(AdmissionController.CostClass.SMALL));
+        assertEquals(0, admissionController.getWaiting(AdmissionController.CostClass.SMALL));
+    }
+
+    @Test
+    public void largeFitsDoNotBlockSmallFits() throws InterruptedException {
+        AdmissionController admissionController = new AdmissionController(new AdmissionController.Lane(1, 0, 1000),
+                new AdmissionController.Lane(1, 0, 1000), new AdmissionController.Lane(1, 0, 1000));
+        occupy(admissionController, new ForecastRequest("autoRegression", new int[] {8}, new double[200], 40_000));
+
+        assertEquals(Integer.valueOf(1), admissionController.admit(request("constRegression"), (admittedRequest, cancellation) -> 1));
+        assertEquals(1, admissionController.getAdmitted(AdmissionController.CostClass.LARGE));
+        assertEquals(1, admissionController.getAdmitted(AdmissionController.CostClass.SMALL));
+    }
+}
@@ -0,0 +1,62 @@
+package org.dataAnalysis;
+
+import euclides.math.OffHeapVector;
+import euclides.math.timeseries.TimeSeries;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.Assert.*;
+
+public class BinarySeriesReaderTest {
+    BinarySeriesWriter writer = new BinarySeriesWriter();
+    BinarySeriesReader reader = new BinarySeriesReader();
+
+    long[] times = {1704067200000L, 1704070800000L, 1704074400000L, 1704081600000L, 1704078000000L};
+    double[] values = {3.37, 51.16, 33.28, -80.67, Double.NaN};
+
+    @Test
+    public void readCompressedSeries() throws IOException {
+        Path file = createTempFile();
+        writer.write(file, TimeSeries.wrap(times, values), true);
+
+        TimeSeries result = reader.read(file);
+
+        assertArrayEquals(times, result.times());
+        assertArrayEquals(values, result.values(), 0.0);
+    }
+
+    @Test
+    public void mapUncompressedValues() throws IOException {
+        Path file = createTempFile();
+        writer.write(file, TimeSeries.wrap(times, values), false);
+
+        OffHeapVector result = reader.mapValues(file, true);
+
+        assertArrayEquals(values, result.toArray(), 0.0);
+    }
+
+    @Test
+    public void readCorruptSeries() throws IOException {
+        Path file = createTempFile();
+        writer.write(file, values, false);
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length - 1] ^= 1;
+        Files.write(file, bytes);
+
+        try {
+            reader.readValues(file);
+            fail("IllegalArgumentException was expected here.");
+        } catch (IllegalArgumentException e) {
+            assertEquals(Messages.ERROR_CORRUPT_SERIES_FILE, e.getMessage());
+        }
+    }
+
+    private static Path createTempFile() throws IOException {
+        Path file = Files.createTempFile("series", ".bin");
+        file.toFile().deleteOnExit();
+        return file;
+    }
+}
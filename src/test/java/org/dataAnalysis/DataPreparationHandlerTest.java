@@ -1,5 +1,6 @@
 package org.dataAnalysis;
 
+import euclides.math.timeseries.TimeSeries;
 
 import org.junit.Test;
 
@@ -195,4 +196,81 @@ public class DataPreparationHandlerTest {
         assertArrayEquals(expectedDataSet, result, 0.01);
     }
 
+    @Test
+    public void prepareRawInputDataWithDecimalCommaAndPoint() {
+        String rawInputData = "2024-01-01;3,37\r\n2024-01-02; 51.16 \r\n2024-01-03;-33,28\n2024-01-04;1e2\n\n";
+        double[] expectedDataSet = {3.37, 51.16, -33.28, 100.0};
+
+        double[] result = handler.prepareRawInputData(rawInputData);
+
+        assertArrayEquals(expectedDataSet, result, 0.0);
+    }
+
+    @Test
+    public void prepareRawInputDataWithInvalidNumber() {
+        String rawInputData = "2024-01-01;3,37\n2024-01-02;abc\n";
+
+        try {
+            handler.prepareRawInputData(rawInputData);
+            fail("IllegalArgumentException was expected here.");
+        } catch (IllegalArgumentException e) {
+            assertEquals(Messages.ERROR_IN_LINE + 2 + ": " + Messages.ERROR_INVALID_NUMBER, e.getMessage());
+        }
+    }
+
+    @Test
+    public void prepareRawInputDataWithMissingSeparator() {
+        String rawInputData = "2024-01-01;3,37\n2024-01-02;51,16\n2024-01-03 33,28\n";
+
+        try {
+            handler.prepareRawInputData(rawInputData);
+            fail("IllegalArgumentException was expected here.");
+        } catch (IllegalArgumentException e) {
+            assertEquals(Messages.ERROR_IN_LINE + 3 + ": " + Messages.ERROR_2D_ARRAY, e.getMessage());
+        }
+    }
+
+    @Test
+    public void prepareRawInputDataWithEmptyInput() {
+        try {
+            handler.prepareRawInputData("");
+            fail("IllegalArgumentException was expected here.");
+        } catch (IllegalArgumentException e) {
+            assertEquals(Messages.ERROR_EMPTY_ARRAY, e.getMessage());
+        }
+    }
+    @Test
+    public void prepareRawInputSeriesWithTimestamps() {
+        String rawInputData = "2024-01-01;3,37\n2024-01-01T12:30;51,16\n02.01.2024 00:00:01;33,28\n";
+        long[] expectedTimes = {1704067200000L, 1704112200000L, 1704153601000L};
+        double[] expectedValues = {3.37, 51.16, 33.28};
+
+        TimeSeries result = handler.prepareRawInputSeries(rawInputData);
+
+        assertArrayEquals(expectedTimes, result.times());
+        assertArrayEquals(expectedValues, result.values(), 0.0);
+    }
+
+    @Test
+    public void prepareRawInputSeriesWithoutTimestamps() {
+        String rawInputData = "a;3,37\nb;51,16\nc;33,28\n";
+        long[] expectedTimes = {0, 1, 2};
+
+        TimeSeries result = handler.prepareRawInputSeries(rawInputData);
+
+        assertArrayEquals(expectedTimes, result.times());
+    }
+
+    @Test
+    public void prepareRawInputSeriesWithInvalidTimestamp() {
+        String rawInputData = "2024-01-01;3,37\n2024-13-02;51,16\n";
+
+        try {
+            handler.prepareRawInputSeries(rawInputData);
+            fail("IllegalArgumentException was expected here.");
+        } catch (IllegalArgumentException e) {
+            assertEquals(Messages.ERROR_IN_LINE + 2 + ": " + Messages.ERROR_INVALID_TIMESTAMP, e.getMessage());
+        }
+    }
+
 }
\ No newline at end of file
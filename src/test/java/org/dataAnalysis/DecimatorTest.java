@@ -0,0 +1,100 @@
+package org.dataAnalysis;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.TreeSet;
+
+import static org.junit.Assert.*;
+
+public class DecimatorTest {
+    Decimator decimator = new Decimator();
+
+    private static double[][] sawtooth(int length) {
+        double[][] dataSet = new double[length][3];
+        for (int i = 0; i < length; i++) {
+            dataSet[i][0] = i % 7;
+            dataSet[i][1] = i < length / 2 ? Double.NaN : -i;
+            dataSet[i][2] = i;
+        }
+        return dataSet;
+    }
+
+    @Test
+    public void m4KeepsExtremesOfEveryPixel() {
+        double[][] dataSet = sawtooth(1000);
+        dataSet[123][0] = 100.0;
+        dataSet[877][0] = -100.0;
+
+        int[] indices = decimator.m4(new MinMaxPyramid(dataSet, 0), 0, 1000, 10);
+
+        assertTrue(indices.length <= 40);
+        assertEquals(0, indices[0]);
+        assertEquals(999, indices[indices.length - 1]);
+        boolean foundMax = false;
+        boolean foundMin = false;
+        for (int i = 0; i < indices.length; i++) {
+            foundMax |= indices[i] == 123;
+            foundMin |= indices[i] == 877;
+            if (i > 0) {
+                assertTrue(indices[i] > indices[i - 1]);
+            }
+        }
+        assertTrue(foundMax);
+        assertTrue(foundMin);
+    }
+
+    @Test
+    public void m4MatchesScanOfEveryPixel() {
+        double[][] dataSet = sawtooth(1000);
+        dataSet[300][1] = Double.NaN;
+        dataSet[601][1] = Double.NaN;
+
+        int[] indices = decimator.m4(new MinMaxPyramid(dataSet, 1), 100, 900, 7);
+
+        TreeSet<Integer> expected = new TreeSet<>();
+        for (int pixel = 0; pixel < 7; pixel++) {
+            int first = -1;
+            int last = -1;
+            int min = -1;
+            int max = -1;
+            for (int i = 100 + pixel * 800 / 7; i < 100 + (pixel + 1) * 800 / 7; i++) {
+                double y = dataSet[i][1];
+                if (Double.isNaN(y)) {
+                    continue;
+                }
+                if (first < 0) {
+                    first = i;
+                }
+                if (min < 0 || y < dataSet[min][1]) {
+                    min = i;
+                }
+                if (max < 0 || y > dataSet[max][1]) {
+                    max = i;
+                }
+                last = i;
+            }
+            if (first >= 0) {
+                expected.addAll(Arrays.asList(first, min, max, last));
+            }
+        }
+        assertArrayEquals(expected.stream().mapToInt(Integer::intValue).toArray(), indices);
+    }
+
+    @Test
+    public void m4ShortRangeKeepsAllPoints() {
+        double[][] dataSet = sawtooth(20);
+
+        assertArrayEquals(new int[] {5, 6, 7, 8, 9}, decimator.m4(new MinMaxPyramid(dataSet, 0), 5, 10, 100));
+    }
+
+    @Test
+    public void m4EmptyRange() {
+        try {
+            decimator.m4(new MinMaxPyramid(sawtooth(20), 0), 5, 5, 100);
+            fail("IllegalArgumentException was expected here.");
+        } catch (IllegalArgumentException e) {
+            assertEquals(Messages.ERROR_EMPTY_DATASET, e.getMessage());
+        }
+    }
+}
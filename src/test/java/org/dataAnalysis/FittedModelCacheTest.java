@@ -0,0 +1,84 @@
+package org.dataAnalysis;
+
+import euclides.math.timeseries.*;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import static org.junit.Assert.*;
+
+public class FittedModelCacheTest {
+    double[] inputDataSet = {245, 247, 256, 257, 257, 258, 255, 253, 255, 251, 251, 256, 256, 253,
+            249, 247, 246, 244, 242, 244};
+    RegressionHandler regressionHandler;
+    FittedModelCache fittedModelCache;
+
+    @Before
+    public void setUp() {
+        regressionHandler = new RegressionHandler(Mockito.mock(HtmlHandler.class));
+        fittedModelCache = new FittedModelCache(regressionHandler, 2);
+    }
+
+    @Test
+    public void horizonChangeExtendsCachedForecast() {
+        long dataHash = FittedModelCache.hash(inputDataSet);
+        AutoRegression autoRegression = new AutoRegression(3);
+        double coefficient = autoRegression.init(inputDataSet);
+
+        FittedModelCache.FittedModel fittedModel = fittedModelCache.getOrFit("autoRegression", new int[] {3},
+                inputDataSet, dataHash);
+        double[] shortForecast = fittedModel.calculateDataSet(5);
+        double[] longForecast = fittedModelCache.getOrFit("autoRegression", new int[] {3}, inputDataSet, dataHash)
+                .calculateDataSet(8);
+
+        assertEquals(1, fittedModelCache.getMisses());
+        assertEquals(1, fittedModelCache.getHits());
+        assertEquals(coefficient, fittedModel.getCoefficient(), 0.0);
+        assertArrayEquals(regressionHandler.calculateDataSetForRegression(autoRegression, inputDataSet.length, 5),
+                shortForecast, 0.0);
+        assertArrayEquals(regressionHandler.calculateDataSetForRegression(autoRegression, inputDataSet.length, 8),
+                longForecast, 0.0);
+    }
+
+    @Test
+    public void historyIsIncludedForNonAutoRegressiveModels() {
+        SimpleLinearRegression simpleLinearRegression = new SimpleLinearRegression();
+        simpleLinearRegression.init(inputDataSet);
+
+        double[] calculatedDataSet = fittedModelCache.getOrFit("simpleLinearRegression", new int[0], inputDataSet,
+                FittedModelCache.hash(inputDataSet)).calculateDataSet(5);
+
+        assertArrayEquals(regressionHandler.calculateDataSetForRegression(simpleLinearRegression,
+                inputDataSet.length, 5), calculatedDataSet, 0.0);
+    }
+
+    @Test
+    public void leastRecentlyUsedModelIsEvicted() {
+        long dataHash = FittedModelCache.hash(inputDataSet);
+        double[] changedDataSet = inputDataSet.clone();
+        changedDataSet[3] = 250;
+
+        fittedModelCache.getOrFit("constRegression", new int[0], inputDataSet, dataHash);
+        fittedModelCache.getOrFit("autoRegression", new int[] {3}, inputDataSet, dataHash);
+        fittedModelCache.getOrFit("constRegression", new int[0], inputDataSet, dataHash);
+        fittedModelCache.getOrFit("constRegression", new int[0], changedDataSet,
+                FittedModelCache.hash(changedDataSet));
+        fittedModelCache.getOrFit("constRegression", new int[0], inputDataSet, dataHash);
+        fittedModelCache.getOrFit("autoRegression", new int[] {3}, inputDataSet, dataHash);
+
+        assertTrue(dataHash != FittedModelCache.hash(changedDataSet));
+        assertEquals(2, fittedModelCache.size());
+        assertEquals(2, fittedModelCache.getHits());
+        assertEquals(4, fittedModelCache.getMisses());
+    }
+
+    @Test
+    public void createCacheWithoutCapacity() {
+        try {
+            new FittedModelCache(regressionHandler, 0);
+            fail("IllegalArgumentException was expected here.");
+        } catch (IllegalArgumentException e) {
+            assertEquals(Messages.ERROR_CACHE_CAPACITY, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,256 @@
+package org.dataAnalysis;
+
+import euclides.math.timeseries.AutoRegression;
+import euclides.math.timeseries.Cancellation;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.Assert.*;
+
+public class ForecastCacheTest {
+    double[] inputDataSet = {245, 247, 256, 257, 257, 258, 255, 253, 255, 251, 251, 256, 256, 253,
+            249, 247, 246, 244, 242, 244};
+    long[] now = {0};
+    ForecastService forecastService = new ForecastService();
+
+    ForecastCache createCache(long maxWeightBytes) {
+        return new ForecastCache(maxWeightBytes, 1000, () -> now[0]);
+    }
+
+    @Test
+    public void horizonChangeExtendsCachedForecast() {
+        ForecastCache forecastCache = createCache(1 << 20);
+
+        ForecastResult shortResult = forecastCache.getOrFit(new ForecastRequest("autoRegression", new int[] {3},
+                inputDataSet, 3), forecastService::fit);
+        ForecastResult longResult = forecastCache.getOrFit(new ForecastRequest("autoRegression", new int[] {3},
+                inputDataSet.clone(), 6), forecastService::fit);
+        ForecastResult uncached = new ForecastService(createCache(1 << 20))
+                .forecast(new ForecastRequest("autoRegression", new int[] {3}, inputDataSet, 6));
+
+        assertEquals(1, forecastCache.getMisses());
+        assertEquals(1, forecastCache.getHits());
+        assertEquals(2, forecastCache.getExtensions());
+        assertArrayEquals(Arrays.copyOf(uncached.getForecast(), 3), shortResult.getForecast(), 0.0);
+        assertArrayEquals(uncached.getForecast(), longResult.getForecast(), 0.0);
+        assertEquals(uncached.getCoefficient(), longResult.getCoefficient(), 0.0);
+    }
+
+    @Test
+    public void expiredEntryIsRefitted() {
+        ForecastCache forecastCache = createCache(1 << 20);
+        ForecastRequest request = new ForecastRequest("constRegression", new int[0], inputDataSet, 1);
+
+        forecastCache.getOrFit(request, forecastService::fit);
+        now[0] += TimeUnit.MILLISECONDS.toNanos(1001);
+        forecastCache.getOrFit(request, forecastService::fit);
+
+        assertEquals(2, forecastCache.getMisses());
+        assertEquals(1, forecastCache.getExpirations());
+        assertEquals(1, forecastCache.size());
+    }
+
+    @Test
+    public void leastRecentlyUsedEntryIsEvictedByWeight() {
+        ForecastCache forecastCache = createCache(2 * (256 + 8 * inputDataSet.length) + 100);
+        ForecastRequest firstRequest = new ForecastRequest("polynomialRegression", new int[] {1}, inputDataSet, 0);
+        ForecastRequest secondRequest = new ForecastRequest("polynomialRegression", new int[] {2}, inputDataSet, 0);
+        ForecastRequest thirdRequest = new ForecastRequest("polynomialRegression", new int[] {3},
+                inputDataSet, 0);
+
+        forecastCache.getOrFit(firstRequest, forecastService::fit);
+        forecastCache.getOrFit(secondRequest, forecastService::fit);
+        forecastCache.getOrFit(firstRequest, forecastService::fit);
+        forecastCache.getOrFit(thirdRequest, forecastService::fit);
+        forecastCache.getOrFit(firstRequest, forecastService::fit);
+
+        assertEquals(1, forecastCache.getEvictions());
+        assertEquals(2, forecastCache.size());
+        assertEquals(2, forecastCache.getHits());
+        assertTrue(forecastCache.getWeight() <= 2 * (256 + 8 * inputDataSet.length) + 100);
+    }
+
+    @Test
+    public void appendedSeriesReplacesPrefixEntry() {
+        ForecastCache forecastCache = createCache(1 << 20);
+        double[] appendedDataSet = Arrays.copyOf(inputDataSet, inputDataSet.length + 2);
+        appendedDataSet[inputDataSet.length] = 240;
+        appendedDataSet[inputDataSet.length + 1] = 238;
+
+        forecastCache.getOrFit(new ForecastRequest("simpleLinearRegression", new int[0], inputDataSet, 2),
+                forecastService::fit);
+        ForecastResult result = forecastCache.getOrFit(new ForecastRequest("simpleLinearRegression", new int[0],
+                appendedDataSet, 2), forecastService::fit);
+
+        ForecastResult refitted = forecastService.forecast(new ForecastRequest("simpleLinearRegression", new int[0],
+                appendedDataSet, 2));
+
+        assertEquals(1, forecastCache.getAppends());
+        assertEquals(1, forecastCache.getIndexAppends());
+        assertEquals(1, forecastCache.size());
+        assertEquals(refitted.getCoefficient(), result.getCoefficient(), 1e-12);
+        assertArrayEquals(refitted.getFit(), result.getFit(), 1e-9);
+        assertArrayEquals(refitted.getForecast(), result.getForecast(), 1e-9);
+    }
+
+    @Test
+    public void appendedAutoRegressionIsRefitted() {
+        ForecastCache forecastCache = createCache(1 << 20);
+        double[] appendedDataSet = Arrays.copyOf(inputDataSet, inputDataSet.length + 1);
+        appendedDataSet[inputDataSet.length] = 240;
+
+        forecastCache.getOrFit(new ForecastRequest("autoRegression", new int[] {2}, inputDataSet, 2),
+                forecastService::fit);
+        ForecastResult result = forecastCache.getOrFit(new ForecastRequest("autoRegression", new int[] {2},
+                appendedDataSet, 2), forecastService::fit);
+        AutoRegression autoRegression = new AutoRegression(2);
+
+        assertEquals(1, forecastCache.getAppends());
+        assertEquals(0, forecastCache.getIndexAppends());
+        assertEquals(autoRegression.init(appendedDataSet), result.getCoefficient(), 0.0);
+    }
+
+    @Test
+    public void weightFollowsExtensionAndExpiry() {
+        ForecastCache forecastCache = createCache(1 << 20);
+        ForecastRequest shortRequest = new ForecastRequest("simpleLinearRegression", new int[0], inputDataSet, 2);
+        ForecastRequest longRequest = new ForecastRequest("simpleLinearRegression", new int[0], inputDataSet, 50);
+
+        forecastCache.getOrFit(shortRequest, forecastService::fit);
+        forecastCache.getOrFit(longRequest, forecastService::fit);
+        now[0] += TimeUnit.MILLISECONDS.toNanos(1001);
+        forecastCache.getOrFit(new ForecastRequest("constRegression", new int[0], inputDataSet, 0),
+                forecastService::fit);
+
+        assertEquals(1, forecastCache.getExpirations());
+        assertEquals(1, forecastCache.size());
+        assertEquals(256 + 8 * inputDataSet.length + 6 * 8 * inputDataSet.length, forecastCache.getWeight());
+    }
+
+    @Test
+    public void concurrentIdenticalFitsAreCoalesced() throws Exception {
+        ForecastCache forecastCache = createCache(1 << 20);
+        ForecastRequest request = new ForecastRequest("autoRegression", new int[] {3}, inputDataSet, 4);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger fits = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<ForecastResult>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> forecastCache.getOrFit(request, (fitRequest, cancellation) -> {
+                    fits.incrementAndGet();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        throw new IllegalStateException(e);
+                    }
+                    return forecastService.fit(fitRequest);
+                })));
+            }
+            while (forecastCache.getMisses() + forecastCache.getCoalesced() < 8) {
+                Thread.sleep(1);
+            }
+            release.countDown();
+            for (Future<ForecastResult> result : results) {
+                assertArrayEquals(results.get(0).get().getForecast(), result.get().getForecast(), 0.0);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, fits.get());
+        assertEquals(1, forecastCache.getMisses());
+        assertEquals(7, forecastCache.getCoalesced());
+        assertEquals(0, forecastCache.getInFlight());
+    }
+
+    @Test
+    public void failedFitIsNotCached() {
+        ForecastCache forecastCache = createCache(1 << 20);
+        ForecastRequest request = new ForecastRequest("constRegression", new int[0], inputDataSet, 1);
+        try {
+            forecastCache.getOrFit(request, (fitRequest, cancellation) -> {
+                throw new IllegalArgumentException(Messages.ERROR_EMPTY_DATASET);
+            });
+            fail("IllegalArgumentException was expected here.");
+        } catch (IllegalArgumentException e) {
+            assertEquals(Messages.ERROR_EMPTY_DATASET, e.getMessage());
+        }
+
+        assertEquals(0, forecastCache.getInFlight());
+        assertEquals(0, forecastCache.size());
+    }
+
+    @Test
+    public void forecastExtensionIsAdmitted() throws InterruptedException {
+        ForecastCache forecastCache = createCache(1 << 20);
+        AdmissionController admissionController = new AdmissionController(new AdmissionController.Lane(1, 0, 1000),
+                new AdmissionController.Lane(1, 0, 1000), new AdmissionController.Lane(1, 0, 1000));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            executor.execute(() -> admissionController.admit(AdmissionController.MEDIUM_COST + 1, cancellation -> {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return null;
+            }));
+            started.await();
+
+            forecastCache.getOrFit(new ForecastRequest("autoRegression", new int[] {8}, new double[200], 1),
+                    forecastService::fit, admissionController);
+            try {
+                forecastCache.getOrFit(new ForecastRequest("autoRegression", new int[] {8}, new double[200], 40_000),
+                        forecastService::fit, admissionController);
+                fail("RejectedExecutionException was expected here.");
+            } catch (RejectedExecutionException e) {
+                assertEquals(Messages.ERROR_QUEUE_FULL, e.getMessage());
+            }
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, forecastCache.getHits());
+        assertEquals(1, admissionController.getRejected(AdmissionController.CostClass.LARGE));
+    }
+
+    @Test
+    public void expiredExtensionIsAbandoned() {
+        ForecastCache forecastCache = createCache(1 << 20);
+        ForecastResult result = forecastCache.getOrFit(new ForecastRequest("autoRegression", new int[] {3},
+                inputDataSet, 2), forecastService::fit);
+        try {
+            forecastCache.getOrFit(new ForecastRequest("autoRegression", new int[] {3}, inputDataSet, 1000),
+                    forecastService::fit, new AdmissionController(new AdmissionController.Lane(1, 0, 1),
+                            new AdmissionController.Lane(1, 0, 1), new AdmissionController.Lane(1, 0, 1)) {
+                        @Override
+                        public <T> T admit(long cost, Function<Cancellation, T> work) {
+                            return work.apply(Cancellation.deadline(System.nanoTime() - 1));
+                        }
+                    });
+            fail("CancellationException was expected here.");
+        } catch (CancellationException e) {
+            assertEquals(Messages.ERROR_FIT_TIMEOUT, e.getMessage());
+        }
+
+        assertArrayEquals(result.getForecast(), forecastCache.getOrFit(new ForecastRequest("autoRegression",
+                new int[] {3}, inputDataSet, 2), forecastService::fit).getForecast(), 0.0);
+    }
+}
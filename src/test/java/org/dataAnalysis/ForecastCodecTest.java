@@ -0,0 +1,140 @@
+package org.dataAnalysis;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import static org.junit.Assert.*;
+
+public class ForecastCodecTest {
+    double[] inputDataSet = {245, 247, 256, 257, 257, 258, 255, 253, 255, 251};
+
+    @Test
+    public void decodeJsonRequest() {
+        ForecastRequest request = ForecastCodec.decodeJson("{ \"regression\": \"autoRegression\", \"unused\": "
+                + "{\"a\": [1, \"b\"]}, \"parameters\": [3], \"values\": [1.5, -2e1, 3], \"horizon\": 4 }");
+
+        assertEquals("autoRegression", request.getRegression());
+        assertArrayEquals(new int[] {3}, request.getParameters());
+        assertArrayEquals(new double[] {1.5, -20, 3}, request.getValues(), 0.0);
+        assertEquals(4, request.getHorizon());
+    }
+
+    @Test
+    public void decodeInvalidJsonRequest() {
+        try {
+            ForecastCodec.decodeJson("{\"regression\": \"constRegression\", \"values\": [1, 2,]}");
+            fail("IllegalArgumentException was expected here.");
+        } catch (IllegalArgumentException e) {
+            assertEquals(Messages.ERROR_INVALID_JSON, e.getMessage());
+        }
+    }
+
+    @Test
+    public void skipNestedUnknownValue() {
+        ForecastRequest request = ForecastCodec.decodeJson("{\"unused\": [{\"a\": [[], {}, [1, [\"b\"]]]}, null], "
+                + "\"regression\": \"constRegression\", \"values\": [1, 2], \"horizon\": 1}");
+
+        assertEquals("constRegression", request.getRegression());
+        assertArrayEquals(new double[] {1, 2}, request.getValues(), 0.0);
+    }
+
+    @Test
+    public void rejectDeeplyNestedValue() {
+        String nested = "[".repeat(100_000) + "]".repeat(100_000);
+        try {
+            ForecastCodec.decodeJson("{\"unused\": " + nested + ", \"regression\": \"constRegression\", "
+                    + "\"values\": [1, 2], \"horizon\": 1}");
+            fail("IllegalArgumentException was expected here.");
+        } catch (IllegalArgumentException e) {
+            assertEquals(Messages.ERROR_INVALID_JSON, e.getMessage());
+        }
+    }
+
+    @Test
+    public void encodeJsonErrorEscapesControlCharacters() {
+        assertEquals("{\"error\":\"a\\\"b\\\\c\\u000ad\\u001f\"}", ForecastCodec.encodeJsonError("a\"b\\c\nd\u001f"));
+    }
+
+    @Test
+    public void encodeJsonResult() {
+        ForecastResult result = new ForecastResult("constRegression", Double.NaN, new double[] {1, 2},
+                new double[] {2.5});
+
+        assertEquals("{\"regression\":\"constRegression\",\"coefficient\":null,\"fit\":[1.0,2.0],"
+                + "\"forecast\":[2.5]}", ForecastCodec.encodeJson(result));
+    }
+
+    @Test
+    public void binaryRequestRoundTrip() {
+        ForecastRequest request = new ForecastRequest("autoRegressionMovingAverage", new int[] {2, 1},
+                inputDataSet, 5);
+
+        ForecastRequest decoded = ForecastCodec.decodeBinary(ForecastCodec.encodeBinary(request));
+
+        assertEquals(request.getRegression(), decoded.getRegression());
+        assertArrayEquals(request.getParameters(), decoded.getParameters());
+        assertArrayEquals(request.getValues(), decoded.getValues(), 0.0);
+        assertEquals(request.getHorizon(), decoded.getHorizon());
+    }
+
+    @Test
+    public void binaryResultRoundTrip() {
+        ForecastResult result = new ForecastResult("polynomialRegression", 0.75, new double[] {1, 2, 3},
+                new double[] {4, 5});
+
+        ForecastResult decoded = ForecastCodec.decodeBinaryResult("polynomialRegression",
+                ForecastCodec.encodeBinary(result));
+
+        assertEquals(0.75, decoded.getCoefficient(), 0.0);
+        assertArrayEquals(result.getFit(), decoded.getFit(), 0.0);
+        assertArrayEquals(result.getForecast(), decoded.getForecast(), 0.0);
+    }
+
+    @Test
+    public void decodeTruncatedBinaryRequest() {
+        ByteBuffer buffer = ForecastCodec.encodeBinary(new ForecastRequest("constRegression", new int[0],
+                inputDataSet, 1));
+        buffer.limit(buffer.limit() - 8);
+        try {
+            ForecastCodec.decodeBinary(buffer);
+            fail("IllegalArgumentException was expected here.");
+        } catch (IllegalArgumentException e) {
+            assertEquals(Messages.ERROR_INVALID_BINARY, e.getMessage());
+        }
+    }
+
+    @Test
+    public void decodeOversizedHorizon() {
+        try {
+            ForecastCodec.decodeJson("{\"regression\":\"constRegression\",\"values\":[1],\"horizon\":200000000}");
+            fail("IllegalArgumentException was expected here.");
+        } catch (IllegalArgumentException e) {
+            assertEquals(Messages.ERROR_HORIZON_TOO_LARGE, e.getMessage());
+        }
+    }
+
+    @Test
+    public void decodeFractionalParameter() {
+        try {
+            ForecastCodec.decodeJson("{\"regression\":\"autoRegression\",\"parameters\":[2.5],\"values\":[1]}");
+            fail("IllegalArgumentException was expected here.");
+        } catch (IllegalArgumentException e) {
+            assertEquals(Messages.ERROR_INVALID_JSON, e.getMessage());
+        }
+    }
+
+    @Test
+    public void decodeParameterOutOfRange() {
+        ByteBuffer buffer = ForecastCodec.encodeBinary(new ForecastRequest("autoRegression", new int[] {3},
+                inputDataSet, 1));
+        buffer.order(ByteOrder.LITTLE_ENDIAN).putInt(4 + 2 + "autoRegression".length() + 1, 100_000);
+        try {
+            ForecastCodec.decodeBinary(buffer);
+            fail("IllegalArgumentException was expected here.");
+        } catch (IllegalArgumentException e) {
+            assertEquals(Messages.ERROR_PARAMETER_OUT_OF_RANGE, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package org.dataAnalysis;
+
+import euclides.math.timeseries.*;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.concurrent.CancellationException;
+
+import static org.junit.Assert.*;
+
+public class ForecastServiceTest {
+    double[] inputDataSet = {245, 247, 256, 257, 257, 258, 255, 253, 255, 251, 251, 256, 256, 253,
+            249, 247, 246, 244, 242, 244};
+    ForecastService forecastService = new ForecastService();
+    RegressionHandler regressionHandler = new RegressionHandler(Mockito.mock(HtmlHandler.class));
+
+    @Test
+    public void forecastMatchesRegressionHandler() {
+        PolynomialRegression polynomialRegression = new PolynomialRegression(2);
+        double coefficient = polynomialRegression.init(inputDataSet);
+
+        ForecastResult result = forecastService.forecast(new ForecastRequest("polynomialRegression",
+                new int[] {2}, inputDataSet, 3));
+
+        assertEquals(coefficient, result.getCoefficient(), 0.0);
+        assertArrayEquals(regressionHandler.calculateHistoryDataSetOfRegression(polynomialRegression,
+                inputDataSet.length), result.getFit(), 0.0);
+        assertArrayEquals(regressionHandler.calculateFutureDataSetOfRegression(polynomialRegression, 3),
+                result.getForecast(), 0.0);
+    }
+
+    @Test
+    public void autoRegressiveForecastHasEmptyFit() {
+        AutoRegression autoRegression = new AutoRegression(3);
+        double coefficient = autoRegression.init(inputDataSet);
+
+        ForecastResult result = forecastService.forecast(new ForecastRequest("autoRegression", new int[] {3},
+                inputDataSet, 4));
+
+        assertEquals(coefficient, result.getCoefficient(), 0.0);
+        assertEquals(0, result.getFit().length);
+        assertArrayEquals(regressionHandler.calculateFutureDataSetOfRegression(autoRegression, 4),
+                result.getForecast(), 0.0);
+        assertEquals(0, forecastService.forecast(new ForecastRequest("autoRegressionMovingAverage",
+                new int[] {2, 1}, inputDataSet, 4)).getFit().length);
+        assertEquals(0, forecastService.forecast(new ForecastRequest("autoRegressionIntegratedAverage",
+                new int[] {2, 1, 1}, inputDataSet, 4)).getFit().length);
+    }
+
+    @Test
+    public void missingParameter() {
+        try {
+            new ForecastRequest("autoRegressionMovingAverage", new int[] {2}, inputDataSet, 3);
+            fail("IllegalArgumentException was expected here.");
+        } catch (IllegalArgumentException e) {
+            assertEquals(Messages.ERROR_EMPTY_PARAMETER, e.getMessage());
+        }
+    }
+
+    @Test
+    public void expiredFitIsAbandoned() {
+        try {
+            forecastService.fit(new ForecastRequest("autoRegressionIntegratedAverage", new int[] {3, 1, 2},
+                    inputDataSet, 3), Cancellation.deadline(System.nanoTime() - 1));
+            fail("CancellationException was expected here.");
+        } catch (CancellationException e) {
+            assertEquals(Messages.ERROR_FIT_TIMEOUT, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package org.dataAnalysis;
+
+import euclides.math.timeseries.Cancellation;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.After;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class ForecastServletTest {
+    CountDownLatch largeFitStarted = new CountDownLatch(1);
+    CountDownLatch releaseLargeFits = new CountDownLatch(1);
+    // four processors: one running and four waiting large fits
+    AdmissionController admissionController = new AdmissionController(4);
+    ForecastService forecastService = new ForecastService(new ForecastCache(1 << 20, 60_000), admissionController) {
+        @Override
+        ForecastCache.Entry fit(ForecastRequest request, Cancellation cancellation) {
+            if (request.getHorizon() > 1000) {
+                largeFitStarted.countDown();
+                try {
+                    releaseLargeFits.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                throw new CancellationException(Messages.ERROR_FIT_TIMEOUT);
+            }
+            return super.fit(request, cancellation);
+        }
+    };
+    ForecastServlet servlet = new ForecastServlet(forecastService);
+
+    @After
+    public void tearDown() {
+        releaseLargeFits.countDown();
+        servlet.destroy();
+    }
+
+    @Test
+    public void smallFitsAreServedWhileLargeFitsAreBlocked() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            Exchange large = post(largeRequest(i));
+            assertEquals(1, large.completed.getCount());
+        }
+        assertTrue(largeFitStarted.await(5, TimeUnit.SECONDS));
+
+        Exchange rejected = post(largeRequest(5));
+        assertEquals(0, rejected.completed.getCount());
+        assertEquals(ForecastServlet.SC_TOO_MANY_REQUESTS, rejected.status.get());
+        assertEquals(1, admissionController.getRejected(AdmissionController.CostClass.LARGE));
+
+        Exchange small = post("{\"regression\": \"constRegression\", \"parameters\": [], "
+                + "\"values\": [245, 247, 256, 257, 257], \"horizon\": 3}");
+        assertTrue(small.completed.await(5, TimeUnit.SECONDS));
+        assertEquals(HttpServletResponse.SC_OK, small.status.get());
+        assertTrue(small.body.toString(StandardCharsets.UTF_8).startsWith("{\"regression\":\"constRegression\""));
+    }
+
+    @Test
+    public void invalidRequestIsAnsweredWithoutAdmission() throws Exception {
+        Exchange exchange = post("{\"regression\": \"constRegression\", \"values\": [1, 2,]}");
+
+        assertEquals(HttpServletResponse.SC_BAD_REQUEST, exchange.status.get());
+        assertEquals(0, admissionController.getAdmitted(AdmissionController.CostClass.SMALL));
+    }
+
+    private static String largeRequest(int seed) {
+        StringBuilder values = new StringBuilder();
+        for (int i = 0; i < 200; i++) {
+            values.append(i == 0 ? "" : ", ").append((i * 7 + seed) % 13);
+        }
+        return "{\"regression\": \"autoRegression\", \"parameters\": [8], \"values\": [" + values
+                + "], \"horizon\": 40000}";
+    }
+
+    private Exchange post(String json) throws IOException {
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        Exchange exchange = new Exchange();
+        HttpServletRequest request = Mockito.mock(HttpServletRequest.class);
+        HttpServletResponse response = Mockito.mock(HttpServletResponse.class);
+        AsyncContext asyncContext = Mockito.mock(AsyncContext.class);
+        Mockito.when(request.getContentType()).thenReturn(ForecastCodec.JSON);
+        Mockito.when(request.getContentLengthLong()).thenReturn((long) body.length);
+        Mockito.when(request.getInputStream()).thenReturn(new BodyInputStream(body));
+        Mockito.when(request.startAsync()).thenReturn(asyncContext);
+        Mockito.when(response.getOutputStream()).thenReturn(new BodyOutputStream(exchange.body));
+        Mockito.doAnswer(invocation -> {
+            exchange.status.set(invocation.getArgument(0));
+            return null;
+        }).when(response).setStatus(Mockito.anyInt());
+        Mockito.doAnswer(invocation -> {
+            exchange.completed.countDown();
+            return null;
+        }).when(asyncContext).complete();
+
+        servlet.doPost(request, response);
+        return exchange;
+    }
+
+    private static final class Exchange {
+        final AtomicInteger status = new AtomicInteger();
+        final ByteArrayOutputStream body = new ByteArrayOutputStream();
+        final CountDownLatch completed = new CountDownLatch(1);
+    }
+
+    private static final class BodyInputStream extends ServletInputStream {
+        private final ByteArrayInputStream input;
+
+        BodyInputStream(byte[] body) {
+            this.input = new ByteArrayInputStream(body);
+        }
+
+        @Override
+        public boolean isFinished() {
+            return input.available() == 0;
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setReadListener(ReadListener readListener) {
+        }
+
+        @Override
+        public int read() {
+            return input.read();
+        }
+    }
+
+    private static final class BodyOutputStream extends ServletOutputStream {
+        private final ByteArrayOutputStream output;
+
+        BodyOutputStream(ByteArrayOutputStream output) {
+            this.output = output;
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+        }
+
+        @Override
+        public void write(int b) {
+            output.write(b);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package org.dataAnalysis;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class IncrementalValueParserTest {
+    String rawInputData = "2024-01-01;3.37\r\n2024-01-02;51.16\n2024-01-03;-33.28\n2024-01-04;8.067e1\n";
+
+    @Test
+    public void parseChunksOfEveryLength() {
+        double[] expected = RawInputDataParser.parseValues(rawInputData);
+        for (int chunkSize = 1; chunkSize <= rawInputData.length(); chunkSize++) {
+            IncrementalValueParser parser = new IncrementalValueParser();
+            for (int i = 0; i < rawInputData.length(); i += chunkSize) {
+                parser.append(rawInputData.substring(i, Math.min(rawInputData.length(), i + chunkSize)));
+            }
+            assertArrayEquals(expected, parser.finish(), 0.0);
+        }
+    }
+
+    @Test
+    public void parseWithTrailingBlankLines() {
+        IncrementalValueParser parser = new IncrementalValueParser();
+        parser.append("a;1\nb;2");
+        parser.append("\n\n\r\n");
+
+        assertArrayEquals(new double[] {1.0, 2.0}, parser.finish(), 0.0);
+    }
+
+    @Test
+    public void parseInvalidNumberAcrossChunks() {
+        IncrementalValueParser parser = new IncrementalValueParser();
+        try {
+            parser.append("a;1\nb;2\nc;");
+            parser.append("x3\n");
+            fail("IllegalArgumentException was expected here.");
+        } catch (IllegalArgumentException e) {
+            assertEquals(Messages.ERROR_IN_LINE + 3 + ": " + Messages.ERROR_INVALID_NUMBER, e.getMessage());
+        }
+    }
+
+    @Test
+    public void parseBlankLineInTheMiddle() {
+        IncrementalValueParser parser = new IncrementalValueParser();
+        try {
+            parser.append("a;1\n\nb;2\n");
+            fail("IllegalArgumentException was expected here.");
+        } catch (IllegalArgumentException e) {
+            assertEquals(Messages.ERROR_IN_LINE + 2 + ": " + Messages.ERROR_2D_ARRAY, e.getMessage());
+        }
+    }
+
+    @Test
+    public void finishWithoutValues() {
+        IncrementalValueParser parser = new IncrementalValueParser();
+        parser.append("\n");
+        try {
+            parser.finish();
+            fail("IllegalArgumentException was expected here.");
+        } catch (IllegalArgumentException e) {
+            assertEquals(Messages.ERROR_EMPTY_ARRAY, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package org.dataAnalysis;
+
+import euclides.math.timeseries.TimeSeries;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.*;
+
+public class MappedCsvLoaderTest {
+    MappedCsvLoader loader = new MappedCsvLoader(ForkJoinPool.commonPool(), 32);
+
+    @Test
+    public void loadValuesAcrossChunks() throws IOException {
+        StringBuilder rawInputData = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            rawInputData.append("2024-01-01;").append(i).append(",5\r\n");
+        }
+        Path file = write(rawInputData + "\n\n");
+
+        double[] result = loader.loadValues(file);
+
+        assertArrayEquals(RawInputDataParser.parseValues(rawInputData), result, 0.0);
+    }
+
+    @Test
+    public void loadSeriesWithTimestamps() throws IOException {
+        String rawInputData = "2024-01-01;3,37\n2024-01-01T12:30;51,16\n02.01.2024 00:00:01;33,28\n";
+
+        TimeSeries result = loader.loadSeries(write(rawInputData));
+
+        assertArrayEquals(RawInputDataParser.parseSeries(rawInputData).times(), result.times());
+        assertArrayEquals(new double[] {3.37, 51.16, 33.28}, result.values(), 0.0);
+    }
+
+    @Test
+    public void loadValuesReportsAbsoluteLine() throws IOException {
+        String rawInputData = "2024-01-01;3,37\n2024-01-02;51,16\n2024-01-03;33,28\n2024-01-04;abc\n";
+
+        try {
+            loader.loadValues(write(rawInputData));
+            fail("IllegalArgumentException was expected here.");
+        } catch (IllegalArgumentException e) {
+            assertEquals(Messages.ERROR_IN_LINE + 4 + ": " + Messages.ERROR_INVALID_NUMBER, e.getMessage());
+        }
+    }
+
+    private static Path write(CharSequence content) throws IOException {
+        Path file = Files.createTempFile("series", ".csv");
+        file.toFile().deleteOnExit();
+        Files.write(file, content.toString().getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+}
@@ -0,0 +1,83 @@
+package org.dataAnalysis;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class MinMaxPyramidTest {
+    double[][] dataSet = {
+            {3.37, Double.NaN, -4.0}, {51.16, Double.NaN, -3.0}, {33.28, Double.NaN, -2.0},
+            {80.67, 80.5, -1.0}, {Double.NaN, 13.8, 0.0}, {Double.NaN, 71.54, 1.0}};
+    MinMaxPyramid inputPyramid = new MinMaxPyramid(dataSet, 0);
+    MinMaxPyramid calculatedPyramid = new MinMaxPyramid(dataSet, 1);
+
+    @Test
+    public void getMinAndMaxOfRange() {
+        assertEquals(3.37, inputPyramid.getMin(0, 6), 0.0);
+        assertEquals(80.67, inputPyramid.getMax(0, 6), 0.0);
+        assertEquals(33.28, inputPyramid.getMin(2, 5), 0.0);
+        assertEquals(13.8, calculatedPyramid.getMin(2, 5), 0.0);
+        assertEquals(71.54, calculatedPyramid.getMax(4, 6), 0.0);
+        assertEquals(5, calculatedPyramid.getMaxIndex(4, 6));
+    }
+
+    @Test
+    public void rangeWithoutValues() {
+        assertTrue(Double.isNaN(inputPyramid.getMin(4, 6)));
+        assertEquals(-1, calculatedPyramid.getMaxIndex(0, 3));
+    }
+
+    @Test
+    public void getColumnMinMax() {
+        int[] mins = new int[3];
+        int[] maxs = new int[3];
+
+        inputPyramid.getColumnMinMax(0, 6, mins, maxs);
+
+        assertArrayEquals(new int[] {0, 2, -1}, mins);
+        assertArrayEquals(new int[] {1, 3, -1}, maxs);
+    }
+
+    @Test
+    public void indicesMatchScan() {
+        Random random = new Random(42);
+        double[][] series = new double[1000][1];
+        for (int i = 0; i < series.length; i++) {
+            series[i][0] = random.nextInt(10) == 0 ? Double.NaN : random.nextInt(50);
+        }
+        MinMaxPyramid pyramid = new MinMaxPyramid(series, 0);
+
+        for (int k = 0; k < 500; k++) {
+            int from = random.nextInt(series.length);
+            int to = from + 1 + random.nextInt(series.length - from);
+            int min = -1;
+            int max = -1;
+            for (int i = from; i < to; i++) {
+                double y = series[i][0];
+                if (Double.isNaN(y)) {
+                    continue;
+                }
+                if (min < 0 || y < series[min][0]) {
+                    min = i;
+                }
+                if (max < 0 || y > series[max][0]) {
+                    max = i;
+                }
+            }
+            assertEquals(min, pyramid.getMinIndex(from, to));
+            assertEquals(max, pyramid.getMaxIndex(from, to));
+        }
+    }
+
+    @Test
+    public void getMinOfInvalidRange() {
+        try {
+            inputPyramid.getMin(3, 3);
+            fail("IllegalArgumentException was expected here.");
+        } catch (IllegalArgumentException e) {
+            assertEquals(Messages.ERROR_EMPTY_DATASET, e.getMessage());
+        }
+    }
+}
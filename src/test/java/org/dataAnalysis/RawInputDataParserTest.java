@@ -0,0 +1,56 @@
+package org.dataAnalysis;
+
+import euclides.math.timeseries.TimeSeries;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class RawInputDataParserTest {
+
+    @Test
+    public void parseTimestampAcceptsLeapDay() {
+        assertEquals(1709164800000L, parse("2024-02-29"));
+        assertEquals(1709164800000L, parse("29.02.2024"));
+        assertEquals(951782400000L, parse("2000-02-29"));
+    }
+
+    @Test
+    public void parseTimestampRejectsDayBeyondMonth() {
+        assertEquals(Long.MIN_VALUE, parse("2024-02-31"));
+        assertEquals(Long.MIN_VALUE, parse("2023-02-29"));
+        assertEquals(Long.MIN_VALUE, parse("1900-02-29"));
+        assertEquals(Long.MIN_VALUE, parse("31.04.2024"));
+    }
+
+    @Test
+    public void parseTimestampAcceptsLastDayOfMonth() {
+        assertEquals(1714435200000L, parse("2024-04-30"));
+        assertEquals(1706659200000L, parse("2024-01-31T00:00"));
+    }
+
+    @Test
+    public void trailingSeparatorIsAccepted() {
+        TimeSeries series = RawInputDataParser.parseSeries("2024-01-01;3,37;\n2024-01-02;4,5;;\r\n2024-01-03;5;\n");
+
+        assertEquals(3, series.size());
+        assertEquals(3.37, series.value(0), 0.0);
+        assertEquals(4.5, series.value(1), 0.0);
+        assertEquals(5.0, series.value(2), 0.0);
+        assertArrayEquals(new double[] {1.5, 2.5}, RawInputDataParser.parseValues("a;1.5;\nb;2.5;"), 0.0);
+    }
+
+    @Test
+    public void additionalFieldIsRejected() {
+        try {
+            RawInputDataParser.parseSeries("2024-01-01;3,37\n2024-01-02;4,5;6\n");
+            fail("IllegalArgumentException was expected here.");
+        } catch (RawInputDataParser.LineException e) {
+            assertEquals(2, e.getLine());
+            assertEquals(Messages.ERROR_2D_ARRAY, e.getReason());
+        }
+    }
+
+    private static long parse(String input) {
+        return RawInputDataParser.parseTimestamp(input, 0, input.length());
+    }
+}
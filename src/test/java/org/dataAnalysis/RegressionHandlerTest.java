@@ -161,4 +161,22 @@ public class RegressionHandlerTest {
 
         assertArrayEquals(expectedDataSet, calculatedDataSet, 0.01);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void createRegressionFromParameters() {
+        Model regression = RegressionHandler.createRegression("autoRegressionMovingAverage", new int[] {3, 1});
+
+        assertTrue(regression instanceof AutoRegressiveMovingAverage);
+        assertEquals(autoRegressiveMovingAverage.init(inputDataSet), regression.init(inputDataSet), 0.0);
+    }
+
+    @Test
+    public void createUnknownRegression() {
+        try {
+            RegressionHandler.createRegression("unknownRegression", new int[0]);
+            fail("IllegalArgumentException was expected here.");
+        } catch (IllegalArgumentException e) {
+            assertEquals(Messages.ERROR_UNKNOWN_REGRESSION, e.getMessage());
+        }
+    }
+}